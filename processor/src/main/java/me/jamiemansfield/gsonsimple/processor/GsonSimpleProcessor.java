@@ -0,0 +1,346 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * An annotation processor generating streaming, reflection-free,
+ * {@link com.google.gson.TypeAdapter type adapters} for the classes
+ * annotated with {@code @JsonModel} - along with a
+ * {@link com.google.gson.TypeAdapterFactory type adapter factory}, named
+ * {@code GeneratedTypeAdapterFactory}, for each package containing models.
+ * <p>
+ * The generated adapters read values with {@code GsonReaders}, so report
+ * the same errors as {@code GsonObjects} does - and serialise enum fields
+ * annotated with {@code @LowercaseEnum} as the
+ * {@code LowercaseEnumTypeAdapterFactory} does. Any other types of field
+ * are delegated to the adapter Gson gives for them.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+@SupportedAnnotationTypes({
+        GsonSimpleProcessor.JSON_MODEL,
+        GsonSimpleProcessor.JSON_OPTIONAL,
+        GsonSimpleProcessor.LOWERCASE_ENUM,
+})
+public class GsonSimpleProcessor extends AbstractProcessor {
+
+    static final String JSON_MODEL = "me.jamiemansfield.gsonsimple.JsonModel";
+    static final String JSON_OPTIONAL = "me.jamiemansfield.gsonsimple.JsonOptional";
+    static final String LOWERCASE_ENUM = "me.jamiemansfield.gsonsimple.LowercaseEnum";
+    static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+
+    private static final Map<String, String> BOXED_READERS = new LinkedHashMap<>();
+
+    static {
+        BOXED_READERS.put("java.lang.Boolean", "Boolean");
+        BOXED_READERS.put("java.lang.Integer", "Int");
+        BOXED_READERS.put("java.lang.Long", "Long");
+        BOXED_READERS.put("java.lang.Double", "Double");
+        BOXED_READERS.put("java.lang.Float", "Float");
+    }
+
+    // The models of each package, and the elements they originate from,
+    // whose factories are yet to be written
+    private final Map<String, List<Model>> models = new LinkedHashMap<>();
+    private final Map<String, List<Element>> origins = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        final TypeElement annotation = this.processingEnv.getElementUtils().getTypeElement(JSON_MODEL);
+
+        boolean found = false;
+        if (annotation != null) {
+            for (final TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                found = true;
+                final Model model = this.model(type);
+                if (model == null) continue;
+
+                this.write(model.packageName.isEmpty() ? model.adapterName : model.packageName + '.' + model.adapterName,
+                        SourceWriter.adapter(model), type);
+                this.models.computeIfAbsent(model.packageName, key -> new ArrayList<>()).add(model);
+                this.origins.computeIfAbsent(model.packageName, key -> new ArrayList<>()).add(type);
+            }
+        }
+
+        // The factories are written once a round finds no further models,
+        // as the adapters written will always cause another round
+        if (!found || roundEnv.processingOver()) {
+            for (final Map.Entry<String, List<Model>> entry : this.models.entrySet()) {
+                final String packageName = entry.getKey();
+                this.write(packageName.isEmpty() ? SourceWriter.FACTORY_NAME : packageName + '.' + SourceWriter.FACTORY_NAME,
+                        SourceWriter.factory(packageName, entry.getValue()),
+                        this.origins.get(packageName).toArray(new Element[0]));
+            }
+            this.models.clear();
+            this.origins.clear();
+        }
+
+        return true;
+    }
+
+    private Model model(final TypeElement type) {
+        boolean valid = true;
+        if (type.getKind() != ElementKind.CLASS) {
+            return this.error(type, "@JsonModel may only be applied to classes");
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            this.error(type, "@JsonModel classes must not be abstract");
+            valid = false;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            this.error(type, "@JsonModel classes must not be generic");
+            valid = false;
+        }
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            final TypeElement enclosing = (TypeElement) element;
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                this.error(type, "@JsonModel classes must not be private, nor nested in private classes");
+                valid = false;
+            }
+            if (enclosing.getNestingKind() == NestingKind.MEMBER && !enclosing.getModifiers().contains(Modifier.STATIC)) {
+                this.error(type, "@JsonModel classes must not be inner (non-static) classes");
+                valid = false;
+            }
+        }
+
+        boolean constructor = false;
+        for (final ExecutableElement ctor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (ctor.getParameters().isEmpty() && !ctor.getModifiers().contains(Modifier.PRIVATE)) {
+                constructor = true;
+            }
+        }
+        if (!constructor) {
+            this.error(type, "@JsonModel classes must have a non-private no-args constructor");
+            valid = false;
+        }
+
+        final String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final List<ModelField> fields = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        final Set<String> keys = new HashSet<>();
+
+        // Fields are ordered as Gson's reflective adapter orders them, with
+        // those of the class preceding those of its superclasses
+        for (TypeElement current = type; current != null; current = this.superclass(current)) {
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                final Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+
+                final ModelField modelField = this.field(packageName, current, field);
+                if (modelField == null) {
+                    valid = false;
+                    continue;
+                }
+                if (!names.add(modelField.name)) {
+                    this.error(field, "@JsonModel classes must not declare multiple fields named '" + modelField.name + "'");
+                    valid = false;
+                }
+                if (!keys.add(modelField.key)) {
+                    this.error(field, "@JsonModel classes must not declare multiple fields with the key '" + modelField.key + "'");
+                    valid = false;
+                }
+                for (final String alternate : modelField.alternates) {
+                    if (!keys.add(alternate)) {
+                        this.error(field, "@JsonModel classes must not declare multiple fields with the key '" + alternate + "'");
+                        valid = false;
+                    }
+                }
+                fields.add(modelField);
+            }
+        }
+        if (!valid) return null;
+
+        return new Model(packageName, type.getQualifiedName().toString(), adapterName(type), fields);
+    }
+
+    private ModelField field(final String packageName, final TypeElement owner, final VariableElement field) {
+        final Set<Modifier> modifiers = field.getModifiers();
+        final String name = field.getSimpleName().toString();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+            return this.error(field, "Fields of @JsonModel classes must not be private or final");
+        }
+        if (!modifiers.contains(Modifier.PUBLIC) &&
+                !this.processingEnv.getElementUtils().getPackageOf(owner).getQualifiedName().contentEquals(packageName)) {
+            return this.error(field, "Fields of @JsonModel classes must be public, if declared in another package");
+        }
+
+        String key = name;
+        List<String> alternates = Collections.emptyList();
+        final AnnotationMirror serializedName = annotation(field, SERIALIZED_NAME);
+        if (serializedName != null) {
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                    this.processingEnv.getElementUtils().getElementValuesWithDefaults(serializedName).entrySet()) {
+                final String element = entry.getKey().getSimpleName().toString();
+                if ("value".equals(element)) {
+                    key = (String) entry.getValue().getValue();
+                } else if ("alternate".equals(element)) {
+                    @SuppressWarnings("unchecked")
+                    final List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) entry.getValue().getValue();
+                    alternates = new ArrayList<>(values.size());
+                    for (final AnnotationValue value : values) {
+                        alternates.add((String) value.getValue());
+                    }
+                }
+            }
+        }
+        final boolean optional = annotation(field, JSON_OPTIONAL) != null;
+
+        final TypeMirror type = field.asType();
+        if (annotation(field, LOWERCASE_ENUM) != null) {
+            if (type.getKind() != TypeKind.DECLARED ||
+                    ((DeclaredType) type).asElement().getKind() != ElementKind.ENUM) {
+                return this.error(field, "@LowercaseEnum may only be applied to enum fields");
+            }
+            return new ModelField(name, key, alternates, ModelField.Kind.LOWERCASE_ENUM, type.toString(), null, optional);
+        }
+
+        final String primitive = primitiveReader(type);
+        if (primitive != null) {
+            return new ModelField(name, key, alternates, ModelField.Kind.PRIMITIVE, null, primitive, optional);
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            final String qualifiedName = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+            if ("java.lang.String".equals(qualifiedName)) {
+                return new ModelField(name, key, alternates, ModelField.Kind.STRING, null, "String", optional);
+            }
+            final String boxed = BOXED_READERS.get(qualifiedName);
+            if (boxed != null) {
+                return new ModelField(name, key, alternates, ModelField.Kind.BOXED, null, boxed, optional);
+            }
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            final String component = primitiveReader(((ArrayType) type).getComponentType());
+            if (component != null) {
+                return new ModelField(name, key, alternates, ModelField.Kind.PRIMITIVE_ARRAY, null, component + "Array", optional);
+            }
+        }
+        if (type.getKind() == TypeKind.TYPEVAR || type.getKind() == TypeKind.ERROR) {
+            return this.error(field, "Fields of @JsonModel classes must be of a concrete type");
+        }
+
+        final String adapterType = type.getKind().isPrimitive() ?
+                this.processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString() :
+                type.toString();
+        return new ModelField(name, key, alternates, ModelField.Kind.DELEGATE, adapterType, null, optional);
+    }
+
+    private TypeElement superclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) return null;
+        final TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private void write(final String name, final String source, final Element... origins) {
+        try {
+            final JavaFileObject file = this.processingEnv.getFiler().createSourceFile(name, origins);
+            try (final Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (final IOException ex) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + name + ": " + ex.getMessage(), origins[0]);
+        }
+    }
+
+    private <T> T error(final Element element, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return null;
+    }
+
+    private static String primitiveReader(final TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Boolean";
+            case INT:
+                return "Int";
+            case LONG:
+                return "Long";
+            case DOUBLE:
+                return "Double";
+            case FLOAT:
+                return "Float";
+            default:
+                return null;
+        }
+    }
+
+    private static String adapterName(final TypeElement type) {
+        final StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element element = type.getEnclosingElement(); element instanceof TypeElement; element = element.getEnclosingElement()) {
+            name.insert(0, '_').insert(0, element.getSimpleName());
+        }
+        return name.append("_TypeAdapter").toString();
+    }
+
+    private static AnnotationMirror annotation(final Element element, final String type) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(type)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+}
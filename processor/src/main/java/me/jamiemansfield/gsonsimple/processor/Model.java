@@ -0,0 +1,60 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple.processor;
+
+import java.util.List;
+
+/**
+ * A class annotated with {@code @JsonModel}, for which an adapter is to be
+ * generated.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class Model {
+
+    final String packageName;
+    final String type;
+    final String adapterName;
+    final List<ModelField> fields;
+
+    /**
+     * Creates a model.
+     *
+     * @param packageName The name of the package of the model, or an
+     *                    empty string for the unnamed package
+     * @param type The canonical name of the model
+     * @param adapterName The simple name of the model's generated adapter
+     * @param fields The serialised fields of the model
+     */
+    Model(final String packageName, final String type, final String adapterName, final List<ModelField> fields) {
+        this.packageName = packageName;
+        this.type = type;
+        this.adapterName = adapterName;
+        this.fields = fields;
+    }
+
+}
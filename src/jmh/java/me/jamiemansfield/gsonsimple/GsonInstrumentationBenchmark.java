@@ -0,0 +1,93 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the cost of instrumentation, reading every field of a
+ * document through {@link GsonObjects} - with no listener registered,
+ * and with a {@link CountingGsonListener}.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GsonInstrumentationBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean listening;
+
+    private JsonObject document;
+
+    @Setup
+    public void setup() {
+        this.document = BenchmarkDocuments.create(BenchmarkDocuments.Size.LARGE);
+        GsonInstrumentation.setListener(this.listening ? new CountingGsonListener() : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        GsonInstrumentation.setListener(null);
+    }
+
+    @Benchmark
+    public void read(final Blackhole blackhole) {
+        for (final JsonElement element : GsonObjects.getArray(this.document, "orders")) {
+            final JsonObject order = GsonRequirements.requireObject(element, "order");
+            blackhole.consume(GsonObjects.getLong(order, "id"));
+            blackhole.consume(GsonObjects.getString(order, "status"));
+            blackhole.consume(GsonObjects.getDouble(order, "total"));
+
+            for (final JsonElement lineElement : GsonObjects.getArray(order, "lines")) {
+                final JsonObject line = GsonRequirements.requireObject(lineElement, "line");
+                blackhole.consume(GsonObjects.getInt(line, "quantity"));
+                blackhole.consume(GsonObjects.getDouble(line, "price"));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading numbers from a parsed tree, through the
+ * requirements, compared against Gson's own conversions.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GsonNumbersBenchmark {
+
+    private static final int COUNT = 1_000;
+
+    private JsonArray prices;
+    private JsonArray counts;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        final JsonArray prices = new JsonArray();
+        final JsonArray counts = new JsonArray();
+        for (int i = 0; i < COUNT; i++) {
+            prices.add(Math.round(random.nextDouble() * 1_000_000) / 100.0);
+            counts.add(random.nextInt());
+        }
+        // Parsed, so that values are held as their literals
+        this.prices = JsonParser.parseString(prices.toString()).getAsJsonArray();
+        this.counts = JsonParser.parseString(counts.toString()).getAsJsonArray();
+    }
+
+    @Benchmark
+    public double gsonDouble() {
+        double total = 0;
+        for (final JsonElement price : this.prices) {
+            total += price.getAsDouble();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double requireDouble() {
+        double total = 0;
+        for (final JsonElement price : this.prices) {
+            total += GsonRequirements.requireDouble(price, "price");
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long gsonInt() {
+        long total = 0;
+        for (final JsonElement count : this.counts) {
+            total += count.getAsInt();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long requireInt() {
+        long total = 0;
+        for (final JsonElement count : this.counts) {
+            total += GsonRequirements.requireInt(count, "count");
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long requireExactInt() {
+        long total = 0;
+        for (final JsonElement count : this.counts) {
+            total += GsonRequirements.requireExactInt(count, "count");
+        }
+        return total;
+    }
+
+}
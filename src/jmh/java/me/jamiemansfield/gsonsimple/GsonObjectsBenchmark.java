@@ -0,0 +1,123 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading every field of a document through
+ * {@link GsonObjects}, compared against the plain Gson equivalent.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GsonObjectsBenchmark {
+
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public BenchmarkDocuments.Size size;
+
+    private JsonObject document;
+
+    @Setup
+    public void setup() {
+        this.document = BenchmarkDocuments.create(this.size);
+    }
+
+    @Benchmark
+    public void gsonSimple(final Blackhole blackhole) {
+        for (final JsonElement element : GsonObjects.getArray(this.document, "orders")) {
+            final JsonObject order = GsonRequirements.requireObject(element, "order");
+            blackhole.consume(GsonObjects.getLong(order, "id"));
+            blackhole.consume(GsonObjects.getString(order, "reference"));
+            blackhole.consume(GsonObjects.getString(order, "status"));
+            blackhole.consume(GsonObjects.getDouble(order, "total"));
+            blackhole.consume(GsonObjects.getInt(order, "items"));
+            blackhole.consume(GsonObjects.getBoolean(order, "paid"));
+
+            final JsonObject customer = GsonObjects.getObject(order, "customer");
+            blackhole.consume(GsonObjects.getLong(customer, "id"));
+            blackhole.consume(GsonObjects.getString(customer, "name"));
+            blackhole.consume(GsonObjects.getString(customer, "email"));
+            blackhole.consume(GsonObjects.getBoolean(customer, "vip"));
+
+            for (final JsonElement lineElement : GsonObjects.getArray(order, "lines")) {
+                final JsonObject line = GsonRequirements.requireObject(lineElement, "line");
+                blackhole.consume(GsonObjects.getString(line, "sku"));
+                blackhole.consume(GsonObjects.getInt(line, "quantity"));
+                blackhole.consume(GsonObjects.getDouble(line, "price"));
+                blackhole.consume(GsonObjects.getBoolean(line, "giftWrapped"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void gson(final Blackhole blackhole) {
+        for (final JsonElement element : this.document.getAsJsonArray("orders")) {
+            final JsonObject order = element.getAsJsonObject();
+            blackhole.consume(order.get("id").getAsLong());
+            blackhole.consume(order.get("reference").getAsString());
+            blackhole.consume(order.get("status").getAsString());
+            blackhole.consume(order.get("total").getAsDouble());
+            blackhole.consume(order.get("items").getAsInt());
+            blackhole.consume(order.get("paid").getAsBoolean());
+
+            final JsonObject customer = order.getAsJsonObject("customer");
+            blackhole.consume(customer.get("id").getAsLong());
+            blackhole.consume(customer.get("name").getAsString());
+            blackhole.consume(customer.get("email").getAsString());
+            blackhole.consume(customer.get("vip").getAsBoolean());
+
+            for (final JsonElement lineElement : order.getAsJsonArray("lines")) {
+                final JsonObject line = lineElement.getAsJsonObject();
+                blackhole.consume(line.get("sku").getAsString());
+                blackhole.consume(line.get("quantity").getAsInt());
+                blackhole.consume(line.get("price").getAsDouble());
+                blackhole.consume(line.get("giftWrapped").getAsBoolean());
+            }
+        }
+    }
+
+}
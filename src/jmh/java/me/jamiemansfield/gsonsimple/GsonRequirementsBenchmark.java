@@ -0,0 +1,193 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the type checks of {@link GsonRequirements}, compared
+ * against the unchecked plain Gson equivalent.
+ * <p>
+ * The cost of rejecting a value is measured both with and without the
+ * capture of stack traces.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GsonRequirementsBenchmark {
+
+    private static final int VALUES = 64;
+
+    private final JsonElement[] strings = new JsonElement[VALUES];
+    private final JsonElement[] ints = new JsonElement[VALUES];
+    private final JsonElement[] doubles = new JsonElement[VALUES];
+    private final JsonElement[] booleans = new JsonElement[VALUES];
+    private final JsonElement[] objects = new JsonElement[VALUES];
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < VALUES; i++) {
+            final JsonObject values = JsonParser.parseString("{" +
+                    "\"string\": \"value-" + i + "\"," +
+                    "\"int\": " + (i * 1_000) + "," +
+                    "\"double\": " + (i * 3.75) + "," +
+                    "\"boolean\": " + (i % 2 == 0) + "," +
+                    "\"object\": {}" +
+                    "}").getAsJsonObject();
+            this.strings[i] = values.get("string");
+            this.ints[i] = values.get("int");
+            this.doubles[i] = values.get("double");
+            this.booleans[i] = values.get("boolean");
+            this.objects[i] = values.get("object");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void requireString(final Blackhole blackhole) {
+        for (final JsonElement element : this.strings) {
+            blackhole.consume(GsonRequirements.requireString(element, "string"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void getAsString(final Blackhole blackhole) {
+        for (final JsonElement element : this.strings) {
+            blackhole.consume(element.getAsString());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void requireInt(final Blackhole blackhole) {
+        for (final JsonElement element : this.ints) {
+            blackhole.consume(GsonRequirements.requireInt(element, "int"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void getAsInt(final Blackhole blackhole) {
+        for (final JsonElement element : this.ints) {
+            blackhole.consume(element.getAsInt());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void requireDouble(final Blackhole blackhole) {
+        for (final JsonElement element : this.doubles) {
+            blackhole.consume(GsonRequirements.requireDouble(element, "double"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void getAsDouble(final Blackhole blackhole) {
+        for (final JsonElement element : this.doubles) {
+            blackhole.consume(element.getAsDouble());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void requireBoolean(final Blackhole blackhole) {
+        for (final JsonElement element : this.booleans) {
+            blackhole.consume(GsonRequirements.requireBoolean(element, "boolean"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void getAsBoolean(final Blackhole blackhole) {
+        for (final JsonElement element : this.booleans) {
+            blackhole.consume(element.getAsBoolean());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void requireObject(final Blackhole blackhole) {
+        for (final JsonElement element : this.objects) {
+            blackhole.consume(GsonRequirements.requireObject(element, "object"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void getAsJsonObject(final Blackhole blackhole) {
+        for (final JsonElement element : this.objects) {
+            blackhole.consume(element.getAsJsonObject());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void reject(final Blackhole blackhole) {
+        reject(this.objects, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    @Fork(value = 1, jvmArgsAppend = "-Dme.jamiemansfield.gsonsimple.stacklessExceptions=true")
+    public void rejectStackless(final Blackhole blackhole) {
+        reject(this.objects, blackhole);
+    }
+
+    private static void reject(final JsonElement[] elements, final Blackhole blackhole) {
+        for (final JsonElement element : elements) {
+            try {
+                blackhole.consume(GsonRequirements.requireString(element, "string"));
+            } catch (final JsonParseException ex) {
+                blackhole.consume(ex);
+            }
+        }
+    }
+
+}
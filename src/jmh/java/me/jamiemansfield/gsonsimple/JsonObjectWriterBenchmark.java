@@ -0,0 +1,168 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for serialising a document with {@link JsonObjectWriter},
+ * compared against building a {@link JsonObject} for Gson to write.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonObjectWriterBenchmark {
+
+    private static final JsonKey PAGE = JsonKey.of("page");
+    private static final JsonKey TOTAL = JsonKey.of("total");
+    private static final JsonKey ORDERS = JsonKey.of("orders");
+    private static final JsonKey ID = JsonKey.of("id");
+    private static final JsonKey REFERENCE = JsonKey.of("reference");
+    private static final JsonKey STATUS = JsonKey.of("status");
+    private static final JsonKey ITEMS = JsonKey.of("items");
+    private static final JsonKey PAID = JsonKey.of("paid");
+    private static final JsonKey CUSTOMER = JsonKey.of("customer");
+    private static final JsonKey NAME = JsonKey.of("name");
+    private static final JsonKey EMAIL = JsonKey.of("email");
+    private static final JsonKey VIP = JsonKey.of("vip");
+    private static final JsonKey LINES = JsonKey.of("lines");
+    private static final JsonKey SKU = JsonKey.of("sku");
+    private static final JsonKey QUANTITY = JsonKey.of("quantity");
+    private static final JsonKey PRICE = JsonKey.of("price");
+    private static final JsonKey GIFT_WRAPPED = JsonKey.of("giftWrapped");
+
+    @Param({ "MEDIUM", "LARGE" })
+    public BenchmarkDocuments.Size size;
+
+    private final Gson gson = new Gson();
+    private GeneratedTypeAdapterBenchmark.Page page;
+
+    @Setup
+    public void setup() {
+        this.page = new GsonBuilder()
+                .registerTypeAdapterFactory(new GeneratedTypeAdapterFactory())
+                .create()
+                .fromJson(BenchmarkDocuments.json(this.size), GeneratedTypeAdapterBenchmark.Page.class);
+    }
+
+    @Benchmark
+    public void tree() throws IOException {
+        final JsonArray orders = new JsonArray();
+        for (final GeneratedTypeAdapterBenchmark.Order order : this.page.orders) {
+            final JsonObject customer = new JsonObject();
+            customer.addProperty("id", order.customer.id);
+            customer.addProperty("name", order.customer.name);
+            customer.addProperty("email", order.customer.email);
+            customer.addProperty("vip", order.customer.vip);
+
+            final JsonArray lines = new JsonArray();
+            for (final GeneratedTypeAdapterBenchmark.Line line : order.lines) {
+                final JsonObject object = new JsonObject();
+                object.addProperty("sku", line.sku);
+                object.addProperty("quantity", line.quantity);
+                object.addProperty("price", line.price);
+                object.addProperty("giftWrapped", line.giftWrapped);
+                lines.add(object);
+            }
+
+            final JsonObject object = new JsonObject();
+            object.addProperty("id", order.id);
+            object.addProperty("reference", order.reference);
+            object.addProperty("status", order.status.name().toLowerCase());
+            object.addProperty("total", order.total);
+            object.addProperty("items", order.items);
+            object.addProperty("paid", order.paid);
+            object.add("customer", customer);
+            object.add("lines", lines);
+            orders.add(object);
+        }
+
+        final JsonObject document = new JsonObject();
+        document.addProperty("page", this.page.page);
+        document.addProperty("total", this.page.total);
+        document.add("orders", orders);
+        this.gson.toJson(document, new JsonWriter(new LowercaseEnumTypeAdapterFactoryBenchmark.NullWriter()));
+    }
+
+    @Benchmark
+    public void streaming() throws IOException {
+        final JsonObjectWriter out = JsonObjectWriter.of(new JsonWriter(new LowercaseEnumTypeAdapterFactoryBenchmark.NullWriter()))
+                .beginObject()
+                .put(PAGE, this.page.page)
+                .put(TOTAL, this.page.total)
+                .beginArray(ORDERS);
+        for (final GeneratedTypeAdapterBenchmark.Order order : this.page.orders) {
+            out.beginObject()
+                    .put(ID, order.id)
+                    .put(REFERENCE, order.reference)
+                    .putLowercase(STATUS, order.status)
+                    .put(TOTAL, order.total)
+                    .put(ITEMS, order.items)
+                    .put(PAID, order.paid)
+                    .beginObject(CUSTOMER)
+                    .put(ID, order.customer.id)
+                    .put(NAME, order.customer.name)
+                    .put(EMAIL, order.customer.email)
+                    .put(VIP, order.customer.vip)
+                    .endObject()
+                    .beginArray(LINES);
+            for (final GeneratedTypeAdapterBenchmark.Line line : order.lines) {
+                out.beginObject()
+                        .put(SKU, line.sku)
+                        .put(QUANTITY, line.quantity)
+                        .put(PRICE, line.price)
+                        .put(GIFT_WRAPPED, line.giftWrapped)
+                        .endObject();
+            }
+            out.endArray().endObject();
+        }
+        out.endArray().endObject();
+    }
+
+}
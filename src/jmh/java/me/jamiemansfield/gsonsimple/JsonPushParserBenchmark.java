@@ -0,0 +1,122 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for decoding a large document, received in chunks of
+ * {@value #CHUNK} bytes - buffering the whole of it for Gson, and
+ * feeding each chunk to a {@link JsonPushParser} as it arrives, both
+ * building and validating each order, and only reading its tokens.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonPushParserBenchmark {
+
+    private static final int CHUNK = 8192;
+
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        this.json = BenchmarkDocuments.json(BenchmarkDocuments.Size.LARGE).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void gson(final Blackhole blackhole) {
+        final JsonObject document = JsonParser.parseReader(new InputStreamReader(
+                new ByteArrayInputStream(this.json), StandardCharsets.UTF_8)).getAsJsonObject();
+        final JsonArray orders = GsonObjects.getArray(document, "orders");
+        for (final JsonElement order : orders) {
+            read(order, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void pushElements(final Blackhole blackhole) {
+        final JsonPushParser parser = JsonPushParser.forElements(2, order -> read(order, blackhole));
+        this.feed(parser);
+    }
+
+    @Benchmark
+    public void pushTokens(final Blackhole blackhole) {
+        final JsonPushParser parser = new JsonPushParser(new JsonPushHandler() {
+            @Override
+            public void onString(final String value) {
+                blackhole.consume(value);
+            }
+
+            @Override
+            public void onNumber(final Number value) {
+                blackhole.consume(value);
+            }
+        });
+        this.feed(parser);
+    }
+
+    private void feed(final JsonPushParser parser) {
+        for (int offset = 0; offset < this.json.length; offset += CHUNK) {
+            parser.feed(this.json, offset, Math.min(CHUNK, this.json.length - offset));
+        }
+        parser.end();
+    }
+
+    private static void read(final JsonElement element, final Blackhole blackhole) {
+        final JsonObject order = GsonRequirements.requireObject(element, "order");
+        blackhole.consume(GsonObjects.getLong(order, "id"));
+        blackhole.consume(GsonObjects.getString(order, "status"));
+        blackhole.consume(GsonObjects.getDouble(order, "total"));
+        blackhole.consume(GsonObjects.getBoolean(order, "paid"));
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for sparsely reading a document through a
+ * {@link LazyJsonObject}, compared against parsing it with Gson - both
+ * from a string, and from UTF-8 bytes in a direct buffer.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyJsonObjectBenchmark {
+
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public BenchmarkDocuments.Size size;
+
+    private String json;
+    private ByteBuffer utf8;
+
+    @Setup
+    public void setup() {
+        this.json = BenchmarkDocuments.json(this.size);
+        final byte[] bytes = this.json.getBytes(StandardCharsets.UTF_8);
+        this.utf8 = ByteBuffer.allocateDirect(bytes.length);
+        this.utf8.put(bytes).flip();
+    }
+
+    @Benchmark
+    public void lazy(final Blackhole blackhole) {
+        final LazyJsonObject document = LazyJsonObject.parse(this.json);
+        blackhole.consume(document.getInt("page"));
+        blackhole.consume(document.getInt("total"));
+    }
+
+    @Benchmark
+    public void lazyUtf8(final Blackhole blackhole) {
+        final LazyJsonObject document = LazyJsonObject.parse(this.utf8);
+        blackhole.consume(document.getInt("page"));
+        blackhole.consume(document.getInt("total"));
+    }
+
+    @Benchmark
+    public void gsonUtf8(final Blackhole blackhole) {
+        final JsonObject document = JsonParser.parseReader(new InputStreamReader(
+                new ByteBufferInputStream(this.utf8.duplicate()), StandardCharsets.UTF_8)).getAsJsonObject();
+        blackhole.consume(GsonObjects.getInt(document, "page"));
+        blackhole.consume(GsonObjects.getInt(document, "total"));
+    }
+
+    @Benchmark
+    public void gson(final Blackhole blackhole) {
+        final JsonObject document = JsonParser.parseString(this.json).getAsJsonObject();
+        blackhole.consume(GsonObjects.getInt(document, "page"));
+        blackhole.consume(GsonObjects.getInt(document, "total"));
+    }
+
+    /**
+     * An input stream over a buffer - as a network or file stream would
+     * be read from, without mapping it.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (!this.buffer.hasRemaining()) return -1;
+            final int read = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, read);
+            return read;
+        }
+
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link LowercaseEnumTypeAdapterFactory}, compared against
+ * the adapter it previously produced and Gson's built-in enum adapter.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LowercaseEnumTypeAdapterFactoryBenchmark {
+
+    private static final int VALUES = 64;
+
+    private TypeAdapter<Sample> lowercase;
+    private TypeAdapter<Sample> legacy;
+    private TypeAdapter<Sample> builtin;
+
+    private String lowercaseInput;
+    private String builtinInput;
+
+    private JsonWriter out;
+
+    @Setup
+    public void setup() throws IOException {
+        this.lowercase = new GsonBuilder()
+                .registerTypeAdapterFactory(new LowercaseEnumTypeAdapterFactory())
+                .create()
+                .getAdapter(Sample.class);
+        this.legacy = new GsonBuilder()
+                .registerTypeAdapterFactory(new LegacyLowercaseEnumTypeAdapterFactory())
+                .create()
+                .getAdapter(Sample.class);
+        this.builtin = new Gson().getAdapter(Sample.class);
+
+        final StringBuilder lowercaseInput = new StringBuilder("[");
+        final StringBuilder builtinInput = new StringBuilder("[");
+        for (int i = 0; i < VALUES; i++) {
+            final Sample value = Sample.values()[i % Sample.values().length];
+            if (i != 0) {
+                lowercaseInput.append(',');
+                builtinInput.append(',');
+            }
+            lowercaseInput.append('"').append(value.name().toLowerCase()).append('"');
+            builtinInput.append('"').append(value.name()).append('"');
+        }
+        this.lowercaseInput = lowercaseInput.append(']').toString();
+        this.builtinInput = builtinInput.append(']').toString();
+
+        // Values are written into a never-ending array, so the writer
+        // can be reused between invocations.
+        this.out = new JsonWriter(new NullWriter());
+        this.out.beginArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void writeLowercase() throws IOException {
+        write(this.lowercase, this.out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void writeLegacy() throws IOException {
+        write(this.legacy, this.out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void writeBuiltin() throws IOException {
+        write(this.builtin, this.out);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void readLowercase(final Blackhole blackhole) throws IOException {
+        read(this.lowercase, this.lowercaseInput, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void readLegacy(final Blackhole blackhole) throws IOException {
+        read(this.legacy, this.lowercaseInput, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void readBuiltin(final Blackhole blackhole) throws IOException {
+        read(this.builtin, this.builtinInput, blackhole);
+    }
+
+    private static void write(final TypeAdapter<Sample> adapter, final JsonWriter out) throws IOException {
+        final Sample[] values = Sample.values();
+        for (int i = 0; i < VALUES; i++) {
+            adapter.write(out, values[i % values.length]);
+        }
+    }
+
+    private static void read(final TypeAdapter<Sample> adapter, final String input, final Blackhole blackhole)
+            throws IOException {
+        final JsonReader in = new JsonReader(new StringReader(input));
+        in.beginArray();
+        while (in.hasNext()) {
+            blackhole.consume(adapter.read(in));
+        }
+        in.endArray();
+    }
+
+    public enum Sample {
+        ALPHA,
+        BRAVO,
+        CHARLIE,
+        DELTA,
+        ECHO,
+        FOXTROT,
+        GOLF,
+        HOTEL,
+        ;
+    }
+
+    /**
+     * The {@link LowercaseEnumTypeAdapterFactory} as of 0.1.2, which
+     * lowercases on every write and builds a new adapter per request.
+     */
+    static final class LegacyLowercaseEnumTypeAdapterFactory implements TypeAdapterFactory {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+            final Class<T> rawType = (Class<T>) type.getRawType();
+            if (!rawType.isEnum()) return null;
+
+            final Map<String, T> values = new HashMap<>();
+            for (final T constant : rawType.getEnumConstants()) {
+                values.put(((Enum<?>) constant).name().toLowerCase(), constant);
+            }
+
+            return new TypeAdapter<T>() {
+                @Override
+                public void write(final JsonWriter out, final T value) throws IOException {
+                    if (value == null) {
+                        out.nullValue();
+                        return;
+                    }
+                    out.value(((Enum<?>) value).name().toLowerCase());
+                }
+
+                @Override
+                public T read(final JsonReader in) throws IOException {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        return null;
+                    }
+                    return values.get(in.nextString());
+                }
+            };
+        }
+
+    }
+
+    static final class NullWriter extends Writer {
+
+        @Override
+        public void write(final char[] buffer, final int offset, final int length) {
+        }
+
+        @Override
+        public void write(final String str, final int offset, final int length) {
+        }
+
+        @Override
+        public void write(final int c) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for decoding each of the orders of a large top-level array
+ * through a {@link ParallelRecordReader}, compared against decoding them
+ * sequentially from a single {@link JsonReader}.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelRecordReaderBenchmark {
+
+    private static final int COPIES = 20;
+
+    private String json;
+
+    @Setup
+    public void setup() {
+        // Twenty thousand orders (~16 MiB)
+        final JsonArray orders = BenchmarkDocuments.create(BenchmarkDocuments.Size.LARGE).getAsJsonArray("orders");
+        final JsonArray array = new JsonArray();
+        for (int i = 0; i < COPIES; i++) {
+            array.addAll(orders);
+        }
+        this.json = array.toString();
+    }
+
+    @Benchmark
+    public double parallel() throws IOException {
+        double total = 0;
+        try (final ParallelRecordReader<Double> orders = ParallelRecordReader.builder(ParallelRecordReaderBenchmark::decode)
+                .readArray(new StringReader(this.json))) {
+            while (orders.hasNext()) {
+                total += orders.next();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sequential() throws IOException {
+        double total = 0;
+        try (final JsonReader reader = new JsonReader(new StringReader(this.json))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                total += decode(JsonParser.parseReader(reader));
+            }
+            reader.endArray();
+        }
+        return total;
+    }
+
+    private static double decode(final JsonElement element) {
+        double total = 0;
+        for (final JsonElement line : GsonObjects.getArray(element.getAsJsonObject(), "lines")) {
+            total += GsonObjects.getInt(line.getAsJsonObject(), "quantity")
+                    * GsonObjects.getDouble(line.getAsJsonObject(), "price");
+        }
+        return total;
+    }
+
+}
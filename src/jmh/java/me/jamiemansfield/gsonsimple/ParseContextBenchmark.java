@@ -0,0 +1,107 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for parsing, and reading, small documents - a single order -
+ * with Gson, with {@link LazyJsonObject}, and with a reused
+ * {@link ParseContext} (held, and acquired from a pool per document).
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseContextBenchmark {
+
+    private final ParseContext context = new ParseContext();
+    private final ParseContextPool pool = new ParseContextPool();
+
+    private String json;
+
+    @Setup
+    public void setup() {
+        this.json = BenchmarkDocuments.create(BenchmarkDocuments.Size.SMALL)
+                .getAsJsonArray("orders")
+                .get(0)
+                .toString();
+    }
+
+    @Benchmark
+    public void gson(final Blackhole blackhole) {
+        final JsonObject order = JsonParser.parseString(this.json).getAsJsonObject();
+        blackhole.consume(GsonObjects.getLong(order, "id"));
+        blackhole.consume(GsonObjects.getString(order, "status"));
+        blackhole.consume(GsonObjects.getDouble(order, "total"));
+        blackhole.consume(GsonObjects.getBoolean(order, "paid"));
+        blackhole.consume(GsonObjects.getString(GsonObjects.getObject(order, "customer"), "name"));
+    }
+
+    @Benchmark
+    public void lazy(final Blackhole blackhole) {
+        read(LazyJsonObject.parse(this.json), blackhole);
+    }
+
+    @Benchmark
+    public void context(final Blackhole blackhole) {
+        read(this.context.parse(this.json), blackhole);
+    }
+
+    @Benchmark
+    public void pooledContext(final Blackhole blackhole) {
+        try (final ParseContext context = this.pool.acquire()) {
+            read(context.parse(this.json), blackhole);
+        }
+    }
+
+    private static void read(final LazyJsonObject order, final Blackhole blackhole) {
+        blackhole.consume(order.getLong("id"));
+        blackhole.consume(order.getString("status"));
+        blackhole.consume(order.getDouble("total"));
+        blackhole.consume(order.getBoolean("paid"));
+        blackhole.consume(order.getLazyObject("customer").getString("name"));
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading a handful of values from a large document with
+ * a {@link Projection projection}, rather than parsing the document in
+ * full and reading them with {@link JsonPath paths}.
+ * <p>
+ * The {@code last} fields lie at the end of the document, so the whole
+ * document must be skipped through - whereas the {@code first} fields let
+ * the projection stop after the first order.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final String PAGE = "page";
+    private static final String FIRST_ID = "orders[0].id";
+    private static final String FIRST_NAME = "orders[0].customer.name";
+    private static final String LAST_ID = "orders[999].id";
+    private static final String LAST_NAME = "orders[999].customer.name";
+
+    private static final Projection FIRST = Projection.builder()
+            .required(PAGE, FieldType.INT)
+            .required(FIRST_ID, FieldType.LONG)
+            .required(FIRST_NAME, FieldType.STRING)
+            .build();
+    private static final Projection LAST = Projection.builder()
+            .required(PAGE, FieldType.INT)
+            .required(LAST_ID, FieldType.LONG)
+            .required(LAST_NAME, FieldType.STRING)
+            .build();
+
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        this.json = BenchmarkDocuments.json(BenchmarkDocuments.Size.LARGE);
+        this.bytes = this.json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void parseFirst(final Blackhole blackhole) {
+        final JsonObject document = JsonParser.parseString(this.json).getAsJsonObject();
+        blackhole.consume(JsonPath.compile(PAGE).getInt(document));
+        blackhole.consume(JsonPath.compile(FIRST_ID).getLong(document));
+        blackhole.consume(JsonPath.compile(FIRST_NAME).getString(document));
+    }
+
+    @Benchmark
+    public void projectFirst(final Blackhole blackhole) {
+        final ProjectionResult result = FIRST.read(this.json);
+        blackhole.consume(result.getInt(0));
+        blackhole.consume(result.getLong(1));
+        blackhole.consume(result.getString(2));
+    }
+
+    @Benchmark
+    public void parseLast(final Blackhole blackhole) {
+        final JsonObject document = JsonParser.parseString(this.json).getAsJsonObject();
+        blackhole.consume(JsonPath.compile(PAGE).getInt(document));
+        blackhole.consume(JsonPath.compile(LAST_ID).getLong(document));
+        blackhole.consume(JsonPath.compile(LAST_NAME).getString(document));
+    }
+
+    @Benchmark
+    public void projectLast(final Blackhole blackhole) {
+        final ProjectionResult result = LAST.read(this.json);
+        blackhole.consume(result.getInt(0));
+        blackhole.consume(result.getLong(1));
+        blackhole.consume(result.getString(2));
+    }
+
+    @Benchmark
+    public void projectLastUtf8(final Blackhole blackhole) {
+        final ProjectionResult result = LAST.read(this.bytes, 0, this.bytes.length);
+        blackhole.consume(result.getInt(0));
+        blackhole.consume(result.getLong(1));
+        blackhole.consume(result.getString(2));
+    }
+
+}
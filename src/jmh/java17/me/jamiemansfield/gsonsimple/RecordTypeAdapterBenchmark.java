@@ -0,0 +1,152 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading and writing records with the
+ * {@link RecordTypeAdapterFactory}, against Gson's reflective adapters
+ * for equivalent classes - as Gson can't create records itself.
+ *
+ * @author Jamie Mansfield
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordTypeAdapterBenchmark {
+
+    @Param({ "MEDIUM", "LARGE" })
+    public BenchmarkDocuments.Size size;
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new LowercaseEnumTypeAdapterFactory())
+            .registerTypeAdapterFactory(new RecordTypeAdapterFactory())
+            .create();
+
+    private String json;
+    private Page page;
+    private PageRecord pageRecord;
+
+    @Setup
+    public void setup() {
+        this.json = BenchmarkDocuments.json(this.size);
+        this.page = this.gson.fromJson(this.json, Page.class);
+        this.pageRecord = this.gson.fromJson(this.json, PageRecord.class);
+    }
+
+    @Benchmark
+    public Page readReflective() {
+        return this.gson.fromJson(this.json, Page.class);
+    }
+
+    @Benchmark
+    public PageRecord readRecord() {
+        return this.gson.fromJson(this.json, PageRecord.class);
+    }
+
+    @Benchmark
+    public String writeReflective() {
+        return this.gson.toJson(this.page);
+    }
+
+    @Benchmark
+    public String writeRecord() {
+        return this.gson.toJson(this.pageRecord);
+    }
+
+    public static class Page {
+        int page;
+        int total;
+        List<Order> orders;
+    }
+
+    public static class Order {
+        long id;
+        String reference;
+        Status status;
+        double total;
+        int items;
+        boolean paid;
+        Customer customer;
+        List<Line> lines;
+    }
+
+    public static class Customer {
+        long id;
+        String name;
+        String email;
+        boolean vip;
+    }
+
+    public static class Line {
+        String sku;
+        int quantity;
+        double price;
+        boolean giftWrapped;
+    }
+
+    public record PageRecord(int page, int total, List<OrderRecord> orders) {
+    }
+
+    public record OrderRecord(long id, String reference, Status status, double total, int items, boolean paid,
+            CustomerRecord customer, List<LineRecord> lines) {
+    }
+
+    public record CustomerRecord(long id, String name, String email, boolean vip) {
+    }
+
+    public record LineRecord(String sku, int quantity, double price, boolean giftWrapped) {
+    }
+
+    public enum Status {
+        PENDING,
+        PAID,
+        SHIPPED,
+        DELIVERED,
+        CANCELLED,
+    }
+
+}
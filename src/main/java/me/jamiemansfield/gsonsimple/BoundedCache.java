@@ -0,0 +1,70 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache, holding at most a fixed number of entries.
+ * <p>
+ * Once full, an arbitrary entry is evicted to make room for each new
+ * entry - this is intended for caching values that are cheap to
+ * recompute, where the cost of tracking recency isn't worthwhile.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class BoundedCache<K, V> {
+
+    private final ConcurrentMap<K, V> entries = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    BoundedCache(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    V get(final K key, final Function<? super K, ? extends V> loader) {
+        final V cached = this.entries.get(key);
+        if (cached != null) return cached;
+
+        final V value = loader.apply(key);
+        if (this.entries.size() >= this.capacity) {
+            final Iterator<K> keys = this.entries.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        final V existing = this.entries.putIfAbsent(key, value);
+        return existing != null ? existing : value;
+    }
+
+}
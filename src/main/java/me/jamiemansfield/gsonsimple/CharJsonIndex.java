@@ -0,0 +1,97 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+/**
+ * A {@link JsonIndex structural index} over JSON held as characters.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class CharJsonIndex extends JsonIndex {
+
+    private char[] chars;
+
+    CharJsonIndex() {
+    }
+
+    CharJsonIndex(final char[] chars, final int length) {
+        this.reset(chars, length);
+    }
+
+    /**
+     * Takes on the given JSON, without indexing it.
+     *
+     * @param chars The JSON
+     * @param length The length of the JSON within the array
+     * @see #load(int)
+     */
+    void wrap(final char[] chars, final int length) {
+        this.chars = chars;
+        this.load(length);
+    }
+
+    /**
+     * Indexes the given JSON, replacing the document previously indexed.
+     *
+     * @param chars The JSON
+     * @param length The length of the JSON within the array
+     */
+    void reset(final char[] chars, final int length) {
+        this.chars = chars;
+        this.index(length);
+    }
+
+    /**
+     * Releases the JSON last indexed, such that it isn't kept reachable
+     * by the index.
+     */
+    void clear() {
+        this.chars = null;
+        this.length = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public char charAt(final int pos) {
+        return this.chars[pos];
+    }
+
+    @Override
+    String text(final int start, final int end) {
+        return new String(this.chars, start, end - start);
+    }
+
+    @Override
+    boolean regionMatches(final int start, final int end, final String key) {
+        if (end - start != key.length()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            if (this.chars[start + i] != key.charAt(i)) return false;
+        }
+        return true;
+    }
+
+}
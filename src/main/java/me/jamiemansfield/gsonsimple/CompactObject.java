@@ -0,0 +1,694 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compact {@link JsonObjectView view} of a JSON object,
+ * suited to holding many records of the same layout in memory.
+ * <p>
+ * Compact objects with the same keys share a single shape - the array
+ * of keys, and an index over them - and hold nothing but their values.
+ * Only objects of a few dozen keys share shapes; wider objects, such as
+ * those used as maps, are each given a shape of their own.
+ * Integers and short decimals are kept as longs and doubles, and booleans
+ * likewise, in a primitive array; strings, nested compact objects, arrays
+ * and any other numbers are kept as references. Lookups find the slot of
+ * an entry through the shape's index, rather than walking a tree, and
+ * the typed getters read straight from it - which {@link GsonObjects}
+ * makes use of.
+ * <p>
+ * Arrays are held as plain arrays of their values - nested objects as
+ * compact objects, and numbers and booleans boxed - and built into
+ * {@link JsonArray JSON arrays} whenever they are accessed. Numbers held
+ * as doubles are materialised in Java's own form, so may be written
+ * differently than they were read, though never with a different value.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class CompactObject implements JsonObjectView {
+
+    private static final long[] NO_PRIMITIVES = new long[0];
+    private static final Object[] NO_REFERENCES = new Object[0];
+
+    /**
+     * Creates a compact object holding the entries of the given
+     * {@link JsonObject JSON object}, and those of any objects nested
+     * within it.
+     *
+     * @param object The JSON object
+     * @return The compact object
+     */
+    public static CompactObject of(final JsonObject object) {
+        final Builder builder = new Builder(object.size());
+        for (final Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads a compact object from the given {@link JsonReader JSON reader},
+     * without building a tree of {@link JsonElement elements} for it.
+     *
+     * @param in The JSON reader
+     * @return The compact object, or {@code null} should the value be null
+     * @throws IOException If an I/O error occurs
+     * @throws JsonParseException If the value isn't an object
+     */
+    public static CompactObject read(final JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token != JsonToken.BEGIN_OBJECT) {
+            throw JsonValidationException.unexpectedType(in.getPath(), FieldType.OBJECT);
+        }
+        return readObject(in);
+    }
+
+    private static CompactObject readObject(final JsonReader in) throws IOException {
+        final Builder builder = new Builder(8);
+        in.beginObject();
+        while (in.hasNext()) {
+            final String key = in.nextName();
+            switch (in.peek()) {
+                case BEGIN_OBJECT:
+                    builder.putReference(key, readObject(in));
+                    break;
+                case BEGIN_ARRAY:
+                    builder.putReference(key, readArray(in));
+                    break;
+                case STRING:
+                    builder.putReference(key, in.nextString());
+                    break;
+                case NUMBER:
+                    builder.putNumber(key, in.nextString());
+                    break;
+                case BOOLEAN:
+                    builder.putBoolean(key, in.nextBoolean());
+                    break;
+                default:
+                    in.nextNull();
+                    builder.putReference(key, null);
+                    break;
+            }
+        }
+        in.endObject();
+        return builder.build();
+    }
+
+    private static Object[] readArray(final JsonReader in) throws IOException {
+        final List<Object> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            switch (in.peek()) {
+                case BEGIN_OBJECT:
+                    values.add(readObject(in));
+                    break;
+                case BEGIN_ARRAY:
+                    values.add(readArray(in));
+                    break;
+                case STRING:
+                    values.add(in.nextString());
+                    break;
+                case NUMBER:
+                    values.add(number(in.nextString()));
+                    break;
+                case BOOLEAN:
+                    values.add(in.nextBoolean());
+                    break;
+                default:
+                    in.nextNull();
+                    values.add(null);
+                    break;
+            }
+        }
+        in.endArray();
+        return values.toArray();
+    }
+
+    private static Object[] compactArray(final JsonArray array) {
+        final Object[] values = new Object[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = compact(array.get(i));
+        }
+        return values;
+    }
+
+    /**
+     * Converts the element to the value held for it within an array.
+     */
+    private static Object compact(final JsonElement element) {
+        if (element.isJsonObject()) return of(element.getAsJsonObject());
+        if (element.isJsonArray()) return compactArray(element.getAsJsonArray());
+        if (element.isJsonNull()) return null;
+        final JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) return primitive.getAsBoolean();
+        if (primitive.isString()) return primitive.getAsString();
+        final Number number = primitive.getAsNumber();
+        if (number instanceof Integer || number instanceof Short || number instanceof Byte) return number.longValue();
+        if (number instanceof Long || number instanceof Double) return number;
+        return number(number.toString());
+    }
+
+    /**
+     * Converts the number literal to the value held for it within an
+     * array - a long or double, where one holds it exactly.
+     */
+    private static Object number(final String literal) {
+        final int length = literal.length();
+        if (GsonNumbers.isSimpleLong(literal, 0, length)) return GsonNumbers.toLong(literal, 0, length);
+        if (GsonNumbers.isShortDecimal(literal, 0, length)) return GsonNumbers.toDouble(literal, 0, length);
+        return new NumberLiteral(literal);
+    }
+
+    /**
+     * Builds the value held for an entry, or within an array, into
+     * a {@link JsonElement element}.
+     */
+    private static JsonElement element(final Object value) {
+        if (value == null) return JsonNull.INSTANCE;
+        if (value instanceof String) return new JsonPrimitive((String) value);
+        if (value instanceof Number) return new JsonPrimitive((Number) value);
+        if (value instanceof Boolean) return new JsonPrimitive((Boolean) value);
+        if (value instanceof CompactObject) return ((CompactObject) value).toJsonObject();
+
+        final Object[] values = (Object[]) value;
+        final JsonArray array = new JsonArray(values.length);
+        for (final Object element : values) {
+            array.add(element(element));
+        }
+        return array;
+    }
+
+    private final CompactShape shape;
+    private final long[] primitives;
+    private final Object[] references;
+
+    private CompactObject(final CompactShape shape, final long[] primitives, final Object[] references) {
+        this.shape = shape;
+        this.primitives = primitives;
+        this.references = references;
+    }
+
+    private int require(final String key) {
+        final int index = this.shape.indexOf(key);
+        if (index == -1) throw JsonValidationException.missingEntry(key);
+        return index;
+    }
+
+    private Object reference(final int index) {
+        return this.references[this.shape.slots[index]];
+    }
+
+    private long primitive(final int index) {
+        return this.primitives[this.shape.slots[index]];
+    }
+
+    @Override
+    public boolean has(final String key) {
+        return this.shape.indexOf(key) != -1;
+    }
+
+    @Override
+    public JsonElement get(final String key) {
+        final int index = this.shape.indexOf(key);
+        return index == -1 ? null : this.element(index);
+    }
+
+    @Override
+    public int size() {
+        return this.shape.keys.length;
+    }
+
+    /**
+     * Gets a nested compact object from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The compact object
+     * @throws JsonParseException If the object is missing the entry, or it isn't an object
+     */
+    public CompactObject getCompactObject(final String key) throws JsonParseException {
+        final Object value = this.requireReference(key, FieldType.OBJECT);
+        if (value != null && !(value instanceof CompactObject)) {
+            throw JsonValidationException.unexpectedType(key, FieldType.OBJECT);
+        }
+        return (CompactObject) value;
+    }
+
+    /**
+     * Gets an {@link JsonObject object} from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The JSON object
+     * @throws JsonParseException If the object is missing the entry, or it isn't an object
+     * @see GsonObjects#getObject(JsonObject, String)
+     */
+    public JsonObject getObject(final String key) throws JsonParseException {
+        final CompactObject value = this.getCompactObject(key);
+        return value == null ? null : value.toJsonObject();
+    }
+
+    /**
+     * Gets an {@link JsonArray array} from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The JSON array
+     * @throws JsonParseException If the object is missing the entry, or it isn't an array
+     * @see GsonObjects#getArray(JsonObject, String)
+     */
+    public JsonArray getArray(final String key) throws JsonParseException {
+        final Object value = this.requireReference(key, FieldType.ARRAY);
+        if (value == null) return null;
+        if (!(value instanceof Object[])) throw JsonValidationException.unexpectedType(key, FieldType.ARRAY);
+        return element(value).getAsJsonArray();
+    }
+
+    /**
+     * Gets an array of nested compact objects from the object, throwing
+     * a {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The compact objects
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't an object
+     */
+    public CompactObject[] getCompactObjectArray(final String key) throws JsonParseException {
+        final Object value = this.requireReference(key, FieldType.ARRAY);
+        if (value == null) return null;
+        if (!(value instanceof Object[])) throw JsonValidationException.unexpectedType(key, FieldType.ARRAY);
+
+        final Object[] values = (Object[]) value;
+        final CompactObject[] objects = new CompactObject[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && !(values[i] instanceof CompactObject)) {
+                throw JsonValidationException.unexpectedType(GsonRequirements.indexed(key, i), FieldType.OBJECT);
+            }
+            objects[i] = (CompactObject) values[i];
+        }
+        return objects;
+    }
+
+    /**
+     * Gets a string from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a string
+     * @see GsonObjects#getString(JsonObject, String)
+     */
+    public String getString(final String key) throws JsonParseException {
+        final Object value = this.requireReference(key, FieldType.STRING);
+        if (value != null && !(value instanceof String)) {
+            throw JsonValidationException.unexpectedType(key, FieldType.STRING);
+        }
+        return (String) value;
+    }
+
+    /**
+     * Gets a boolean from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a boolean
+     * @see GsonObjects#getBoolean(JsonObject, String)
+     */
+    public boolean getBoolean(final String key) throws JsonParseException {
+        final int index = this.require(key);
+        if (this.shape.kinds[index] != CompactShape.BOOLEAN) {
+            throw JsonValidationException.unexpectedType(key, FieldType.BOOLEAN);
+        }
+        return this.primitive(index) != 0;
+    }
+
+    /**
+     * Gets an integer from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't an integer
+     * @see GsonObjects#getInt(JsonObject, String)
+     */
+    public int getInt(final String key) throws JsonParseException {
+        final int index = this.require(key);
+        switch (this.shape.kinds[index]) {
+            case CompactShape.LONG:
+                return (int) this.primitive(index);
+            case CompactShape.DOUBLE:
+                return (int) (long) Double.longBitsToDouble(this.primitive(index));
+            default:
+                return GsonNumbers.toInt(this.number(index, key, FieldType.INT));
+        }
+    }
+
+    /**
+     * Gets a long from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a long
+     * @see GsonObjects#getLong(JsonObject, String)
+     */
+    public long getLong(final String key) throws JsonParseException {
+        final int index = this.require(key);
+        switch (this.shape.kinds[index]) {
+            case CompactShape.LONG:
+                return this.primitive(index);
+            case CompactShape.DOUBLE:
+                return (long) Double.longBitsToDouble(this.primitive(index));
+            default:
+                return GsonNumbers.toLong(this.number(index, key, FieldType.LONG));
+        }
+    }
+
+    /**
+     * Gets an integer from the object, throwing a {@link JsonParseException}
+     * if not present, or if it can't be held exactly.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't
+     *                            an integer that can be held exactly
+     * @see GsonObjects#getExactInt(JsonObject, String)
+     */
+    public int getExactInt(final String key) throws JsonParseException {
+        try {
+            return Math.toIntExact(this.exactLong(key, FieldType.INT));
+        } catch (final ArithmeticException ex) {
+            throw JsonValidationException.inexactNumber(key, FieldType.INT);
+        }
+    }
+
+    /**
+     * Gets a long from the object, throwing a {@link JsonParseException}
+     * if not present, or if it can't be held exactly.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't
+     *                            a long that can be held exactly
+     * @see GsonObjects#getExactLong(JsonObject, String)
+     */
+    public long getExactLong(final String key) throws JsonParseException {
+        try {
+            return this.exactLong(key, FieldType.LONG);
+        } catch (final ArithmeticException ex) {
+            throw JsonValidationException.inexactNumber(key, FieldType.LONG);
+        }
+    }
+
+    private long exactLong(final String key, final FieldType type) {
+        final int index = this.require(key);
+        switch (this.shape.kinds[index]) {
+            case CompactShape.LONG:
+                return this.primitive(index);
+            case CompactShape.DOUBLE:
+                return GsonNumbers.toExactLong(Double.longBitsToDouble(this.primitive(index)));
+            default:
+                return GsonNumbers.toExactLong(this.number(index, key, type));
+        }
+    }
+
+    /**
+     * Gets a double from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a double
+     * @see GsonObjects#getDouble(JsonObject, String)
+     */
+    public double getDouble(final String key) throws JsonParseException {
+        final int index = this.require(key);
+        switch (this.shape.kinds[index]) {
+            case CompactShape.LONG:
+                return this.primitive(index);
+            case CompactShape.DOUBLE:
+                return Double.longBitsToDouble(this.primitive(index));
+            default:
+                return GsonNumbers.toDouble(this.number(index, key, FieldType.DOUBLE));
+        }
+    }
+
+    /**
+     * Gets a float from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a float
+     * @see GsonObjects#getFloat(JsonObject, String)
+     */
+    public float getFloat(final String key) throws JsonParseException {
+        final int index = this.require(key);
+        switch (this.shape.kinds[index]) {
+            case CompactShape.LONG:
+                return this.primitive(index);
+            case CompactShape.DOUBLE:
+                return (float) Double.longBitsToDouble(this.primitive(index));
+            default:
+                return GsonNumbers.toFloat(this.number(index, key, FieldType.FLOAT));
+        }
+    }
+
+    private Object requireReference(final String key, final FieldType type) {
+        final int index = this.require(key);
+        if (this.shape.kinds[index] != CompactShape.REFERENCE) throw JsonValidationException.unexpectedType(key, type);
+        return this.reference(index);
+    }
+
+    private Number number(final int index, final String key, final FieldType type) {
+        final Object value = this.shape.kinds[index] == CompactShape.REFERENCE ? this.reference(index) : null;
+        if (!(value instanceof Number)) throw JsonValidationException.unexpectedType(key, type);
+        return (Number) value;
+    }
+
+    private JsonElement element(final int index) {
+        switch (this.shape.kinds[index]) {
+            case CompactShape.LONG:
+                return new JsonPrimitive(this.primitive(index));
+            case CompactShape.DOUBLE:
+                return new JsonPrimitive(Double.longBitsToDouble(this.primitive(index)));
+            case CompactShape.BOOLEAN:
+                return new JsonPrimitive(this.primitive(index) != 0);
+            default:
+                return element(this.reference(index));
+        }
+    }
+
+    /**
+     * Builds the whole of the object into a {@link JsonObject JSON object}.
+     *
+     * @return The JSON object
+     */
+    public JsonObject toJsonObject() {
+        final JsonObject object = new JsonObject();
+        for (int i = 0; i < this.shape.keys.length; i++) {
+            object.add(this.shape.keys[i], this.element(i));
+        }
+        return object;
+    }
+
+    @Override
+    public String toString() {
+        return this.toJsonObject().toString();
+    }
+
+    /**
+     * Gathers the entries of an object, in order, before settling on its
+     * shape - should a key be repeated, the last of its values is kept in
+     * place of the first, as with {@link JsonObject}.
+     */
+    private static final class Builder {
+
+        private String[] keys;
+        private byte[] kinds;
+        private long[] primitives;
+        private Object[] references;
+        private int size;
+
+        Builder(final int capacity) {
+            this.keys = new String[capacity];
+            this.kinds = new byte[capacity];
+            this.primitives = new long[capacity];
+            this.references = new Object[capacity];
+        }
+
+        void put(final String key, final JsonElement value) {
+            if (value.isJsonObject()) {
+                this.putReference(key, of(value.getAsJsonObject()));
+            } else if (value.isJsonArray()) {
+                this.putReference(key, compactArray(value.getAsJsonArray()));
+            } else if (value.isJsonNull()) {
+                this.putReference(key, null);
+            } else {
+                final JsonPrimitive primitive = value.getAsJsonPrimitive();
+                if (primitive.isBoolean()) {
+                    this.putBoolean(key, primitive.getAsBoolean());
+                } else if (primitive.isString()) {
+                    this.putReference(key, primitive.getAsString());
+                } else {
+                    this.putNumber(key, primitive.getAsNumber());
+                }
+            }
+        }
+
+        void putNumber(final String key, final Number number) {
+            if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+                this.putPrimitive(key, CompactShape.LONG, number.longValue());
+            } else if (number instanceof Double) {
+                this.putPrimitive(key, CompactShape.DOUBLE, Double.doubleToRawLongBits(number.doubleValue()));
+            } else {
+                this.putNumber(key, number.toString());
+            }
+        }
+
+        void putNumber(final String key, final String literal) {
+            final int length = literal.length();
+            if (GsonNumbers.isSimpleLong(literal, 0, length)) {
+                this.putPrimitive(key, CompactShape.LONG, GsonNumbers.toLong(literal, 0, length));
+            } else if (GsonNumbers.isShortDecimal(literal, 0, length)) {
+                final double value = GsonNumbers.toDouble(literal, 0, length);
+                this.putPrimitive(key, CompactShape.DOUBLE, Double.doubleToRawLongBits(value));
+            } else {
+                this.putReference(key, new NumberLiteral(literal));
+            }
+        }
+
+        void putBoolean(final String key, final boolean value) {
+            this.putPrimitive(key, CompactShape.BOOLEAN, value ? 1 : 0);
+        }
+
+        void putPrimitive(final String key, final byte kind, final long value) {
+            this.add(key, kind);
+            this.primitives[this.size++] = value;
+        }
+
+        void putReference(final String key, final Object value) {
+            this.add(key, CompactShape.REFERENCE);
+            this.references[this.size++] = value;
+        }
+
+        private void add(final String key, final byte kind) {
+            if (this.size == this.keys.length) {
+                final int capacity = Math.max(4, this.size * 2);
+                this.keys = Arrays.copyOf(this.keys, capacity);
+                this.kinds = Arrays.copyOf(this.kinds, capacity);
+                this.primitives = Arrays.copyOf(this.primitives, capacity);
+                this.references = Arrays.copyOf(this.references, capacity);
+            }
+            this.keys[this.size] = key;
+            this.kinds[this.size] = kind;
+        }
+
+        CompactObject build() {
+            CompactShape shape = this.sharedShape();
+            if (shape == null) {
+                // Repeated keys, or an object too wide to share a shape
+                if (this.removeRepeats()) shape = this.sharedShape();
+                if (shape == null) shape = CompactShape.of(this.keys, this.kinds, this.size);
+            }
+
+            final long[] primitives = shape.primitives == 0 ? NO_PRIMITIVES : new long[shape.primitives];
+            final Object[] references = shape.references == 0 ? NO_REFERENCES : new Object[shape.references];
+            for (int i = 0; i < this.size; i++) {
+                if (CompactShape.isPrimitive(this.kinds[i])) {
+                    primitives[shape.slots[i]] = this.primitives[i];
+                } else {
+                    references[shape.slots[i]] = this.references[i];
+                }
+            }
+            return new CompactObject(shape, primitives, references);
+        }
+
+        /**
+         * Gets the shared shape of the entries, or {@code null} should a
+         * key be repeated or the shape not be shared.
+         */
+        private CompactShape sharedShape() {
+            if (this.size > CompactShape.MAX_SHARED_KEYS) return null;
+
+            CompactShape shape = CompactShape.EMPTY;
+            for (int i = 0; i < this.size && shape != null; i++) {
+                if (shape.indexOf(this.keys[i]) != -1) return null;
+                shape = shape.with(this.keys[i], this.kinds[i]);
+            }
+            return shape;
+        }
+
+        /**
+         * Removes any repeated keys, keeping the last of their values in
+         * place of the first.
+         *
+         * @return Whether any keys were removed
+         */
+        private boolean removeRepeats() {
+            final Map<String, Integer> indices = new HashMap<>(this.size * 2);
+            int size = 0;
+            for (int i = 0; i < this.size; i++) {
+                final Integer existing = indices.putIfAbsent(this.keys[i], size);
+                final int index = existing == null ? size++ : existing;
+                this.keys[index] = this.keys[i];
+                this.kinds[index] = this.kinds[i];
+                this.primitives[index] = this.primitives[i];
+                this.references[index] = this.references[i];
+            }
+            if (size == this.size) return false;
+
+            Arrays.fill(this.references, size, this.size, null);
+            this.size = size;
+            return true;
+        }
+
+    }
+
+}
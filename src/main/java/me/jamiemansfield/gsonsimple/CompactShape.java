@@ -0,0 +1,191 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The layout shared by {@link CompactObject compact objects} of the same
+ * keys, in the same order, with values of the same kinds - each entry's
+ * key, the kind of its value, and the slot holding it.
+ * <p>
+ * Shapes of up to {@value #MAX_SHARED_KEYS} entries are reached from
+ * {@link #EMPTY} by adding one entry at a time, and each transition is
+ * remembered - so records of a common layout all arrive at the very same
+ * shape, and only ever hold their values. The shared shapes hold no more
+ * than {@value #MAX_SHARED_ENTRIES} entries between them, keeping objects
+ * keyed by arbitrary data from growing the tree without bound.
+ * <p>
+ * Wider objects, and those for which no more shapes can be shared, are
+ * given a shape of their own - built in a single pass over their keys.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class CompactShape {
+
+    // Kinds of value - longs, doubles and booleans are held in primitive
+    // slots, and everything else as a reference
+    static final byte LONG = 0;
+    static final byte DOUBLE = 1;
+    static final byte BOOLEAN = 2;
+    static final byte REFERENCE = 3;
+    private static final int KINDS = 4;
+
+    static final int MAX_SHARED_KEYS = 32;
+    private static final int MAX_SHARED_ENTRIES = 1 << 18;
+    private static final AtomicInteger SHARED_ENTRIES = new AtomicInteger();
+
+    static final CompactShape EMPTY = new CompactShape(new String[0], new byte[0], 0);
+
+    static boolean isPrimitive(final byte kind) {
+        return kind != REFERENCE;
+    }
+
+    /**
+     * Creates a shape of the given entries, that isn't shared.
+     *
+     * @param keys The keys of the entries, none of which are repeated
+     * @param kinds The kinds of their values
+     * @param size The number of entries
+     * @return The shape
+     */
+    static CompactShape of(final String[] keys, final byte[] kinds, final int size) {
+        return new CompactShape(Arrays.copyOf(keys, size), Arrays.copyOf(kinds, size), size);
+    }
+
+    final String[] keys;
+    final byte[] kinds;
+    final int[] slots;
+    final int primitives;
+    final int references;
+
+    // Open addressing over the keys, holding each entry's index plus one
+    private final int[] table;
+
+    // The shapes following this one, by kind - each map created as it's
+    // first needed, and null for shapes that can't be followed
+    private final AtomicReferenceArray<ConcurrentHashMap<String, CompactShape>> transitions;
+
+    private CompactShape(final String[] keys, final byte[] kinds, final int size) {
+        this.keys = keys;
+        this.kinds = kinds;
+        this.slots = new int[size];
+        int primitives = 0;
+        int references = 0;
+        for (int i = 0; i < size; i++) {
+            this.slots[i] = isPrimitive(kinds[i]) ? primitives++ : references++;
+        }
+        this.primitives = primitives;
+        this.references = references;
+        this.table = index(keys);
+        this.transitions = size == 0 ? new AtomicReferenceArray<>(KINDS) : null;
+    }
+
+    private CompactShape(final CompactShape parent, final String key, final byte kind) {
+        final int size = parent.keys.length;
+        this.keys = Arrays.copyOf(parent.keys, size + 1);
+        this.kinds = Arrays.copyOf(parent.kinds, size + 1);
+        this.slots = Arrays.copyOf(parent.slots, size + 1);
+        this.keys[size] = key;
+        this.kinds[size] = kind;
+        if (isPrimitive(kind)) {
+            this.slots[size] = parent.primitives;
+            this.primitives = parent.primitives + 1;
+            this.references = parent.references;
+        } else {
+            this.slots[size] = parent.references;
+            this.primitives = parent.primitives;
+            this.references = parent.references + 1;
+        }
+        this.table = index(this.keys);
+        this.transitions = size + 1 < MAX_SHARED_KEYS ? new AtomicReferenceArray<>(KINDS) : null;
+    }
+
+    private static int[] index(final String[] keys) {
+        final int[] table = new int[Integer.highestOneBit(Math.max(2, keys.length * 2 - 1)) << 1];
+        final int mask = table.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int pos = spread(keys[i].hashCode()) & mask;
+            while (table[pos] != 0) pos = (pos + 1) & mask;
+            table[pos] = i + 1;
+        }
+        return table;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Gets the index of the entry of the given key.
+     *
+     * @param key The key of the entry
+     * @return The index, or {@code -1} if there is no such entry
+     */
+    int indexOf(final String key) {
+        final int mask = this.table.length - 1;
+        for (int pos = spread(key.hashCode()) & mask; ; pos = (pos + 1) & mask) {
+            final int entry = this.table[pos];
+            if (entry == 0) return -1;
+            final String candidate = this.keys[entry - 1];
+            if (candidate == key || candidate.equals(key)) return entry - 1;
+        }
+    }
+
+    /**
+     * Gets the shared shape that follows this one, with an entry of the
+     * given key and kind added.
+     *
+     * @param key The key of the entry, which mustn't already be present
+     * @param kind The kind of its value
+     * @return The shape, or {@code null} should it not be shared
+     */
+    CompactShape with(final String key, final byte kind) {
+        if (this.transitions == null) return null;
+
+        ConcurrentHashMap<String, CompactShape> transitions = this.transitions.get(kind);
+        if (transitions != null) {
+            final CompactShape shape = transitions.get(key);
+            if (shape != null) return shape;
+        }
+        if (SHARED_ENTRIES.get() >= MAX_SHARED_ENTRIES) return null;
+
+        if (transitions == null) {
+            this.transitions.compareAndSet(kind, null, new ConcurrentHashMap<>(4));
+            transitions = this.transitions.get(kind);
+        }
+        return transitions.computeIfAbsent(key, k -> {
+            SHARED_ENTRIES.addAndGet(this.keys.length + 1);
+            return new CompactShape(this, k, kind);
+        });
+    }
+
+}
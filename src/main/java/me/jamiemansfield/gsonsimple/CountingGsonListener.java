@@ -0,0 +1,204 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link GsonListener listener} that counts lookups and type checks -
+ * the lookups and misses of each key, and the checks and mismatches of
+ * each type, and of each name.
+ * <p>
+ * Counters are {@link LongAdder adders}, so that concurrent updates
+ * don't contend with one another. Counters are created for each key and
+ * name seen, so the listener is intended for documents with a bounded
+ * set of keys.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class CountingGsonListener implements GsonListener {
+
+    private static final FieldType[] TYPES = FieldType.values();
+
+    private final ConcurrentMap<String, LongAdder> lookups = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> misses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> mismatches = new ConcurrentHashMap<>();
+    private final LongAdder[] checksByType = adders();
+    private final LongAdder[] mismatchesByType = adders();
+
+    private static LongAdder[] adders() {
+        final LongAdder[] adders = new LongAdder[TYPES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static void increment(final ConcurrentMap<String, LongAdder> counters, final String key) {
+        LongAdder counter = counters.get(key);
+        if (counter == null) counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        counter.increment();
+    }
+
+    private static long sum(final ConcurrentMap<String, LongAdder> counters, final String key) {
+        final LongAdder counter = counters.get(key);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    private static Map<String, Long> snapshot(final ConcurrentMap<String, LongAdder> counters) {
+        final Map<String, Long> snapshot = new HashMap<>();
+        counters.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    @Override
+    public void onLookup(final String key, final boolean found) {
+        increment(this.lookups, key);
+        if (!found) increment(this.misses, key);
+    }
+
+    @Override
+    public void onTypeCheck(final String name, final FieldType expected, final boolean passed) {
+        this.checksByType[expected.ordinal()].increment();
+        if (!passed) {
+            this.mismatchesByType[expected.ordinal()].increment();
+            increment(this.mismatches, name);
+        }
+    }
+
+    /**
+     * Gets the number of times the given key has been looked up.
+     *
+     * @param key The key
+     * @return The number of lookups
+     */
+    public long getLookupCount(final String key) {
+        return sum(this.lookups, key);
+    }
+
+    /**
+     * Gets the number of times the given key has been looked up, and
+     * not been found.
+     *
+     * @param key The key
+     * @return The number of misses
+     */
+    public long getMissCount(final String key) {
+        return sum(this.misses, key);
+    }
+
+    /**
+     * Gets the number of times values have been checked to be of the
+     * given type.
+     *
+     * @param type The type
+     * @return The number of checks
+     */
+    public long getTypeCheckCount(final FieldType type) {
+        return this.checksByType[type.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of times values have been found not to be of the
+     * given type.
+     *
+     * @param type The type
+     * @return The number of mismatches
+     */
+    public long getMismatchCount(final FieldType type) {
+        return this.mismatchesByType[type.ordinal()].sum();
+    }
+
+    /**
+     * Gets the proportion of checks of the given type that have found
+     * a mismatch.
+     *
+     * @param type The type
+     * @return The mismatch rate, between {@code 0} and {@code 1}
+     */
+    public double getMismatchRate(final FieldType type) {
+        final long checks = this.getTypeCheckCount(type);
+        return checks == 0 ? 0 : (double) this.getMismatchCount(type) / checks;
+    }
+
+    /**
+     * Gets the number of times the value of the given name has been found
+     * not to be of its expected type.
+     *
+     * @param name The name
+     * @return The number of mismatches
+     */
+    public long getMismatchCount(final String name) {
+        return sum(this.mismatches, name);
+    }
+
+    /**
+     * Gets a snapshot of the number of lookups of each key.
+     *
+     * @return The lookups, by key
+     */
+    public Map<String, Long> getLookupCounts() {
+        return snapshot(this.lookups);
+    }
+
+    /**
+     * Gets a snapshot of the number of misses of each key.
+     *
+     * @return The misses, by key
+     */
+    public Map<String, Long> getMissCounts() {
+        return snapshot(this.misses);
+    }
+
+    /**
+     * Gets a snapshot of the number of mismatches of each name.
+     *
+     * @return The mismatches, by name
+     */
+    public Map<String, Long> getMismatchCounts() {
+        return snapshot(this.mismatches);
+    }
+
+    /**
+     * Resets all of the counts to zero.
+     */
+    public void reset() {
+        this.lookups.clear();
+        this.misses.clear();
+        this.mismatches.clear();
+        for (int i = 0; i < TYPES.length; i++) {
+            this.checksByType[i].reset();
+            this.mismatchesByType[i].reset();
+        }
+    }
+
+}
@@ -0,0 +1,659 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A cache of parsed documents, keyed by a hash of their raw text - for
+ * where the same payloads, such as configuration or feature flags, are
+ * received over and over, and needn't be parsed and validated each time.
+ * <p>
+ * On a miss, the document is parsed and passed to the cache's loader,
+ * which validates it - typically with {@link GsonObjects} - and converts
+ * it to the value that is cached. Should the loader throw, nothing is
+ * cached. As cached values are shared between callers, they should be
+ * immutable - a {@link CompactObject}, or a value class of the loader's
+ * own.
+ * <p>
+ * Documents are identified by a 128-bit non-cryptographic hash of their
+ * text, and its length, alone - the text itself isn't retained, and a
+ * hit isn't confirmed against it. Colliding documents are vanishingly
+ * unlikely by chance, but the hash isn't keyed in any cryptographic
+ * sense - its random seed only makes collisions harder to find - and
+ * a document colliding with one cached is given the cached value. The
+ * cache shouldn't be used where an attacker controls the payloads. Text
+ * and UTF-8 bytes are hashed separately, so the same document read as
+ * both is cached twice.
+ * <p>
+ * The cache is split into segments, each holding its share of the
+ * {@link Builder#maximumSize(int) size} and
+ * {@link Builder#maximumWeight(long) weight} bounds - so entries may be
+ * evicted before the cache as a whole is full. Hits take no locks, while
+ * each segment has its own lock for changes - entries being evicted from
+ * it by the clock algorithm, an approximation of least-recently-used
+ * order, in constant time. Expired entries are
+ * removed as they're found. Documents are parsed outside of any lock,
+ * so concurrent misses for the same document may each parse it.
+ *
+ * <pre>{@code
+ * private static final DocumentCache<FeatureFlags> FLAGS = DocumentCache.builder(FeatureFlags::read)
+ *         .maximumSize(256)
+ *         .expireAfterWrite(5, TimeUnit.MINUTES)
+ *         .build();
+ *
+ * final FeatureFlags flags = FLAGS.get(json);
+ * }</pre>
+ *
+ * @param <T> The type of the cached values
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class DocumentCache<T> {
+
+    /**
+     * Creates a new {@link Builder builder} for a cache, of the values
+     * created by the given loader.
+     *
+     * @param loader The loader, validating and converting parsed documents
+     * @param <T> The type of the cached values
+     * @return The builder
+     */
+    public static <T> Builder<T> builder(final Function<? super JsonObject, ? extends T> loader) {
+        if (loader == null) throw new NullPointerException("loader");
+        return new Builder<>(loader);
+    }
+
+    private static final String ROOT = "$";
+    private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_SIZE = 16;
+
+    // The constants of MurmurHash3's 128-bit variant
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final long BYTES = 0x9e3779b97f4a7c15L;
+
+    private final Function<? super JsonObject, ? extends T> loader;
+    private final ToIntFunction<? super T> weigher;
+    private final long expiry;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+    private final Segment<T>[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DocumentCache(final Builder<T> builder) {
+        this.loader = builder.loader;
+        this.weigher = builder.weigher;
+        this.expiry = builder.expiry;
+
+        // A power of two, with enough entries to each segment that the
+        // bounds aren't noticeably lowered by keys hashing unevenly
+        final int wanted = Math.min(MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() * 4);
+        final int count = Integer.highestOneBit((int) Math.min(
+                Math.min(wanted, Math.max(1, builder.maximumSize / MIN_SEGMENT_SIZE)),
+                builder.maximumWeight
+        ));
+
+        // Spread the bounds' remainders, so the segments add up to them
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment<>(
+                    builder.maximumSize / count + (i < builder.maximumSize % count ? 1 : 0),
+                    builder.maximumWeight / count + (i < builder.maximumWeight % count ? 1 : 0)
+            );
+        }
+    }
+
+    /**
+     * Gets the value of the given JSON, parsing and loading it should it
+     * not be cached.
+     *
+     * @param json The JSON
+     * @return The value
+     * @throws JsonParseException If the JSON is malformed, isn't an object,
+     *                            or fails the loader's validation
+     */
+    public T get(final String json) throws JsonParseException {
+        final Key key = this.hash(json);
+        final T cached = this.lookup(key);
+        if (cached != null) return cached;
+
+        return this.load(key, JsonParser.parseString(json), json.length());
+    }
+
+    /**
+     * Gets the value of the given UTF-8 encoded JSON, parsing and loading
+     * it should it not be cached.
+     *
+     * @param json The JSON
+     * @param offset The offset of the JSON within the array
+     * @param length The length of the JSON, in bytes
+     * @return The value
+     * @throws JsonParseException If the JSON is malformed, isn't an object,
+     *                            or fails the loader's validation
+     */
+    public T get(final byte[] json, final int offset, final int length) throws JsonParseException {
+        final Key key = this.hash(json, offset, length);
+        final T cached = this.lookup(key);
+        if (cached != null) return cached;
+
+        return this.load(key, JsonParser.parseReader(new Utf8Reader(json, offset, length)), length);
+    }
+
+    private T lookup(final Key key) {
+        final T value = this.segment(key).get(key, this.expiry == 0 ? 0 : System.nanoTime());
+        if (value != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+        return value;
+    }
+
+    private T load(final Key key, final JsonElement document, final int length) {
+        if (!document.isJsonObject()) throw JsonValidationException.unexpectedType(ROOT, FieldType.OBJECT);
+        final T value = this.loader.apply(document.getAsJsonObject());
+        if (value == null) throw new NullPointerException("Loader returned null!");
+
+        final int weight = this.weigher != null ? this.weigher.applyAsInt(value) : length;
+        final long expires = this.expiry == 0 ? Long.MAX_VALUE : System.nanoTime() + this.expiry;
+        this.evictions.add(this.segment(key).put(key, value, weight, expires));
+        return value;
+    }
+
+    private Segment<T> segment(final Key key) {
+        return this.segments[(int) key.high & (this.segments.length - 1)];
+    }
+
+    private Key hash(final String json) {
+        final int length = json.length();
+        long h1 = this.seed;
+        long h2 = this.seed;
+
+        // Blocks of eight characters, as two longs
+        final int blocks = length & ~7;
+        for (int i = 0; i < blocks; i += 8) {
+            final long k1 = json.charAt(i) | (long) json.charAt(i + 1) << 16 |
+                    (long) json.charAt(i + 2) << 32 | (long) json.charAt(i + 3) << 48;
+            final long k2 = json.charAt(i + 4) | (long) json.charAt(i + 5) << 16 |
+                    (long) json.charAt(i + 6) << 32 | (long) json.charAt(i + 7) << 48;
+            h1 ^= mix1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mix2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = blocks; i < length; i++) {
+            final int shift = (i & 3) << 4;
+            if ((i & 7) < 4) {
+                k1 |= (long) json.charAt(i) << shift;
+            } else {
+                k2 |= (long) json.charAt(i) << shift;
+            }
+        }
+        return finish(h1 ^ mix1(k1), h2 ^ mix2(k2), length);
+    }
+
+    private Key hash(final byte[] json, final int offset, final int length) {
+        long h1 = this.seed ^ BYTES;
+        long h2 = this.seed ^ BYTES;
+
+        // Blocks of sixteen bytes, as two little-endian longs
+        final int blocks = length & ~15;
+        for (int i = 0; i < blocks; i += 16) {
+            h1 ^= mix1(readLong(json, offset + i));
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mix2(readLong(json, offset + i + 8));
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = blocks; i < length; i++) {
+            final int shift = (i & 7) << 3;
+            if ((i & 15) < 8) {
+                k1 |= (json[offset + i] & 0xFFL) << shift;
+            } else {
+                k2 |= (json[offset + i] & 0xFFL) << shift;
+            }
+        }
+        return finish(h1 ^ mix1(k1), h2 ^ mix2(k2), length);
+    }
+
+    private static long readLong(final byte[] bytes, final int pos) {
+        return (bytes[pos] & 0xFFL) | (bytes[pos + 1] & 0xFFL) << 8 |
+                (bytes[pos + 2] & 0xFFL) << 16 | (bytes[pos + 3] & 0xFFL) << 24 |
+                (bytes[pos + 4] & 0xFFL) << 32 | (bytes[pos + 5] & 0xFFL) << 40 |
+                (bytes[pos + 6] & 0xFFL) << 48 | (bytes[pos + 7] & 0xFFL) << 56;
+    }
+
+    private static long mix1(final long k) {
+        return Long.rotateLeft(k * C1, 31) * C2;
+    }
+
+    private static long mix2(final long k) {
+        return Long.rotateLeft(k * C2, 33) * C1;
+    }
+
+    private static Key finish(long h1, long h2, final int length) {
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new Key(h1, h2, length);
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * Gets the number of documents cached.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<T> segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the total weight of the documents cached.
+     *
+     * @return The weight
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (final Segment<T> segment : this.segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    /**
+     * Gets the number of times a document has been found in the cache.
+     *
+     * @return The number of hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of times a document hasn't been found in the cache,
+     * and so has been parsed.
+     *
+     * @return The number of misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the proportion of documents that have been found in the cache.
+     *
+     * @return The hit rate, between {@code 0} and {@code 1} - or {@code 1}
+     *         should no documents have been requested
+     */
+    public double getHitRate() {
+        final long hits = this.getHitCount();
+        final long requests = hits + this.getMissCount();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * Gets the number of documents evicted from the cache, to keep it
+     * within its bounds. Expired documents aren't counted.
+     *
+     * @return The number of evictions
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Removes all documents from the cache. The statistics of the cache
+     * are unaffected.
+     */
+    public void invalidateAll() {
+        for (final Segment<T> segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentCache{size=" + this.size() + ", hits=" + this.getHitCount() + ", misses=" + this.getMissCount() + "}";
+    }
+
+    /**
+     * The identity of a document - its hash, and length.
+     */
+    private static final class Key {
+
+        final long high;
+        final long low;
+        final int length;
+
+        Key(final long high, final long low, final int length) {
+            this.high = high;
+            this.low = low;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            final Key that = (Key) obj;
+            return this.high == that.high && this.low == that.low && this.length == that.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (this.low ^ (this.low >>> 32));
+        }
+
+    }
+
+    private static final class Entry<T> {
+
+        final Key key;
+        final T value;
+        final int weight;
+        final long expires;
+
+        // Whether the entry has been used since the clock last passed it
+        volatile boolean referenced;
+
+        // The index of the entry within its segment's ring, guarded by
+        // the segment's lock
+        int slot;
+
+        Entry(final Key key, final T value, final int weight, final long expires) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expires = expires;
+        }
+
+    }
+
+    /**
+     * A share of the cache. Entries are found without locking, while
+     * changes are made under the segment's lock.
+     * <p>
+     * Entries are evicted by the clock (second chance) algorithm: a hit
+     * marks the entry as referenced, and the clock's hand sweeps a ring
+     * of the entries, clearing marks and evicting the first entry it
+     * finds unmarked. The ring is kept dense - removing an entry moves
+     * the last into its slot - so each eviction takes amortised constant
+     * time, and a hit writes to the entry at most once per sweep.
+     */
+    private static final class Segment<T> {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final ConcurrentMap<Key, Entry<T>> entries = new ConcurrentHashMap<>();
+        private final int maximumSize;
+        private final long maximumWeight;
+        private Entry<T>[] ring;
+        private int size;
+        private int hand;
+        private long weight;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Segment(final int maximumSize, final long maximumWeight) {
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+            this.ring = new Entry[Math.min(maximumSize, INITIAL_CAPACITY)];
+        }
+
+        T get(final Key key, final long now) {
+            final Entry<T> entry = this.entries.get(key);
+            if (entry == null) return null;
+            if (entry.expires != Long.MAX_VALUE && now - entry.expires >= 0) {
+                this.expire(entry);
+                return null;
+            }
+
+            if (!entry.referenced) entry.referenced = true;
+            return entry.value;
+        }
+
+        private synchronized void expire(final Entry<T> entry) {
+            if (this.entries.remove(entry.key, entry)) this.remove(entry);
+        }
+
+        /**
+         * Caches the given value, evicting others as needed.
+         *
+         * @return The number of entries evicted
+         */
+        synchronized int put(final Key key, final T value, final int weight, final long expires) {
+            // Too heavy to ever fit
+            if (weight > this.maximumWeight) return 0;
+
+            final Entry<T> entry = new Entry<>(key, value, weight, expires);
+            final Entry<T> previous = this.entries.put(key, entry);
+            int evicted = 0;
+            if (previous != null) {
+                // Take the place of the entry replaced
+                entry.slot = previous.slot;
+                this.ring[entry.slot] = entry;
+                this.weight -= previous.weight;
+            } else {
+                if (this.size == this.maximumSize) {
+                    this.evict(entry);
+                    evicted++;
+                }
+                this.add(entry);
+            }
+            this.weight += weight;
+
+            while (this.weight > this.maximumWeight) {
+                this.evict(entry);
+                evicted++;
+            }
+            return evicted;
+        }
+
+        private void add(final Entry<T> entry) {
+            if (this.size == this.ring.length) {
+                this.ring = Arrays.copyOf(this.ring, (int) Math.min(this.maximumSize, this.ring.length * 2L));
+            }
+            entry.slot = this.size;
+            this.ring[this.size++] = entry;
+        }
+
+        private void remove(final Entry<T> entry) {
+            final Entry<T> last = this.ring[--this.size];
+            this.ring[this.size] = null;
+            if (last != entry) {
+                last.slot = entry.slot;
+                this.ring[entry.slot] = last;
+            }
+            this.weight -= entry.weight;
+        }
+
+        /**
+         * Evicts the first unreferenced entry the hand finds, other than
+         * the given entry - taking at most two sweeps of the ring.
+         */
+        private void evict(final Entry<T> keep) {
+            while (true) {
+                if (this.hand >= this.size) this.hand = 0;
+                final Entry<T> candidate = this.ring[this.hand];
+                if (candidate != keep) {
+                    if (!candidate.referenced) {
+                        this.entries.remove(candidate.key, candidate);
+                        this.remove(candidate);
+                        return;
+                    }
+                    candidate.referenced = false;
+                }
+                this.hand++;
+            }
+        }
+
+        int size() {
+            return this.entries.size();
+        }
+
+        synchronized long weight() {
+            return this.weight;
+        }
+
+        synchronized void clear() {
+            this.entries.clear();
+            Arrays.fill(this.ring, 0, this.size, null);
+            this.size = 0;
+            this.hand = 0;
+            this.weight = 0;
+        }
+
+    }
+
+    /**
+     * A builder for {@link DocumentCache document caches}.
+     *
+     * @param <T> The type of the cached values
+     */
+    public static final class Builder<T> {
+
+        private final Function<? super JsonObject, ? extends T> loader;
+        private ToIntFunction<? super T> weigher;
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private long maximumWeight = Long.MAX_VALUE;
+        private long expiry;
+
+        private Builder(final Function<? super JsonObject, ? extends T> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * Sets the most documents held by the cache, by default
+         * {@value DocumentCache#DEFAULT_MAXIMUM_SIZE}.
+         *
+         * @param maximumSize The most documents held
+         * @return {@code this}, for chaining
+         */
+        public Builder<T> maximumSize(final int maximumSize) {
+            if (maximumSize < 1) throw new IllegalArgumentException("Maximum size must be positive!");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the most total weight of the documents held by the cache,
+         * by default unbounded. Documents heavier than the cache's share
+         * for a single segment aren't cached.
+         *
+         * @param maximumWeight The most weight held
+         * @return {@code this}, for chaining
+         * @see #weigher(ToIntFunction)
+         */
+        public Builder<T> maximumWeight(final long maximumWeight) {
+            if (maximumWeight < 1) throw new IllegalArgumentException("Maximum weight must be positive!");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Sets how the weight of values is determined, by default the
+         * length of the document they were loaded from - in characters,
+         * or bytes.
+         *
+         * @param weigher The weigher
+         * @return {@code this}, for chaining
+         */
+        public Builder<T> weigher(final ToIntFunction<? super T> weigher) {
+            if (weigher == null) throw new NullPointerException("weigher");
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Sets how long documents are held for once cached, by default
+         * for as long as they fit.
+         *
+         * @param duration The duration
+         * @param unit The unit of the duration
+         * @return {@code this}, for chaining
+         */
+        public Builder<T> expireAfterWrite(final long duration, final TimeUnit unit) {
+            if (duration < 1) throw new IllegalArgumentException("Duration must be positive!");
+            this.expiry = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Creates the cache.
+         *
+         * @return The cache
+         */
+        public DocumentCache<T> build() {
+            return new DocumentCache<>(this);
+        }
+
+    }
+
+}
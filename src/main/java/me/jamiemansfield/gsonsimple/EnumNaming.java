@@ -0,0 +1,117 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.Locale;
+
+/**
+ * The strategies for naming the constants of an enum, when serialised by
+ * an {@link EnumTypeAdapterFactory}.
+ * <p>
+ * Strategies other than {@link #IDENTITY} split the names of constants
+ * into words - at underscores, and between a lowercase letter or digit and
+ * an uppercase letter - so both {@code GIFT_WRAPPED} and
+ * {@code GiftWrapped} are named {@code gift_wrapped} in
+ * {@link #SNAKE_CASE snake case}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public enum EnumNaming {
+
+    /**
+     * The name of the constant, as declared.
+     */
+    IDENTITY,
+
+    /**
+     * The name of the constant, in lowercase - as produced by the
+     * {@link LowercaseEnumTypeAdapterFactory}.
+     */
+    LOWERCASE,
+
+    /**
+     * The words of the name of the constant, in lowercase and separated
+     * by underscores - such as {@code gift_wrapped}.
+     */
+    SNAKE_CASE,
+
+    /**
+     * The words of the name of the constant, in lowercase and separated
+     * by hyphens - such as {@code gift-wrapped}.
+     */
+    KEBAB_CASE,
+    ;
+
+    /**
+     * Names the constant of the given name.
+     *
+     * @param name The name of the constant
+     * @return The serialised name
+     */
+    public String apply(final String name) {
+        switch (this) {
+            case LOWERCASE:
+                return name.toLowerCase(Locale.ROOT);
+            case SNAKE_CASE:
+                return words(name, '_');
+            case KEBAB_CASE:
+                return words(name, '-');
+            default:
+                return name;
+        }
+    }
+
+    private static String words(final String name, final char separator) {
+        final StringBuilder words = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (c == '_') {
+                if (words.length() != 0 && words.charAt(words.length() - 1) != separator) words.append(separator);
+                continue;
+            }
+            if (Character.isUpperCase(c) && i != 0) {
+                final char previous = name.charAt(i - 1);
+                final boolean nextLower = i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1));
+
+                // A word starts at an uppercase letter following a lowercase
+                // letter or digit, or ending a run of uppercase letters - as
+                // the 'S' of "HTTPServer"
+                if (Character.isLowerCase(previous) || Character.isDigit(previous) ||
+                        (Character.isUpperCase(previous) && nextLower)) {
+                    if (words.charAt(words.length() - 1) != separator) words.append(separator);
+                }
+            }
+            words.append(Character.toLowerCase(c));
+        }
+        // Trailing underscores leave a trailing separator
+        if (words.length() != 0 && words.charAt(words.length() - 1) == separator) {
+            words.setLength(words.length() - 1);
+        }
+        return words.toString();
+    }
+
+}
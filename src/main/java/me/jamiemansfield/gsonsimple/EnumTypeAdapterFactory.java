@@ -0,0 +1,334 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A configurable {@link TypeAdapterFactory type adapter factory} for
+ * enums, serialising their constants by a {@link EnumNaming naming
+ * strategy} - or the names given by {@link SerializedName} annotations,
+ * whose alternates are also accepted when reading.
+ *
+ * <pre>{@code
+ * final Gson gson = new GsonBuilder()
+ *         .registerTypeAdapterFactory(EnumTypeAdapterFactory.builder()
+ *                 .naming(EnumNaming.SNAKE_CASE)
+ *                 .caseInsensitive(true)
+ *                 .unknownValue(EnumTypeAdapterFactory.UnknownValue.DEFAULT)
+ *                 .build())
+ *         .create();
+ * }</pre>
+ * <p>
+ * The names of each enum are compiled into a trie once, when its adapter
+ * is created, which values are matched against character-by-character -
+ * so reads neither hash nor copy the value read, even when ignoring case.
+ * Should two constants share a name, creating the adapter of their enum
+ * fails with an {@link IllegalArgumentException}. Adapters are shared
+ * between all {@link Gson} instances using the factory.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class EnumTypeAdapterFactory implements TypeAdapterFactory {
+
+    /**
+     * Creates a new {@link Builder builder} for an enum type adapter
+     * factory.
+     *
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final EnumNaming naming;
+    private final boolean caseInsensitive;
+    private final boolean serializedNames;
+    private final UnknownValue unknownValue;
+    private final boolean replaceAmbiguousNames;
+    private final Map<Class<?>, Enum<?>> defaultValues;
+
+    private final ClassValue<TypeAdapter<?>> adapters = new ClassValue<TypeAdapter<?>>() {
+        @Override
+        protected TypeAdapter<?> computeValue(final Class<?> type) {
+            return new EnumTypeAdapter(EnumTypeAdapterFactory.this, type);
+        }
+    };
+
+    private EnumTypeAdapterFactory(final Builder builder) {
+        this.naming = builder.naming;
+        this.caseInsensitive = builder.caseInsensitive;
+        this.serializedNames = builder.serializedNames;
+        this.unknownValue = builder.unknownValue;
+        this.replaceAmbiguousNames = builder.replaceAmbiguousNames;
+        this.defaultValues = new HashMap<>(builder.defaultValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (!Enum.class.isAssignableFrom(rawType) || rawType == Enum.class) return null;
+
+        // Constants with bodies are instances of anonymous subclasses
+        if (!rawType.isEnum()) rawType = rawType.getSuperclass();
+        return (TypeAdapter<T>) this.adapters.get(rawType);
+    }
+
+    /**
+     * Gets the name the given constant is serialised as.
+     *
+     * @param constant The constant
+     * @return The name
+     */
+    String name(final Enum<?> constant) {
+        return ((EnumTypeAdapter) this.adapters.get(constant.getDeclaringClass())).names[constant.ordinal()];
+    }
+
+    /**
+     * The policies for reading values that aren't the name of any constant.
+     */
+    public enum UnknownValue {
+
+        /**
+         * Fail, with a {@link JsonSyntaxException}.
+         */
+        FAIL,
+
+        /**
+         * Read the value as {@code null}.
+         */
+        NULL,
+
+        /**
+         * Read the value as the {@link Builder#defaultValue(Enum) default
+         * constant} of the enum - or, if it has none, its first constant.
+         */
+        DEFAULT,
+        ;
+
+    }
+
+    /**
+     * The type adapter for a single enum class.
+     */
+    private static final class EnumTypeAdapter extends TypeAdapter<Enum<?>> {
+
+        private final Class<?> type;
+        private final Enum<?>[] constants;
+        private final String[] names;
+        private final NameTrie trie;
+        private final UnknownValue unknownValue;
+        private final Enum<?> defaultValue;
+
+        EnumTypeAdapter(final EnumTypeAdapterFactory factory, final Class<?> type) {
+            this.type = type;
+            this.constants = (Enum<?>[]) type.getEnumConstants();
+            this.names = new String[this.constants.length];
+            this.unknownValue = factory.unknownValue;
+            final Enum<?> defaultValue = factory.defaultValues.get(type);
+            this.defaultValue = defaultValue != null || this.constants.length == 0 ? defaultValue : this.constants[0];
+
+            final NameTrie.Builder trie = new NameTrie.Builder(factory.caseInsensitive);
+            for (final Enum<?> constant : this.constants) {
+                final SerializedName annotation = factory.serializedNames ? serializedName(type, constant) : null;
+                final String name = annotation != null ? annotation.value() : factory.naming.apply(constant.name());
+
+                this.names[constant.ordinal()] = name;
+                put(factory, trie, name, constant.ordinal());
+                if (annotation != null) {
+                    for (final String alternate : annotation.alternate()) {
+                        put(factory, trie, alternate, constant.ordinal());
+                    }
+                }
+            }
+            this.trie = trie.build();
+        }
+
+        @Override
+        public void write(final JsonWriter out, final Enum<?> value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.value(this.names[value.ordinal()]);
+        }
+
+        @Override
+        public Enum<?> read(final JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            final String value = in.nextString();
+            final int ordinal = this.trie.match(value);
+            if (ordinal >= 0) return this.constants[ordinal];
+
+            switch (this.unknownValue) {
+                case NULL:
+                    return null;
+                case DEFAULT:
+                    return this.defaultValue;
+                default:
+                    throw new JsonSyntaxException("Unknown " + this.type.getSimpleName() + " constant '" + value
+                            + "' at path " + in.getPath() + "!");
+            }
+        }
+
+        private static void put(final EnumTypeAdapterFactory factory, final NameTrie.Builder trie,
+                final String name, final int ordinal) {
+            if (factory.replaceAmbiguousNames) {
+                trie.replace(name, ordinal);
+            } else {
+                trie.put(name, ordinal);
+            }
+        }
+
+        private static SerializedName serializedName(final Class<?> type, final Enum<?> constant) {
+            try {
+                return type.getField(constant.name()).getAnnotation(SerializedName.class);
+            } catch (final NoSuchFieldException ex) {
+                throw new IllegalStateException("Enum " + type.getName() + " has no field for " + constant.name(), ex);
+            }
+        }
+
+    }
+
+    /**
+     * A builder of {@link EnumTypeAdapterFactory enum type adapter
+     * factories}.
+     */
+    public static final class Builder {
+
+        private EnumNaming naming = EnumNaming.IDENTITY;
+        private boolean caseInsensitive;
+        private boolean serializedNames = true;
+        private UnknownValue unknownValue = UnknownValue.FAIL;
+        private boolean replaceAmbiguousNames;
+        private final Map<Class<?>, Enum<?>> defaultValues = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the naming strategy of constants, by default
+         * {@link EnumNaming#IDENTITY}.
+         *
+         * @param naming The naming strategy
+         * @return {@code this}, for chaining
+         */
+        public Builder naming(final EnumNaming naming) {
+            this.naming = Objects.requireNonNull(naming, "naming");
+            return this;
+        }
+
+        /**
+         * Sets whether the case of values is ignored when reading, by
+         * default {@code false}.
+         *
+         * @param caseInsensitive Whether case is ignored
+         * @return {@code this}, for chaining
+         */
+        public Builder caseInsensitive(final boolean caseInsensitive) {
+            this.caseInsensitive = caseInsensitive;
+            return this;
+        }
+
+        /**
+         * Sets whether {@link SerializedName} annotations on constants are
+         * honoured, by default {@code true}.
+         *
+         * @param serializedNames Whether annotations are honoured
+         * @return {@code this}, for chaining
+         */
+        public Builder serializedNames(final boolean serializedNames) {
+            this.serializedNames = serializedNames;
+            return this;
+        }
+
+        /**
+         * Sets the policy for reading unknown values, by default
+         * {@link UnknownValue#FAIL}.
+         *
+         * @param unknownValue The policy
+         * @return {@code this}, for chaining
+         */
+        public Builder unknownValue(final UnknownValue unknownValue) {
+            this.unknownValue = Objects.requireNonNull(unknownValue, "unknownValue");
+            return this;
+        }
+
+        /**
+         * Has constants whose names collide read as the last of them,
+         * rather than failing to create an adapter for their enum - as
+         * {@link LowercaseEnumTypeAdapterFactory} always has.
+         *
+         * @return {@code this}, for chaining
+         */
+        Builder replaceAmbiguousNames() {
+            this.replaceAmbiguousNames = true;
+            return this;
+        }
+
+        /**
+         * Sets the constant unknown values of its enum are read as, under
+         * the {@link UnknownValue#DEFAULT default policy}.
+         *
+         * @param constant The default constant
+         * @return {@code this}, for chaining
+         */
+        public Builder defaultValue(final Enum<?> constant) {
+            this.defaultValues.put(constant.getDeclaringClass(), constant);
+            return this;
+        }
+
+        /**
+         * Creates the factory.
+         *
+         * @return The factory
+         */
+        public EnumTypeAdapterFactory build() {
+            return new EnumTypeAdapterFactory(this);
+        }
+
+    }
+
+}
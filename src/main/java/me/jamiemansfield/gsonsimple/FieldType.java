@@ -0,0 +1,147 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import static me.jamiemansfield.gsonsimple.GsonChecks.isBoolean;
+import static me.jamiemansfield.gsonsimple.GsonChecks.isNumber;
+import static me.jamiemansfield.gsonsimple.GsonChecks.isString;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The types of value that can be required of a JSON entry.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public enum FieldType {
+
+    /**
+     * A {@link com.google.gson.JsonObject JSON object}, or {@code null}.
+     */
+    OBJECT("an object"),
+
+    /**
+     * A {@link com.google.gson.JsonArray JSON array}, or {@code null}.
+     */
+    ARRAY("an array"),
+
+    /**
+     * A string, or {@code null}.
+     */
+    STRING("a string"),
+
+    /**
+     * A boolean.
+     */
+    BOOLEAN("a boolean"),
+
+    /**
+     * An integer.
+     */
+    INT("an integer"),
+
+    /**
+     * A long.
+     */
+    LONG("a long"),
+
+    /**
+     * A double.
+     */
+    DOUBLE("a double"),
+
+    /**
+     * A float.
+     */
+    FLOAT("a float"),
+    ;
+
+    private final String description;
+
+    FieldType(final String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets a description of the type, as used in error messages - for
+     * example, {@code "an integer"}.
+     *
+     * @return The description
+     */
+    String describe() {
+        return this.description;
+    }
+
+    /**
+     * Establishes whether the {@link JsonElement JSON element} is of this
+     * type, as it would be checked by {@link GsonRequirements}.
+     *
+     * @param element The element to check
+     * @return {@code true} if the element is of this type;
+     *         otherwise {@code false}
+     */
+    boolean matches(final JsonElement element) {
+        switch (this) {
+            case OBJECT:
+                return element.isJsonNull() || element.isJsonObject();
+            case ARRAY:
+                return element.isJsonNull() || element.isJsonArray();
+            case STRING:
+                return element.isJsonNull() || isString(element);
+            case BOOLEAN:
+                return isBoolean(element);
+            default:
+                return isNumber(element);
+        }
+    }
+
+    /**
+     * Establishes whether a value beginning with the given
+     * {@link JsonToken token} is of this type, as it would be checked
+     * by {@link GsonReaders}.
+     *
+     * @param token The token to check
+     * @return {@code true} if the value is of this type;
+     *         otherwise {@code false}
+     */
+    boolean matches(final JsonToken token) {
+        switch (this) {
+            case OBJECT:
+                return token == JsonToken.NULL || token == JsonToken.BEGIN_OBJECT;
+            case ARRAY:
+                return token == JsonToken.NULL || token == JsonToken.BEGIN_ARRAY;
+            case STRING:
+                return token == JsonToken.NULL || token == JsonToken.STRING;
+            case BOOLEAN:
+                return token == JsonToken.BOOLEAN;
+            default:
+                return token == JsonToken.NUMBER;
+        }
+    }
+
+}
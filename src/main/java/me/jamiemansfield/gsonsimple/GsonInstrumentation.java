@@ -0,0 +1,65 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+/**
+ * The registry of the {@link GsonListener listener} to the lookups and
+ * type checks made by gson-simple.
+ * <p>
+ * With no listener registered, the cost of instrumentation is a single
+ * read of a field, and a null check.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class GsonInstrumentation {
+
+    // Read directly on the hot paths
+    static volatile GsonListener listener;
+
+    /**
+     * Gets the registered listener.
+     *
+     * @return The listener, or {@code null} should there be none
+     */
+    public static GsonListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Registers the given listener, replacing any already registered.
+     *
+     * @param listener The listener, or {@code null} to remove the
+     *                 registered listener
+     */
+    public static void setListener(final GsonListener listener) {
+        GsonInstrumentation.listener = listener;
+    }
+
+    private GsonInstrumentation() {
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+/**
+ * A listener to the lookups and type checks made by {@link GsonObjects}
+ * and {@link GsonRequirements}, allowing them to be monitored - such as
+ * by a {@link CountingGsonListener}.
+ * <p>
+ * Listeners are {@link GsonInstrumentation#setListener(GsonListener)
+ * registered globally}, and are called from whichever thread makes the
+ * lookup or check, so must be thread-safe - and, being called on the hot
+ * path, should be quick.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public interface GsonListener {
+
+    /**
+     * Called when an entry is looked up from an object.
+     *
+     * @param key The key of the entry
+     * @param found Whether the object has the entry
+     */
+    default void onLookup(final String key, final boolean found) {
+    }
+
+    /**
+     * Called when the type of a value is checked. Null values, where
+     * permitted by the type, aren't checked.
+     *
+     * @param name The name of the value
+     * @param expected The type the value is expected to be
+     * @param passed Whether the value is of the expected type
+     */
+    default void onTypeCheck(final String name, final FieldType expected, final boolean passed) {
+    }
+
+}
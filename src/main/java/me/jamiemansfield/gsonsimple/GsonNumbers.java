@@ -0,0 +1,404 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions of JSON number literals, in the same manner as
+ * {@link com.google.gson.JsonPrimitive} - so that values read without a
+ * tree give the same results as from one.
+ * <p>
+ * Literals are read straight from their characters, without creating
+ * a {@link String} or {@link BigDecimal}, for the common cases:
+ * <ul>
+ *     <li>Integers of at most {@value #MAX_LONG_DIGITS} digits.</li>
+ *     <li>Decimals whose digits fit exactly in a double (or float), with
+ *     a small enough exponent that the value can be computed with a
+ *     single, correctly rounded, multiplication or division - Clinger's
+ *     fast path.</li>
+ * </ul>
+ * All other literals fall back to the JDK's own parsing, so results are
+ * always identical to it.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class GsonNumbers {
+
+    // The most digits that can't overflow a long
+    private static final int MAX_LONG_DIGITS = 18;
+
+    // The most significant digits of a decimal that always survive a round trip through a double
+    private static final int MAX_EXACT_DECIMAL_DIGITS = 15;
+    private static final int MAX_SHORT_DECIMAL_LENGTH = 32;
+
+    // The largest mantissas, and powers of ten, that are exact in a double and float
+    private static final long MAX_DOUBLE_MANTISSA = 1L << 53;
+    private static final long MAX_FLOAT_MANTISSA = 1L << 24;
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f,
+    };
+
+    // Decimals are packed into a long as their mantissa, and biased exponent
+    private static final int EXPONENT_BITS = 6;
+    private static final int EXPONENT_BIAS = 32;
+    private static final long NOT_FAST = -1;
+
+    // Literals
+
+    static int toInt(final String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (final NumberFormatException ignored) {
+        }
+        try {
+            return (int) Long.parseLong(value);
+        } catch (final NumberFormatException ignored) {
+        }
+        return new BigDecimal(value).intValue();
+    }
+
+    static long toLong(final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (final NumberFormatException ignored) {
+        }
+        return new BigDecimal(value).longValue();
+    }
+
+    static double toDouble(final String value) {
+        return toDouble(value, 0, value.length());
+    }
+
+    static float toFloat(final String value) {
+        return toFloat(value, 0, value.length());
+    }
+
+    static int toExactInt(final String value) {
+        return toExactInt(value, 0, value.length());
+    }
+
+    static long toExactLong(final String value) {
+        return toExactLong(value, 0, value.length());
+    }
+
+    static int toInt(final CharSequence chars, final int start, final int end) {
+        if (isSimpleLong(chars, start, end)) return (int) parseSimpleLong(chars, start, end);
+        return toInt(chars.subSequence(start, end).toString());
+    }
+
+    static long toLong(final CharSequence chars, final int start, final int end) {
+        if (isSimpleLong(chars, start, end)) return parseSimpleLong(chars, start, end);
+        return toLong(chars.subSequence(start, end).toString());
+    }
+
+    static double toDouble(final CharSequence chars, final int start, final int end) {
+        final long decimal = parseDecimal(chars, start, end, MAX_DOUBLE_MANTISSA, DOUBLE_POWERS_OF_TEN.length - 1);
+        if (decimal == NOT_FAST) return Double.parseDouble(chars.subSequence(start, end).toString());
+
+        final int exponent = (int) (decimal & ((1 << EXPONENT_BITS) - 1)) - EXPONENT_BIAS;
+        final double mantissa = decimal >>> EXPONENT_BITS;
+        final double value = exponent >= 0 ?
+                mantissa * DOUBLE_POWERS_OF_TEN[exponent] :
+                mantissa / DOUBLE_POWERS_OF_TEN[-exponent];
+        return chars.charAt(start) == '-' ? -value : value;
+    }
+
+    static float toFloat(final CharSequence chars, final int start, final int end) {
+        final long decimal = parseDecimal(chars, start, end, MAX_FLOAT_MANTISSA, FLOAT_POWERS_OF_TEN.length - 1);
+        if (decimal == NOT_FAST) return Float.parseFloat(chars.subSequence(start, end).toString());
+
+        final int exponent = (int) (decimal & ((1 << EXPONENT_BITS) - 1)) - EXPONENT_BIAS;
+        final float mantissa = decimal >>> EXPONENT_BITS;
+        final float value = exponent >= 0 ?
+                mantissa * FLOAT_POWERS_OF_TEN[exponent] :
+                mantissa / FLOAT_POWERS_OF_TEN[-exponent];
+        return chars.charAt(start) == '-' ? -value : value;
+    }
+
+    /**
+     * Converts the literal to an int, without any loss of precision.
+     *
+     * @throws ArithmeticException If the literal isn't an integer, or
+     *                             is outside of the range of an int
+     * @throws NumberFormatException If the literal is malformed
+     */
+    static int toExactInt(final CharSequence chars, final int start, final int end) {
+        return Math.toIntExact(toExactLong(chars, start, end));
+    }
+
+    /**
+     * Converts the literal to a long, without any loss of precision.
+     * <p>
+     * Any literal with an integral value is accepted, including those
+     * with fractions or exponents - such as {@code 1.0}, or {@code 1e3}.
+     *
+     * @throws ArithmeticException If the literal isn't an integer, or
+     *                             is outside of the range of a long
+     * @throws NumberFormatException If the literal is malformed
+     */
+    static long toExactLong(final CharSequence chars, final int start, final int end) {
+        if (isSimpleLong(chars, start, end)) return parseSimpleLong(chars, start, end);
+
+        final boolean negative = start < end && chars.charAt(start) == '-';
+        final int integerStart = negative ? start + 1 : start;
+        final int integerEnd = skipDigits(chars, integerStart, end);
+        if (integerEnd == integerStart) throw malformed(chars, start, end);
+
+        int fractionStart = integerEnd;
+        int fractionEnd = integerEnd;
+        if (fractionEnd < end && chars.charAt(fractionEnd) == '.') {
+            fractionStart = fractionEnd + 1;
+            fractionEnd = skipDigits(chars, fractionStart, end);
+            if (fractionEnd == fractionStart) throw malformed(chars, start, end);
+        }
+
+        int scale = -(fractionEnd - fractionStart);
+        int pos = fractionEnd;
+        if (pos < end && (chars.charAt(pos) == 'e' || chars.charAt(pos) == 'E')) {
+            pos++;
+            final boolean negativeExponent = pos < end && chars.charAt(pos) == '-';
+            if (pos < end && (chars.charAt(pos) == '-' || chars.charAt(pos) == '+')) pos++;
+            final int exponentStart = pos;
+            int exponent = 0;
+            for (; pos < end && isDigit(chars.charAt(pos)); pos++) {
+                // Any exponent this large overflows, or is fractional
+                if (exponent < 1_000) exponent = exponent * 10 + (chars.charAt(pos) - '0');
+            }
+            if (pos == exponentStart) throw malformed(chars, start, end);
+            scale += negativeExponent ? -exponent : exponent;
+        }
+        if (pos != end) throw malformed(chars, start, end);
+
+        // The digits of the integer and fraction are treated as one, with
+        // their trailing zeros moved into the scale
+        final int integerDigits = integerEnd - integerStart;
+        int last = integerDigits + (fractionEnd - fractionStart);
+        while (last > 0 && digitAt(chars, integerStart, integerDigits, fractionStart, last - 1) == 0) {
+            last--;
+            scale++;
+        }
+        int first = 0;
+        while (first < last && digitAt(chars, integerStart, integerDigits, fractionStart, first) == 0) {
+            first++;
+        }
+
+        if (first == last) return 0;
+        if (scale < 0) throw new ArithmeticException("Not an integer");
+        if (last - first + scale > 19) throw new ArithmeticException("long overflow");
+
+        // Accumulated negatively, as the range of a long is larger below zero
+        long value = 0;
+        for (int i = first; i < last; i++) {
+            value = Math.subtractExact(Math.multiplyExact(value, 10), digitAt(chars, integerStart, integerDigits, fractionStart, i));
+        }
+        for (int i = 0; i < scale; i++) {
+            value = Math.multiplyExact(value, 10);
+        }
+        return negative ? value : Math.negateExact(value);
+    }
+
+    // Numbers, as held by a JsonPrimitive - those boxed by the JDK are
+    // converted directly, and all others from their literal text
+
+    static int toInt(final Number number) {
+        if (isBoxed(number)) return number.intValue();
+        final String literal = number.toString();
+        return toInt(literal, 0, literal.length());
+    }
+
+    static long toLong(final Number number) {
+        if (isBoxed(number)) return number.longValue();
+        final String literal = number.toString();
+        return toLong(literal, 0, literal.length());
+    }
+
+    static double toDouble(final Number number) {
+        if (isBoxed(number)) return number.doubleValue();
+        return toDouble(number.toString());
+    }
+
+    static float toFloat(final Number number) {
+        if (isBoxed(number)) return number.floatValue();
+        return toFloat(number.toString());
+    }
+
+    static int toExactInt(final Number number) {
+        return Math.toIntExact(toExactLong(number));
+    }
+
+    static long toExactLong(final Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            return number.longValue();
+        }
+        if (number instanceof Double || number instanceof Float) {
+            return toExactLong(number.doubleValue());
+        }
+        return toExactLong(number.toString());
+    }
+
+    static long toExactLong(final double value) {
+        // Long.MIN_VALUE is exact as a double, and Long.MAX_VALUE rounds up past the range
+        if (value != Math.rint(value) || value < Long.MIN_VALUE || value >= -(double) Long.MIN_VALUE) {
+            throw new ArithmeticException("Not an exact long");
+        }
+        return (long) value;
+    }
+
+    private static boolean isBoxed(final Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Double ||
+                number instanceof Float || number instanceof Short || number instanceof Byte;
+    }
+
+    /**
+     * Establishes whether the literal is an integer that can be parsed
+     * without overflowing a long - an optional minus sign, followed by
+     * at most {@value #MAX_LONG_DIGITS} digits.
+     */
+    static boolean isSimpleLong(final CharSequence chars, final int start, final int end) {
+        final int digits = start < end && chars.charAt(start) == '-' ? start + 1 : start;
+        if (digits == end || end - digits > MAX_LONG_DIGITS) return false;
+        for (int i = digits; i < end; i++) {
+            if (!isDigit(chars.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static long parseSimpleLong(final CharSequence chars, final int start, final int end) {
+        final boolean negative = chars.charAt(start) == '-';
+        long value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            value = value * 10 + (chars.charAt(i) - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Establishes whether the literal is a plain decimal - without an
+     * exponent, and of at most {@value #MAX_EXACT_DECIMAL_DIGITS}
+     * significant digits - that is read back unchanged from the nearest
+     * double. Literals longer than {@value #MAX_SHORT_DECIMAL_LENGTH}
+     * characters are never considered, so any leading zeros can't take
+     * the value out of the normal range.
+     */
+    static boolean isShortDecimal(final CharSequence chars, final int start, final int end) {
+        if (end - start > MAX_SHORT_DECIMAL_LENGTH) return false;
+        int pos = start < end && chars.charAt(start) == '-' ? start + 1 : start;
+        final int integerEnd = skipDigits(chars, pos, end);
+        if (integerEnd == pos) return false;
+        pos = integerEnd;
+        if (pos < end && chars.charAt(pos) == '.') {
+            pos = skipDigits(chars, pos + 1, end);
+            if (pos == integerEnd + 1) return false;
+        }
+        if (pos != end) return false;
+        int significant = 0;
+        for (int i = start; i < end; i++) {
+            final char c = chars.charAt(i);
+            if (isDigit(c) && (significant != 0 || c != '0') && ++significant > MAX_EXACT_DECIMAL_DIGITS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the literal as a decimal mantissa and exponent, should they
+     * be within the given bounds - packed into a long, with the exponent
+     * in the low {@value #EXPONENT_BITS} bits. The sign is left to the
+     * caller.
+     *
+     * @return The packed decimal, or {@link #NOT_FAST} should the literal
+     *         be out of bounds, or not a plain JSON number
+     */
+    private static long parseDecimal(final CharSequence chars, final int start, final int end,
+            final long maxMantissa, final int maxExponent) {
+        int pos = start < end && chars.charAt(start) == '-' ? start + 1 : start;
+        long mantissa = 0;
+        int exponent = 0;
+
+        final int integerStart = pos;
+        for (; pos < end && isDigit(chars.charAt(pos)); pos++) {
+            mantissa = mantissa * 10 + (chars.charAt(pos) - '0');
+            if (mantissa > maxMantissa) return NOT_FAST;
+        }
+        if (pos == integerStart) return NOT_FAST;
+
+        if (pos < end && chars.charAt(pos) == '.') {
+            final int fractionStart = ++pos;
+            for (; pos < end && isDigit(chars.charAt(pos)); pos++) {
+                mantissa = mantissa * 10 + (chars.charAt(pos) - '0');
+                if (mantissa > maxMantissa) return NOT_FAST;
+                exponent--;
+            }
+            if (pos == fractionStart) return NOT_FAST;
+        }
+
+        if (pos < end && (chars.charAt(pos) == 'e' || chars.charAt(pos) == 'E')) {
+            pos++;
+            final boolean negative = pos < end && chars.charAt(pos) == '-';
+            if (pos < end && (chars.charAt(pos) == '-' || chars.charAt(pos) == '+')) pos++;
+            final int exponentStart = pos;
+            int value = 0;
+            for (; pos < end && isDigit(chars.charAt(pos)); pos++) {
+                value = value * 10 + (chars.charAt(pos) - '0');
+                if (value > maxExponent * 2) return NOT_FAST;
+            }
+            if (pos == exponentStart) return NOT_FAST;
+            exponent += negative ? -value : value;
+        }
+
+        if (pos != end || exponent < -maxExponent || exponent > maxExponent) return NOT_FAST;
+        return mantissa << EXPONENT_BITS | (exponent + EXPONENT_BIAS);
+    }
+
+    private static int digitAt(final CharSequence chars, final int integerStart, final int integerDigits,
+            final int fractionStart, final int index) {
+        return chars.charAt(index < integerDigits ? integerStart + index : fractionStart + index - integerDigits) - '0';
+    }
+
+    private static int skipDigits(final CharSequence chars, int pos, final int end) {
+        while (pos < end && isDigit(chars.charAt(pos))) pos++;
+        return pos;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static NumberFormatException malformed(final CharSequence chars, final int start, final int end) {
+        return new NumberFormatException("Malformed number: " + chars.subSequence(start, end));
+    }
+
+    private GsonNumbers() {
+    }
+
+}
@@ -27,10 +27,17 @@ package me.jamiemansfield.gsonsimple;
 
 import static me.jamiemansfield.gsonsimple.GsonRequirements.requireArray;
 import static me.jamiemansfield.gsonsimple.GsonRequirements.requireBoolean;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireBooleanArray;
 import static me.jamiemansfield.gsonsimple.GsonRequirements.requireDouble;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireDoubleArray;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireExactInt;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireExactLong;
 import static me.jamiemansfield.gsonsimple.GsonRequirements.requireFloat;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireFloatArray;
 import static me.jamiemansfield.gsonsimple.GsonRequirements.requireInt;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireIntArray;
 import static me.jamiemansfield.gsonsimple.GsonRequirements.requireLong;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireLongArray;
 import static me.jamiemansfield.gsonsimple.GsonRequirements.requireObject;
 import static me.jamiemansfield.gsonsimple.GsonRequirements.requireString;
 
@@ -58,8 +65,8 @@ public final class GsonObjects {
      * @throws JsonParseException If the object is missing the entry
      */
     public static JsonElement get(final JsonObject object, final String key) throws JsonParseException {
-        if (!object.has(key)) {
-            throw new JsonParseException("Object missing '" + key + "' entry!");
+        if (!lookedUp(key, object.has(key))) {
+            throw JsonValidationException.missingEntry(key);
         }
         return object.get(key);
     }
@@ -134,6 +141,42 @@ public final class GsonObjects {
         return requireInt(value, key);
     }
 
+    /**
+     * Gets an integer from the given {@link JsonObject object}, throwing a
+     * {@link JsonParseException} if not present, or if it can't be held
+     * exactly.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't
+     *                            an integer that can be held exactly
+     * @see GsonRequirements#requireExactInt(JsonElement, String)
+     * @since 0.2.0
+     */
+    public static int getExactInt(final JsonObject object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireExactInt(value, key);
+    }
+
+    /**
+     * Gets a long from the given {@link JsonObject object}, throwing a
+     * {@link JsonParseException} if not present, or if it can't be held
+     * exactly.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't
+     *                            a long that can be held exactly
+     * @see GsonRequirements#requireExactLong(JsonElement, String)
+     * @since 0.2.0
+     */
+    public static long getExactLong(final JsonObject object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireExactLong(value, key);
+    }
+
     /**
      * Gets a double from the given {@link JsonObject object}, throwing a
      * {@link JsonParseException} if not present.
@@ -176,6 +219,370 @@ public final class GsonObjects {
         return requireFloat(value, key);
     }
 
+    /**
+     * Gets an array of integers from the given {@link JsonObject object}, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't an integer
+     */
+    public static int[] getIntArray(final JsonObject object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireIntArray(value, key);
+    }
+
+    /**
+     * Gets an array of longs from the given {@link JsonObject object}, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a long
+     */
+    public static long[] getLongArray(final JsonObject object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireLongArray(value, key);
+    }
+
+    /**
+     * Gets an array of doubles from the given {@link JsonObject object}, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a double
+     */
+    public static double[] getDoubleArray(final JsonObject object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireDoubleArray(value, key);
+    }
+
+    /**
+     * Gets an array of floats from the given {@link JsonObject object}, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a float
+     */
+    public static float[] getFloatArray(final JsonObject object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireFloatArray(value, key);
+    }
+
+    /**
+     * Gets an array of booleans from the given {@link JsonObject object}, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a boolean
+     */
+    public static boolean[] getBooleanArray(final JsonObject object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireBooleanArray(value, key);
+    }
+
+    /**
+     * Gets an {@link JsonElement element} from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The JSON element
+     * @throws JsonParseException If the object is missing the entry
+     * @since 0.2.0
+     */
+    public static JsonElement get(final JsonObjectView object, final String key) throws JsonParseException {
+        final JsonElement value = object.get(key);
+        if (!lookedUp(key, value != null)) {
+            throw JsonValidationException.missingEntry(key);
+        }
+        return value;
+    }
+
+    /**
+     * Gets an {@link JsonObject object} from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The JSON object
+     * @throws JsonParseException If the object is missing the entry, or it isn't an object
+     * @since 0.2.0
+     */
+    public static JsonObject getObject(final JsonObjectView object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireObject(value, key);
+    }
+
+    /**
+     * Gets an {@link JsonArray array} from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The JSON array
+     * @throws JsonParseException If the object is missing the entry, or it isn't an array
+     * @since 0.2.0
+     */
+    public static JsonArray getArray(final JsonObjectView object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireArray(value, key);
+    }
+
+    /**
+     * Gets a string from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a string
+     * @since 0.2.0
+     */
+    public static String getString(final JsonObjectView object, final String key) throws JsonParseException {
+        final CompactObject compact = compact(object);
+        if (compact != null) return compact.getString(key);
+        final JsonElement value = get(object, key);
+        return requireString(value, key);
+    }
+
+    /**
+     * Gets a boolean from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a boolean
+     * @since 0.2.0
+     */
+    public static boolean getBoolean(final JsonObjectView object, final String key) throws JsonParseException {
+        final CompactObject compact = compact(object);
+        if (compact != null) return compact.getBoolean(key);
+        final JsonElement value = get(object, key);
+        return requireBoolean(value, key);
+    }
+
+    /**
+     * Gets an integer from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't an integer
+     * @since 0.2.0
+     */
+    public static int getInt(final JsonObjectView object, final String key) throws JsonParseException {
+        final CompactObject compact = compact(object);
+        if (compact != null) return compact.getInt(key);
+        final JsonElement value = get(object, key);
+        return requireInt(value, key);
+    }
+
+    /**
+     * Gets an integer from the given {@link JsonObjectView object}, throwing a
+     * {@link JsonParseException} if not present, or if it can't be held
+     * exactly.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't
+     *                            an integer that can be held exactly
+     * @see GsonRequirements#requireExactInt(JsonElement, String)
+     * @since 0.2.0
+     */
+    public static int getExactInt(final JsonObjectView object, final String key) throws JsonParseException {
+        final CompactObject compact = compact(object);
+        if (compact != null) return compact.getExactInt(key);
+        final JsonElement value = get(object, key);
+        return requireExactInt(value, key);
+    }
+
+    /**
+     * Gets a long from the given {@link JsonObjectView object}, throwing a
+     * {@link JsonParseException} if not present, or if it can't be held
+     * exactly.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't
+     *                            a long that can be held exactly
+     * @see GsonRequirements#requireExactLong(JsonElement, String)
+     * @since 0.2.0
+     */
+    public static long getExactLong(final JsonObjectView object, final String key) throws JsonParseException {
+        final CompactObject compact = compact(object);
+        if (compact != null) return compact.getExactLong(key);
+        final JsonElement value = get(object, key);
+        return requireExactLong(value, key);
+    }
+
+    /**
+     * Gets a double from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a double
+     * @since 0.2.0
+     */
+    public static double getDouble(final JsonObjectView object, final String key) throws JsonParseException {
+        final CompactObject compact = compact(object);
+        if (compact != null) return compact.getDouble(key);
+        final JsonElement value = get(object, key);
+        return requireDouble(value, key);
+    }
+
+    /**
+     * Gets a long from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a long
+     * @since 0.2.0
+     */
+    public static long getLong(final JsonObjectView object, final String key) throws JsonParseException {
+        final CompactObject compact = compact(object);
+        if (compact != null) return compact.getLong(key);
+        final JsonElement value = get(object, key);
+        return requireLong(value, key);
+    }
+
+    /**
+     * Gets a float from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a float
+     * @since 0.2.0
+     */
+    public static float getFloat(final JsonObjectView object, final String key) throws JsonParseException {
+        final CompactObject compact = compact(object);
+        if (compact != null) return compact.getFloat(key);
+        final JsonElement value = get(object, key);
+        return requireFloat(value, key);
+    }
+
+    /**
+     * Gets an array of integers from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't an integer
+     * @since 0.2.0
+     */
+    public static int[] getIntArray(final JsonObjectView object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireIntArray(value, key);
+    }
+
+    /**
+     * Gets an array of longs from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a long
+     * @since 0.2.0
+     */
+    public static long[] getLongArray(final JsonObjectView object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireLongArray(value, key);
+    }
+
+    /**
+     * Gets an array of doubles from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a double
+     * @since 0.2.0
+     */
+    public static double[] getDoubleArray(final JsonObjectView object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireDoubleArray(value, key);
+    }
+
+    /**
+     * Gets an array of floats from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a float
+     * @since 0.2.0
+     */
+    public static float[] getFloatArray(final JsonObjectView object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireFloatArray(value, key);
+    }
+
+    /**
+     * Gets an array of booleans from the given {@link JsonObjectView object},
+     * throwing a {@link JsonParseException} if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a boolean
+     * @since 0.2.0
+     */
+    public static boolean[] getBooleanArray(final JsonObjectView object, final String key) throws JsonParseException {
+        final JsonElement value = get(object, key);
+        return requireBooleanArray(value, key);
+    }
+
+    /**
+     * Gets the given object as a {@link CompactObject compact object}, should
+     * it be one and there be no {@link GsonListener listener} to report to -
+     * allowing its values to be read straight from their slots.
+     */
+    private static CompactObject compact(final JsonObjectView object) {
+        return object instanceof CompactObject && GsonInstrumentation.listener == null ? (CompactObject) object : null;
+    }
+
+    /**
+     * Reports a lookup to the registered {@link GsonListener listener},
+     * if any.
+     */
+    private static boolean lookedUp(final String key, final boolean found) {
+        final GsonListener listener = GsonInstrumentation.listener;
+        if (listener != null) listener.onLookup(key, found);
+        return found;
+    }
+
     private GsonObjects() {
     }
 
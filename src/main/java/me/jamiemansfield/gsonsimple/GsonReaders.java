@@ -0,0 +1,526 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Utility for reading typed values from a {@link JsonReader JSON reader},
+ * the streaming counterpart to {@link GsonRequirements} and
+ * {@link GsonObjects}.
+ * <p>
+ * Each of the {@code require} methods reads the next value from the
+ * reader, reporting the same errors as its {@link GsonRequirements}
+ * equivalent - allowing a {@link com.google.gson.TypeAdapter} to be
+ * written without first building a tree of the document.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class GsonReaders {
+
+    private static final int INITIAL_ARRAY_CAPACITY = 16;
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a
+     * {@link JsonObject JSON object}.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return A JSON object
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an object
+     * @see GsonRequirements#requireObject(JsonElement, String)
+     */
+    public static JsonObject requireObject(final JsonReader in, final String name) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token != JsonToken.BEGIN_OBJECT) {
+            throw JsonValidationException.unexpectedType(name, FieldType.OBJECT);
+        }
+        return JsonParser.parseReader(in).getAsJsonObject();
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a
+     * {@link JsonArray JSON array}.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return A JSON array
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an array
+     * @see GsonRequirements#requireArray(JsonElement, String)
+     */
+    public static JsonArray requireArray(final JsonReader in, final String name) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token != JsonToken.BEGIN_ARRAY) {
+            throw JsonValidationException.unexpectedType(name, FieldType.ARRAY);
+        }
+        return JsonParser.parseReader(in).getAsJsonArray();
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a string.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't a string
+     * @see GsonRequirements#requireString(JsonElement, String)
+     */
+    public static String requireString(final JsonReader in, final String name) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token != JsonToken.STRING) {
+            throw JsonValidationException.unexpectedType(name, FieldType.STRING);
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a string,
+     * deduplicating it through the given {@link StringPool pool}.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @param pool The string pool
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't a string
+     */
+    public static String requireString(final JsonReader in, final String name, final StringPool pool) throws IOException {
+        final String value = requireString(in, name);
+        return value == null ? null : pool.intern(value);
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a boolean.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't a boolean
+     * @see GsonRequirements#requireBoolean(JsonElement, String)
+     */
+    public static boolean requireBoolean(final JsonReader in, final String name) throws IOException {
+        if (in.peek() != JsonToken.BOOLEAN) {
+            throw JsonValidationException.unexpectedType(name, FieldType.BOOLEAN);
+        }
+        return in.nextBoolean();
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as an integer.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an integer
+     * @see GsonRequirements#requireInt(JsonElement, String)
+     */
+    public static int requireInt(final JsonReader in, final String name) throws IOException {
+        if (in.peek() != JsonToken.NUMBER) {
+            throw JsonValidationException.unexpectedType(name, FieldType.INT);
+        }
+        return nextInt(in);
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a long.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't a long
+     * @see GsonRequirements#requireLong(JsonElement, String)
+     */
+    public static long requireLong(final JsonReader in, final String name) throws IOException {
+        if (in.peek() != JsonToken.NUMBER) {
+            throw JsonValidationException.unexpectedType(name, FieldType.LONG);
+        }
+        return nextLong(in);
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as an integer,
+     * rejecting any value that can't be held exactly.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an integer, or can't be
+     *                            held exactly by one
+     * @see GsonRequirements#requireExactInt(JsonElement, String)
+     */
+    public static int requireExactInt(final JsonReader in, final String name) throws IOException {
+        if (in.peek() != JsonToken.NUMBER) {
+            throw JsonValidationException.unexpectedType(name, FieldType.INT);
+        }
+        try {
+            return GsonNumbers.toExactInt(in.nextString());
+        } catch (final ArithmeticException | NumberFormatException ex) {
+            throw JsonValidationException.inexactNumber(name, FieldType.INT);
+        }
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a long,
+     * rejecting any value that can't be held exactly.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't a long, or can't be
+     *                            held exactly by one
+     * @see GsonRequirements#requireExactLong(JsonElement, String)
+     */
+    public static long requireExactLong(final JsonReader in, final String name) throws IOException {
+        if (in.peek() != JsonToken.NUMBER) {
+            throw JsonValidationException.unexpectedType(name, FieldType.LONG);
+        }
+        try {
+            return GsonNumbers.toExactLong(in.nextString());
+        } catch (final ArithmeticException | NumberFormatException ex) {
+            throw JsonValidationException.inexactNumber(name, FieldType.LONG);
+        }
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a double.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't a double
+     * @see GsonRequirements#requireDouble(JsonElement, String)
+     */
+    public static double requireDouble(final JsonReader in, final String name) throws IOException {
+        if (in.peek() != JsonToken.NUMBER) {
+            throw JsonValidationException.unexpectedType(name, FieldType.DOUBLE);
+        }
+        return GsonNumbers.toDouble(in.nextString());
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as a float.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The value
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't a float
+     * @see GsonRequirements#requireFloat(JsonElement, String)
+     */
+    public static float requireFloat(final JsonReader in, final String name) throws IOException {
+        if (in.peek() != JsonToken.NUMBER) {
+            throw JsonValidationException.unexpectedType(name, FieldType.FLOAT);
+        }
+        return GsonNumbers.toFloat(in.nextString());
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as an array
+     * of integers, without creating an intermediary {@link JsonArray}.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The values
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an array, or any of its
+     *                            values isn't an integer
+     * @see GsonRequirements#requireIntArray(JsonElement, String)
+     */
+    public static int[] requireIntArray(final JsonReader in, final String name) throws IOException {
+        if (!beginArray(in, name)) return null;
+
+        int[] values = new int[INITIAL_ARRAY_CAPACITY];
+        int size = 0;
+        while (in.hasNext()) {
+            if (in.peek() != JsonToken.NUMBER) {
+                throw JsonValidationException.unexpectedType(GsonRequirements.indexed(name, size), FieldType.INT);
+            }
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size++] = nextInt(in);
+        }
+        in.endArray();
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as an array
+     * of longs, without creating an intermediary {@link JsonArray}.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The values
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an array, or any of its
+     *                            values isn't a long
+     * @see GsonRequirements#requireLongArray(JsonElement, String)
+     */
+    public static long[] requireLongArray(final JsonReader in, final String name) throws IOException {
+        if (!beginArray(in, name)) return null;
+
+        long[] values = new long[INITIAL_ARRAY_CAPACITY];
+        int size = 0;
+        while (in.hasNext()) {
+            if (in.peek() != JsonToken.NUMBER) {
+                throw JsonValidationException.unexpectedType(GsonRequirements.indexed(name, size), FieldType.LONG);
+            }
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size++] = nextLong(in);
+        }
+        in.endArray();
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as an array
+     * of doubles, without creating an intermediary {@link JsonArray}.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The values
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an array, or any of its
+     *                            values isn't a double
+     * @see GsonRequirements#requireDoubleArray(JsonElement, String)
+     */
+    public static double[] requireDoubleArray(final JsonReader in, final String name) throws IOException {
+        if (!beginArray(in, name)) return null;
+
+        double[] values = new double[INITIAL_ARRAY_CAPACITY];
+        int size = 0;
+        while (in.hasNext()) {
+            if (in.peek() != JsonToken.NUMBER) {
+                throw JsonValidationException.unexpectedType(GsonRequirements.indexed(name, size), FieldType.DOUBLE);
+            }
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size++] = GsonNumbers.toDouble(in.nextString());
+        }
+        in.endArray();
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as an array
+     * of floats, without creating an intermediary {@link JsonArray}.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The values
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an array, or any of its
+     *                            values isn't a float
+     * @see GsonRequirements#requireFloatArray(JsonElement, String)
+     */
+    public static float[] requireFloatArray(final JsonReader in, final String name) throws IOException {
+        if (!beginArray(in, name)) return null;
+
+        float[] values = new float[INITIAL_ARRAY_CAPACITY];
+        int size = 0;
+        while (in.hasNext()) {
+            if (in.peek() != JsonToken.NUMBER) {
+                throw JsonValidationException.unexpectedType(GsonRequirements.indexed(name, size), FieldType.FLOAT);
+            }
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size++] = GsonNumbers.toFloat(in.nextString());
+        }
+        in.endArray();
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the next value of the {@link JsonReader reader} as an array
+     * of booleans, without creating an intermediary {@link JsonArray}.
+     *
+     * @param in The JSON reader
+     * @param name The name of the value
+     * @return The values
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the value isn't an array, or any of its
+     *                            values isn't a boolean
+     * @see GsonRequirements#requireBooleanArray(JsonElement, String)
+     */
+    public static boolean[] requireBooleanArray(final JsonReader in, final String name) throws IOException {
+        if (!beginArray(in, name)) return null;
+
+        boolean[] values = new boolean[INITIAL_ARRAY_CAPACITY];
+        int size = 0;
+        while (in.hasNext()) {
+            if (in.peek() != JsonToken.BOOLEAN) {
+                throw JsonValidationException.unexpectedType(GsonRequirements.indexed(name, size), FieldType.BOOLEAN);
+            }
+            if (size == values.length) values = Arrays.copyOf(values, size << 1);
+            values[size++] = in.nextBoolean();
+        }
+        in.endArray();
+
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads the next object from the {@link JsonReader reader}, in a single
+     * pass, retaining only the entries with the given keys - all other
+     * entries are skipped without being read into memory.
+     *
+     * @param in The JSON reader
+     * @param keys The keys of the entries to retain
+     * @return The retained entries of the object
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws IllegalStateException If the next value isn't an object
+     */
+    public static StreamedObject readObject(final JsonReader in, final String... keys) throws IOException {
+        final JsonElement[] values = new JsonElement[keys.length];
+
+        in.beginObject();
+        while (in.hasNext()) {
+            final int index = StreamedObject.indexOf(keys, in.nextName());
+            if (index == -1) {
+                in.skipValue();
+                continue;
+            }
+            values[index] = JsonParser.parseReader(in);
+        }
+        in.endObject();
+
+        return new StreamedObject(keys, values);
+    }
+
+    /**
+     * Reads the next value from the {@link JsonReader reader} into a
+     * {@link JsonElement JSON element}, deduplicating its keys and
+     * string values through the given {@link StringPool pool} - for
+     * documents that are retained, where repeated strings would
+     * otherwise each be held separately.
+     * <p>
+     * Unlike {@link JsonParser#parseReader(JsonReader)}, the leniency of
+     * the reader is left unchanged.
+     *
+     * @param in The JSON reader
+     * @param pool The string pool
+     * @return The JSON element
+     * @throws IOException If an I/O error occurs reading from the reader
+     */
+    public static JsonElement readElement(final JsonReader in, final StringPool pool) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_OBJECT: {
+                final JsonObject object = new JsonObject();
+                in.beginObject();
+                while (in.hasNext()) {
+                    final String key = pool.intern(in.nextName());
+                    object.add(key, readElement(in, pool));
+                }
+                in.endObject();
+                return object;
+            }
+            case BEGIN_ARRAY: {
+                final JsonArray array = new JsonArray();
+                in.beginArray();
+                while (in.hasNext()) {
+                    array.add(readElement(in, pool));
+                }
+                in.endArray();
+                return array;
+            }
+            case STRING:
+                return new JsonPrimitive(pool.intern(in.nextString()));
+            case NUMBER:
+                return new JsonPrimitive(new NumberLiteral(in.nextString()));
+            case BOOLEAN:
+                return new JsonPrimitive(in.nextBoolean());
+            case NULL:
+                in.nextNull();
+                return JsonNull.INSTANCE;
+            default:
+                throw new IllegalStateException("Expected a value but was " + in.peek() + " at " + in.getPath());
+        }
+    }
+
+    private static boolean beginArray(final JsonReader in, final String name) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        if (token != JsonToken.BEGIN_ARRAY) {
+            throw JsonValidationException.unexpectedType(name, FieldType.ARRAY);
+        }
+        in.beginArray();
+        return true;
+    }
+
+    // Numbers are converted in the same manner as by JsonPrimitive, so
+    // that reading from a stream gives the same results as from a tree.
+    // Values are always read from their text, rather than through
+    // JsonReader#nextLong, which rounds non-integral literals through a
+    // double - where the tree truncates them exactly.
+
+    private static int nextInt(final JsonReader in) throws IOException {
+        return GsonNumbers.toInt(in.nextString());
+    }
+
+    private static long nextLong(final JsonReader in) throws IOException {
+        return GsonNumbers.toLong(in.nextString());
+    }
+
+    private GsonReaders() {
+    }
+
+}
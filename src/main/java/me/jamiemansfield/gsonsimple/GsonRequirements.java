@@ -52,8 +52,8 @@ public final class GsonRequirements {
      */
     public static JsonObject requireObject(final JsonElement element, final String name) throws JsonParseException {
         if (element.isJsonNull()) return null;
-        if (!element.isJsonObject()) {
-            throw new JsonParseException("Expected '" + name + "' to be an object!");
+        if (mismatched(!element.isJsonObject(), name, FieldType.OBJECT)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.OBJECT);
         }
         return element.getAsJsonObject();
     }
@@ -68,8 +68,8 @@ public final class GsonRequirements {
      */
     public static JsonArray requireArray(final JsonElement element, final String name) throws JsonParseException {
         if (element.isJsonNull()) return null;
-        if (!element.isJsonArray()) {
-            throw new JsonParseException("Expected '" + name + "' to be an array!");
+        if (mismatched(!element.isJsonArray(), name, FieldType.ARRAY)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.ARRAY);
         }
         return element.getAsJsonArray();
     }
@@ -84,8 +84,8 @@ public final class GsonRequirements {
      */
     public static String requireString(final JsonElement element, final String name) throws JsonParseException {
         if (element.isJsonNull()) return null;
-        if (!isString(element)) {
-            throw new JsonParseException("Expected '" + name + "' to be a string!");
+        if (mismatched(!isString(element), name, FieldType.STRING)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.STRING);
         }
         return element.getAsString();
     }
@@ -99,8 +99,8 @@ public final class GsonRequirements {
      * @throws JsonParseException If the element isn't a boolean
      */
     public static boolean requireBoolean(final JsonElement element, final String name) throws JsonParseException {
-        if (!isBoolean(element)) {
-            throw new JsonParseException("Expected '" + name + "' to be a boolean!");
+        if (mismatched(!isBoolean(element), name, FieldType.BOOLEAN)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.BOOLEAN);
         }
         return element.getAsBoolean();
     }
@@ -114,10 +114,10 @@ public final class GsonRequirements {
      * @throws JsonParseException If the element isn't an integer
      */
     public static int requireInt(final JsonElement element, final String name) throws JsonParseException {
-        if (!isNumber(element)) {
-            throw new JsonParseException("Expected '" + name + "' to be an integer!");
+        if (mismatched(!isNumber(element), name, FieldType.INT)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.INT);
         }
-        return element.getAsInt();
+        return GsonNumbers.toInt(element.getAsNumber());
     }
 
     /**
@@ -129,10 +129,62 @@ public final class GsonRequirements {
      * @throws JsonParseException If the element isn't a long
      */
     public static long requireLong(final JsonElement element, final String name) throws JsonParseException {
-        if (!isNumber(element)) {
-            throw new JsonParseException("Expected '" + name + "' to be a long!");
+        if (mismatched(!isNumber(element), name, FieldType.LONG)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.LONG);
+        }
+        return GsonNumbers.toLong(element.getAsNumber());
+    }
+
+    /**
+     * Gets the {@link JsonElement} as an integer, rejecting any value that
+     * can't be held exactly - unlike {@link #requireInt(JsonElement, String)},
+     * which truncates fractions and wraps values out of range.
+     * <p>
+     * Values with integral fractions or exponents, such as {@code 1.0} or
+     * {@code 1e3}, are accepted.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value
+     * @throws JsonParseException If the element isn't an integer, or can't be
+     *                            held exactly by one
+     * @since 0.2.0
+     */
+    public static int requireExactInt(final JsonElement element, final String name) throws JsonParseException {
+        if (mismatched(!isNumber(element), name, FieldType.INT)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.INT);
+        }
+        try {
+            return GsonNumbers.toExactInt(element.getAsNumber());
+        } catch (final ArithmeticException | NumberFormatException ex) {
+            throw JsonValidationException.inexactNumber(name, FieldType.INT);
+        }
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a long, rejecting any value that
+     * can't be held exactly - unlike {@link #requireLong(JsonElement, String)},
+     * which truncates fractions and wraps values out of range.
+     * <p>
+     * Values with integral fractions or exponents, such as {@code 1.0} or
+     * {@code 1e3}, are accepted.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value
+     * @throws JsonParseException If the element isn't a long, or can't be
+     *                            held exactly by one
+     * @since 0.2.0
+     */
+    public static long requireExactLong(final JsonElement element, final String name) throws JsonParseException {
+        if (mismatched(!isNumber(element), name, FieldType.LONG)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.LONG);
+        }
+        try {
+            return GsonNumbers.toExactLong(element.getAsNumber());
+        } catch (final ArithmeticException | NumberFormatException ex) {
+            throw JsonValidationException.inexactNumber(name, FieldType.LONG);
         }
-        return element.getAsLong();
     }
 
     /**
@@ -144,10 +196,10 @@ public final class GsonRequirements {
      * @throws JsonParseException If the element isn't a double
      */
     public static double requireDouble(final JsonElement element, final String name) throws JsonParseException {
-        if (!isNumber(element)) {
-            throw new JsonParseException("Expected '" + name + "' to be a double!");
+        if (mismatched(!isNumber(element), name, FieldType.DOUBLE)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.DOUBLE);
         }
-        return element.getAsDouble();
+        return GsonNumbers.toDouble(element.getAsNumber());
     }
 
     /**
@@ -159,10 +211,144 @@ public final class GsonRequirements {
      * @throws JsonParseException If the element isn't a float
      */
     public static float requireFloat(final JsonElement element, final String name) throws JsonParseException {
-        if (!isNumber(element)) {
-            throw new JsonParseException("Expected '" + name + "' to be a float!");
+        if (mismatched(!isNumber(element), name, FieldType.FLOAT)) {
+            throw JsonValidationException.unexpectedType(name, FieldType.FLOAT);
+        }
+        return GsonNumbers.toFloat(element.getAsNumber());
+    }
+
+    /**
+     * Gets the {@link JsonElement} as an array of integers.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The values
+     * @throws JsonParseException If the element isn't an array, or any of its
+     *                            values isn't an integer
+     */
+    public static int[] requireIntArray(final JsonElement element, final String name) throws JsonParseException {
+        final JsonArray array = requireArray(element, name);
+        if (array == null) return null;
+
+        final int[] values = new int[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            final JsonElement value = array.get(i);
+            if (!isNumber(value)) {
+                throw JsonValidationException.unexpectedType(indexed(name, i), FieldType.INT);
+            }
+            values[i] = GsonNumbers.toInt(value.getAsNumber());
         }
-        return element.getAsFloat();
+        return values;
+    }
+
+    /**
+     * Gets the {@link JsonElement} as an array of longs.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The values
+     * @throws JsonParseException If the element isn't an array, or any of its
+     *                            values isn't a long
+     */
+    public static long[] requireLongArray(final JsonElement element, final String name) throws JsonParseException {
+        final JsonArray array = requireArray(element, name);
+        if (array == null) return null;
+
+        final long[] values = new long[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            final JsonElement value = array.get(i);
+            if (!isNumber(value)) {
+                throw JsonValidationException.unexpectedType(indexed(name, i), FieldType.LONG);
+            }
+            values[i] = GsonNumbers.toLong(value.getAsNumber());
+        }
+        return values;
+    }
+
+    /**
+     * Gets the {@link JsonElement} as an array of doubles.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The values
+     * @throws JsonParseException If the element isn't an array, or any of its
+     *                            values isn't a double
+     */
+    public static double[] requireDoubleArray(final JsonElement element, final String name) throws JsonParseException {
+        final JsonArray array = requireArray(element, name);
+        if (array == null) return null;
+
+        final double[] values = new double[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            final JsonElement value = array.get(i);
+            if (!isNumber(value)) {
+                throw JsonValidationException.unexpectedType(indexed(name, i), FieldType.DOUBLE);
+            }
+            values[i] = GsonNumbers.toDouble(value.getAsNumber());
+        }
+        return values;
+    }
+
+    /**
+     * Gets the {@link JsonElement} as an array of floats.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The values
+     * @throws JsonParseException If the element isn't an array, or any of its
+     *                            values isn't a float
+     */
+    public static float[] requireFloatArray(final JsonElement element, final String name) throws JsonParseException {
+        final JsonArray array = requireArray(element, name);
+        if (array == null) return null;
+
+        final float[] values = new float[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            final JsonElement value = array.get(i);
+            if (!isNumber(value)) {
+                throw JsonValidationException.unexpectedType(indexed(name, i), FieldType.FLOAT);
+            }
+            values[i] = GsonNumbers.toFloat(value.getAsNumber());
+        }
+        return values;
+    }
+
+    /**
+     * Gets the {@link JsonElement} as an array of booleans.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The values
+     * @throws JsonParseException If the element isn't an array, or any of its
+     *                            values isn't a boolean
+     */
+    public static boolean[] requireBooleanArray(final JsonElement element, final String name) throws JsonParseException {
+        final JsonArray array = requireArray(element, name);
+        if (array == null) return null;
+
+        final boolean[] values = new boolean[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            final JsonElement value = array.get(i);
+            if (!isBoolean(value)) {
+                throw JsonValidationException.unexpectedType(indexed(name, i), FieldType.BOOLEAN);
+            }
+            values[i] = value.getAsBoolean();
+        }
+        return values;
+    }
+
+    /**
+     * Reports a check of the type of a value to the registered
+     * {@link GsonListener listener}, if any.
+     */
+    private static boolean mismatched(final boolean mismatched, final String name, final FieldType type) {
+        final GsonListener listener = GsonInstrumentation.listener;
+        if (listener != null) listener.onTypeCheck(name, type, !mismatched);
+        return mismatched;
+    }
+
+    static String indexed(final String name, final int index) {
+        return name + '[' + index + ']';
     }
 
     private GsonRequirements() {
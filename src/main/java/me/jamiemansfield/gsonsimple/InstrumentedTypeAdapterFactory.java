@@ -0,0 +1,283 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.FilterReader;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A {@link TypeAdapterFactory type adapter factory} that records the
+ * latency of reading and writing each type, by wrapping the adapter
+ * that would otherwise be used.
+ * <p>
+ * The factory must be registered before any factory whose adapters are
+ * to be instrumented - the first, to instrument every type. Latencies are
+ * inclusive of any nested types, which are recorded separately.
+ * <pre>{@code
+ * final InstrumentedTypeAdapterFactory instrumentation = new InstrumentedTypeAdapterFactory();
+ * final Gson gson = new GsonBuilder()
+ *         .registerTypeAdapterFactory(instrumentation)
+ *         .create();
+ *
+ * final Order order = gson.fromJson(instrumentation.countReader(reader), Order.class);
+ * final LatencyHistogram latency = instrumentation.getReadLatency(TypeToken.get(Order.class));
+ * }</pre>
+ * <p>
+ * The volume of JSON processed is recorded by reading and writing through
+ * the readers and writers it {@link #countReader(Reader) wraps} - as
+ * {@link JsonReader} reads ahead of the values it returns, this is
+ * recorded as a total rather than for each type.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class InstrumentedTypeAdapterFactory implements TypeAdapterFactory {
+
+    private final Predicate<? super TypeToken<?>> filter;
+    private final ConcurrentMap<TypeToken<?>, LatencyHistogram> reads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TypeToken<?>, LatencyHistogram> writes = new ConcurrentHashMap<>();
+    private final LongAdder charsRead = new LongAdder();
+    private final LongAdder charsWritten = new LongAdder();
+
+    /**
+     * Creates a factory that instruments every type.
+     */
+    public InstrumentedTypeAdapterFactory() {
+        this(type -> true);
+    }
+
+    /**
+     * Creates a factory that instruments the types accepted by the
+     * given filter - allowing simple types, where timing would cost more
+     * than it measures, to be excluded.
+     *
+     * @param filter The filter of types to instrument
+     */
+    public InstrumentedTypeAdapterFactory(final Predicate<? super TypeToken<?>> filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        if (!this.filter.test(type)) return null;
+
+        final TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        if (delegate == null) return null;
+        return new InstrumentedTypeAdapter<>(
+                delegate,
+                this.reads.computeIfAbsent(type, k -> new LatencyHistogram()),
+                this.writes.computeIfAbsent(type, k -> new LatencyHistogram())
+        );
+    }
+
+    /**
+     * Gets the latencies of reading the given type.
+     *
+     * @param type The type
+     * @return The latencies, or {@code null} if the type hasn't
+     *         been instrumented
+     */
+    public LatencyHistogram getReadLatency(final TypeToken<?> type) {
+        return this.reads.get(type);
+    }
+
+    /**
+     * Gets the latencies of writing the given type.
+     *
+     * @param type The type
+     * @return The latencies, or {@code null} if the type hasn't
+     *         been instrumented
+     */
+    public LatencyHistogram getWriteLatency(final TypeToken<?> type) {
+        return this.writes.get(type);
+    }
+
+    /**
+     * Gets the types that have been instrumented.
+     *
+     * @return The instrumented types
+     */
+    public Set<TypeToken<?>> getTypes() {
+        return Collections.unmodifiableSet(this.reads.keySet());
+    }
+
+    /**
+     * Wraps the given reader, so that the characters read through it
+     * are counted towards {@link #getCharsRead()}.
+     *
+     * @param reader The reader
+     * @return The counting reader
+     */
+    public Reader countReader(final Reader reader) {
+        return new CountingReader(reader, this.charsRead);
+    }
+
+    /**
+     * Wraps the given writer, so that the characters written through it
+     * are counted towards {@link #getCharsWritten()}.
+     *
+     * @param writer The writer
+     * @return The counting writer
+     */
+    public Writer countWriter(final Writer writer) {
+        return new CountingWriter(writer, this.charsWritten);
+    }
+
+    /**
+     * Gets the number of characters read through {@link #countReader(Reader)
+     * counting readers}.
+     *
+     * @return The number of characters read
+     */
+    public long getCharsRead() {
+        return this.charsRead.sum();
+    }
+
+    /**
+     * Gets the number of characters written through
+     * {@link #countWriter(Writer) counting writers}.
+     *
+     * @return The number of characters written
+     */
+    public long getCharsWritten() {
+        return this.charsWritten.sum();
+    }
+
+    /**
+     * Removes all of the latencies and counts recorded.
+     */
+    public void reset() {
+        this.reads.values().forEach(LatencyHistogram::reset);
+        this.writes.values().forEach(LatencyHistogram::reset);
+        this.charsRead.reset();
+        this.charsWritten.reset();
+    }
+
+    private static final class InstrumentedTypeAdapter<T> extends TypeAdapter<T> {
+
+        private final TypeAdapter<T> delegate;
+        private final LatencyHistogram reads;
+        private final LatencyHistogram writes;
+
+        InstrumentedTypeAdapter(final TypeAdapter<T> delegate, final LatencyHistogram reads, final LatencyHistogram writes) {
+            this.delegate = delegate;
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        @Override
+        public void write(final JsonWriter out, final T value) throws IOException {
+            final long start = System.nanoTime();
+            try {
+                this.delegate.write(out, value);
+            } finally {
+                this.writes.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public T read(final JsonReader in) throws IOException {
+            final long start = System.nanoTime();
+            try {
+                return this.delegate.read(in);
+            } finally {
+                this.reads.record(System.nanoTime() - start);
+            }
+        }
+
+    }
+
+    private static final class CountingReader extends FilterReader {
+
+        private final LongAdder count;
+
+        CountingReader(final Reader in, final LongAdder count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int c = super.read();
+            if (c != -1) this.count.increment();
+            return c;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            final int read = super.read(cbuf, off, len);
+            if (read > 0) this.count.add(read);
+            return read;
+        }
+
+    }
+
+    private static final class CountingWriter extends FilterWriter {
+
+        private final LongAdder count;
+
+        CountingWriter(final Writer out, final LongAdder count) {
+            super(out);
+            this.count = count;
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            super.write(c);
+            this.count.increment();
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            super.write(cbuf, off, len);
+            this.count.add(len);
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            super.write(str, off, len);
+            this.count.add(len);
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JsonPushHandler push handler} that builds the values found at
+ * a given depth into {@link JsonElement elements}, handing each on as
+ * soon as it is complete. Values shallower than the depth are skipped
+ * over - so the elements of a top-level array, at a depth of one, are
+ * handed on one at a time without the array itself being built.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class JsonElementAssembler implements JsonPushHandler {
+
+    private final int depth;
+    private final Consumer<? super JsonElement> consumer;
+
+    // The containers being built, and the key of the entry being read
+    private final List<JsonElement> containers = new ArrayList<>();
+    private String name;
+    private int level;
+
+    JsonElementAssembler(final int depth, final Consumer<? super JsonElement> consumer) {
+        if (depth < 0) throw new IllegalArgumentException("Depth must not be negative!");
+        this.depth = depth;
+        this.consumer = consumer;
+    }
+
+    private void value(final JsonElement value) {
+        if (this.level == this.depth) {
+            this.consumer.accept(value);
+            return;
+        }
+
+        final JsonElement container = this.containers.get(this.containers.size() - 1);
+        if (container.isJsonObject()) {
+            container.getAsJsonObject().add(this.name, value);
+        } else {
+            container.getAsJsonArray().add(value);
+        }
+    }
+
+    private void begin(final JsonElement container) {
+        if (this.level >= this.depth) {
+            if (this.level > this.depth) this.value(container);
+            this.containers.add(container);
+        }
+        this.level++;
+    }
+
+    private void end() {
+        this.level--;
+        if (this.level >= this.depth) {
+            final JsonElement container = this.containers.remove(this.containers.size() - 1);
+            if (this.level == this.depth) this.consumer.accept(container);
+        }
+    }
+
+    @Override
+    public void onBeginObject() {
+        this.begin(this.level >= this.depth ? new JsonObject() : null);
+    }
+
+    @Override
+    public void onEndObject() {
+        this.end();
+    }
+
+    @Override
+    public void onBeginArray() {
+        this.begin(this.level >= this.depth ? new JsonArray() : null);
+    }
+
+    @Override
+    public void onEndArray() {
+        this.end();
+    }
+
+    @Override
+    public void onName(final String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void onString(final String value) {
+        if (this.level >= this.depth) this.value(new JsonPrimitive(value));
+    }
+
+    @Override
+    public void onNumber(final Number value) {
+        if (this.level >= this.depth) this.value(new JsonPrimitive(value));
+    }
+
+    @Override
+    public void onBoolean(final boolean value) {
+        if (this.level >= this.depth) this.value(new JsonPrimitive(value));
+    }
+
+    @Override
+    public void onNull() {
+        if (this.level >= this.depth) this.value(JsonNull.INSTANCE);
+    }
+
+}
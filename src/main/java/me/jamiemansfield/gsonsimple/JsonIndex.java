@@ -0,0 +1,588 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+
+import java.util.Arrays;
+
+/**
+ * A structural index over the raw text of a JSON document, recording
+ * where each value begins and ends - without decoding any of them.
+ * <p>
+ * The index is a flat "tape" of tokens, in document order. Each token
+ * has a type, along with a start and end:
+ * <ul>
+ *     <li>For strings, the range of their contents (excluding quotes).</li>
+ *     <li>For numbers and literals, the range of their text.</li>
+ *     <li>For objects and arrays, the offset of their opening bracket, and
+ *     the index of the token following their last - allowing them to be
+ *     skipped over in one step.</li>
+ * </ul>
+ * An object's tokens alternate between its keys and values.
+ * <p>
+ * The index is independent of how the text is held, with implementations
+ * for {@link CharJsonIndex characters} and {@link Utf8JsonIndex UTF-8
+ * bytes}. As every structural character of JSON is ASCII, the text is
+ * scanned one unit at a time - either a {@code char}, or a byte. The
+ * text is exposed as a {@link CharSequence} of those units, allowing
+ * numbers to be read straight from it.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+abstract class JsonIndex implements CharSequence {
+
+    static final byte OBJECT = 1;
+    static final byte ARRAY = 2;
+    static final byte STRING = 3;
+    static final byte ESCAPED_STRING = 4;
+    static final byte NUMBER = 5;
+    static final byte TRUE = 6;
+    static final byte FALSE = 7;
+    static final byte NULL = 8;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int INITIAL_DEPTH = 16;
+    private static final int MAX_RETAINED_DEPTH = 1 << 10;
+
+    int length;
+
+    byte[] types = new byte[INITIAL_CAPACITY];
+    int[] starts = new int[INITIAL_CAPACITY];
+    int[] ends = new int[INITIAL_CAPACITY];
+    int size;
+
+    // Scanner state
+    private int[] stack = new int[INITIAL_DEPTH];
+    private int depth;
+    private boolean opened;
+
+    /**
+     * Gets the unit of text at the given offset - which, for any ASCII
+     * character, is that character.
+     *
+     * @param pos The offset, within the length of the text
+     * @return The unit of text
+     */
+    @Override
+    public abstract char charAt(int pos);
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return this.text(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return this.text(0, this.length);
+    }
+
+    /**
+     * Decodes the given range of the text, without interpreting any
+     * escape sequences.
+     *
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @return The decoded text
+     */
+    abstract String text(int start, int end);
+
+    /**
+     * Scans the text, building the index. This must be called by
+     * implementations once they are able to read their text - and may
+     * be called again, once their text has been replaced, to reuse the
+     * index for another document.
+     *
+     * @param length The length of the text
+     */
+    final void index(final int length) {
+        this.length = length;
+        this.size = 0;
+        this.depth = 0;
+        this.opened = false;
+        this.scan();
+    }
+
+    /**
+     * Takes on the length of new text, without scanning it - leaving the
+     * tape empty, for a reader that scans only the parts of the text it
+     * needs, such as a {@link Projection}.
+     *
+     * @param length The length of the text
+     */
+    final void load(final int length) {
+        this.length = length;
+        this.size = 0;
+        this.depth = 0;
+        this.opened = false;
+    }
+
+    /**
+     * Discards the tape of the index, should it have grown beyond the
+     * given number of tokens - such that an index being reused doesn't
+     * hold on to the memory of the largest document it has seen. The
+     * scanner's stack is likewise discarded, should it have grown
+     * unusually deep.
+     *
+     * @param maxTokens The most tokens to retain capacity for
+     */
+    final void trim(final int maxTokens) {
+        if (this.stack.length > MAX_RETAINED_DEPTH) this.stack = new int[INITIAL_DEPTH];
+        if (this.types.length <= maxTokens) return;
+        this.types = new byte[INITIAL_CAPACITY];
+        this.starts = new int[INITIAL_CAPACITY];
+        this.ends = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Gets the index of the token following the given token, and
+     * everything nested within it.
+     *
+     * @param token The token
+     * @return The next token
+     */
+    int next(final int token) {
+        final byte type = this.types[token];
+        return type == OBJECT || type == ARRAY ? this.ends[token] : token + 1;
+    }
+
+    /**
+     * Establishes whether the given string token is equal to the key.
+     *
+     * @param token The string token
+     * @param key The key
+     * @return {@code true} if the token is equal to the key;
+     *         otherwise {@code false}
+     */
+    boolean matches(final int token, final String key) {
+        final int start = this.starts[token];
+        final int end = this.ends[token];
+        if (this.types[token] == ESCAPED_STRING) {
+            return this.string(token).equals(key);
+        }
+
+        return this.regionMatches(start, end, key);
+    }
+
+    /**
+     * Establishes whether the given range of the text, which has no
+     * escape sequences, is equal to the key.
+     *
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @param key The key
+     * @return {@code true} if the range is equal to the key;
+     *         otherwise {@code false}
+     */
+    abstract boolean regionMatches(int start, int end, String key);
+
+    /**
+     * Decodes the given string token.
+     *
+     * @param token The string token
+     * @return The decoded string
+     */
+    String string(final int token) {
+        return this.string(token, null);
+    }
+
+    /**
+     * Decodes the given string token, deduplicating it through the
+     * given pool.
+     *
+     * @param token The string token
+     * @param pool The string pool, or {@code null} for none
+     * @return The decoded string
+     */
+    String string(final int token, final StringPool pool) {
+        final int start = this.starts[token];
+        final int end = this.ends[token];
+        if (this.types[token] == STRING) {
+            return pool != null ? pool.intern(this, start, end) : this.text(start, end);
+        }
+
+        final StringBuilder builder = new StringBuilder(end - start);
+        int segment = start;
+        for (int i = start; i < end; i++) {
+            if (this.charAt(i) != '\\') continue;
+            if (segment < i) builder.append(this.text(segment, i));
+
+            final char escaped = this.charAt(++i);
+            switch (escaped) {
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'u':
+                    builder.append((char) Integer.parseInt(this.text(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    builder.append(escaped);
+                    break;
+            }
+            segment = i + 1;
+        }
+        if (segment < end) builder.append(this.text(segment, end));
+        return pool != null ? pool.intern(builder.toString()) : builder.toString();
+    }
+
+    /**
+     * Builds the given token, and everything nested within it, into a
+     * {@link JsonElement JSON element}.
+     *
+     * @param token The token
+     * @param pool The pool to deduplicate strings through, or {@code null}
+     *             for none
+     * @return The JSON element
+     */
+    JsonElement materialise(final int token, final StringPool pool) {
+        switch (this.types[token]) {
+            case OBJECT: {
+                final JsonObject object = new JsonObject();
+                final int end = this.ends[token];
+                for (int key = token + 1; key < end; key = this.next(key + 1)) {
+                    object.add(this.string(key, pool), this.materialise(key + 1, pool));
+                }
+                return object;
+            }
+            case ARRAY: {
+                final JsonArray array = new JsonArray();
+                final int end = this.ends[token];
+                for (int value = token + 1; value < end; value = this.next(value)) {
+                    array.add(this.materialise(value, pool));
+                }
+                return array;
+            }
+            case STRING:
+            case ESCAPED_STRING:
+                return new JsonPrimitive(this.string(token, pool));
+            case NUMBER:
+                return new JsonPrimitive(new NumberLiteral(this.text(this.starts[token], this.ends[token])));
+            case TRUE:
+                return new JsonPrimitive(true);
+            case FALSE:
+                return new JsonPrimitive(false);
+            default:
+                return JsonNull.INSTANCE;
+        }
+    }
+
+    // Numbers
+
+    int toInt(final int token) {
+        return GsonNumbers.toInt(this, this.starts[token], this.ends[token]);
+    }
+
+    long toLong(final int token) {
+        return GsonNumbers.toLong(this, this.starts[token], this.ends[token]);
+    }
+
+    double toDouble(final int token) {
+        return GsonNumbers.toDouble(this, this.starts[token], this.ends[token]);
+    }
+
+    float toFloat(final int token) {
+        return GsonNumbers.toFloat(this, this.starts[token], this.ends[token]);
+    }
+
+    int toExactInt(final int token) {
+        return GsonNumbers.toExactInt(this, this.starts[token], this.ends[token]);
+    }
+
+    long toExactLong(final int token) {
+        return GsonNumbers.toExactLong(this, this.starts[token], this.ends[token]);
+    }
+
+    // Scanning
+
+    private void scan() {
+        int pos = this.skipWhitespace(0);
+        pos = this.scanTree(pos);
+        pos = this.skipWhitespace(pos);
+        if (pos != this.length) throw this.unexpected(pos, "the end of the document");
+    }
+
+    /**
+     * Scans the value at the given offset, and everything nested within
+     * it, adding them to the tape.
+     *
+     * @param pos The offset of the value
+     * @return The offset following the value
+     */
+    final int scanTree(int pos) {
+        pos = this.scanValue(pos);
+
+        while (this.depth > 0) {
+            final int container = this.stack[this.depth - 1];
+            final boolean object = this.types[container] == OBJECT;
+            final char close = object ? '}' : ']';
+
+            pos = this.skipWhitespace(pos);
+            int c = this.at(pos);
+            if (c == close) {
+                this.ends[container] = this.size;
+                this.depth--;
+                this.opened = false;
+                pos++;
+                continue;
+            }
+            if (this.opened) {
+                this.opened = false;
+            } else {
+                if (c != ',') throw this.unexpected(pos, "',' or '" + close + "'");
+                pos = this.skipWhitespace(pos + 1);
+                c = this.at(pos);
+            }
+
+            if (object) {
+                if (c != '"') throw this.unexpected(pos, "a key");
+                pos = this.skipWhitespace(this.scanString(pos));
+                if (this.at(pos) != ':') throw this.unexpected(pos, "':'");
+                pos = this.skipWhitespace(pos + 1);
+            }
+            pos = this.scanValue(pos);
+        }
+        return pos;
+    }
+
+    /**
+     * Skips over the value at the given offset, without adding anything
+     * to the tape - finding only where it ends, by the brackets and
+     * quotes within it. Beyond its extent, nothing within the value is
+     * checked.
+     *
+     * @param pos The offset of the value
+     * @return The offset following the value
+     */
+    final int skip(final int pos) {
+        int c = this.at(pos);
+        if (c == '"') return this.skipString(pos);
+        if (c != '{' && c != '[') {
+            int i = pos;
+            while (i < this.length && (c = this.charAt(i)) != ',' && c != '}' && c != ']' &&
+                    c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                i++;
+            }
+            if (i == pos) throw this.unexpected(pos, "a value");
+            return i;
+        }
+
+        int depth = 0;
+        int i = pos;
+        while (true) {
+            c = this.at(i);
+            if (c == '"') {
+                i = this.skipString(i);
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+    }
+
+    private int skipString(final int pos) {
+        int i = pos + 1;
+        while (true) {
+            if (i >= this.length) throw this.malformed(pos, "Unterminated string");
+            final char c = this.charAt(i);
+            if (c == '"') return i + 1;
+            i += c == '\\' ? 2 : 1;
+        }
+    }
+
+    private int scanValue(final int pos) {
+        final int c = this.at(pos);
+        switch (c) {
+            case '{':
+                this.open(OBJECT, pos);
+                return pos + 1;
+            case '[':
+                this.open(ARRAY, pos);
+                return pos + 1;
+            case '"':
+                return this.scanString(pos);
+            case 't':
+                return this.scanLiteral(pos, "true", TRUE);
+            case 'f':
+                return this.scanLiteral(pos, "false", FALSE);
+            case 'n':
+                return this.scanLiteral(pos, "null", NULL);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) return this.scanNumber(pos);
+                throw this.unexpected(pos, "a value");
+        }
+    }
+
+    private void open(final byte type, final int pos) {
+        if (this.depth == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, this.depth << 1);
+        }
+        this.stack[this.depth++] = this.size;
+        this.opened = true;
+        this.add(type, pos, -1);
+    }
+
+    int scanString(final int pos) {
+        boolean escaped = false;
+        int i = pos + 1;
+        while (true) {
+            if (i >= this.length) throw this.malformed(pos, "Unterminated string");
+
+            final int c = this.charAt(i);
+            if (c == '"') break;
+            if (c == '\\') {
+                escaped = true;
+                final int escape = this.at(++i);
+                if (escape == 'u') {
+                    for (int j = 0; j < 4; j++) {
+                        if (Character.digit(this.at(++i), 16) == -1) throw this.malformed(i, "Invalid unicode escape");
+                    }
+                } else if ("\"\\/bfnrt".indexOf(escape) == -1) {
+                    throw this.malformed(i, "Invalid escape sequence");
+                }
+            } else if (c < 0x20) {
+                throw this.malformed(i, "Unescaped control character in string");
+            }
+            i++;
+        }
+
+        this.add(escaped ? ESCAPED_STRING : STRING, pos + 1, i);
+        return i + 1;
+    }
+
+    private int scanNumber(final int pos) {
+        int i = pos;
+        if (this.charAt(i) == '-') i++;
+
+        // Integer part
+        final int first = this.at(i);
+        if (first == '0') {
+            i++;
+        } else if (first >= '1' && first <= '9') {
+            i = this.skipDigits(i + 1);
+        } else {
+            throw this.malformed(i, "Invalid number");
+        }
+
+        // Fraction part
+        if (i < this.length && this.charAt(i) == '.') {
+            final int digits = i + 1;
+            i = this.skipDigits(digits);
+            if (i == digits) throw this.malformed(i, "Invalid number");
+        }
+
+        // Exponent part
+        if (i < this.length && (this.charAt(i) == 'e' || this.charAt(i) == 'E')) {
+            i++;
+            if (i < this.length && (this.charAt(i) == '+' || this.charAt(i) == '-')) i++;
+            final int digits = i;
+            i = this.skipDigits(digits);
+            if (i == digits) throw this.malformed(i, "Invalid number");
+        }
+
+        this.add(NUMBER, pos, i);
+        return i;
+    }
+
+    private int skipDigits(int pos) {
+        while (pos < this.length && this.charAt(pos) >= '0' && this.charAt(pos) <= '9') pos++;
+        return pos;
+    }
+
+    private int scanLiteral(final int pos, final String literal, final byte type) {
+        if (pos + literal.length() > this.length) throw this.unexpected(pos, "a value");
+        for (int i = 0; i < literal.length(); i++) {
+            if (this.charAt(pos + i) != literal.charAt(i)) throw this.unexpected(pos, "a value");
+        }
+        this.add(type, pos, pos + literal.length());
+        return pos + literal.length();
+    }
+
+    int skipWhitespace(int pos) {
+        while (pos < this.length) {
+            final int c = this.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') break;
+            pos++;
+        }
+        return pos;
+    }
+
+    int at(final int pos) {
+        if (pos >= this.length) throw this.malformed(pos, "Unexpected end of document");
+        return this.charAt(pos);
+    }
+
+    private void add(final byte type, final int start, final int end) {
+        if (this.size == this.types.length) {
+            final int capacity = this.size << 1;
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+        }
+        this.types[this.size] = type;
+        this.starts[this.size] = start;
+        this.ends[this.size] = end;
+        this.size++;
+    }
+
+    JsonSyntaxException unexpected(final int pos, final String expected) {
+        if (pos >= this.length) return this.malformed(pos, "Unexpected end of document");
+        return this.malformed(pos, "Expected " + expected + " but found '" + this.charAt(pos) + "'");
+    }
+
+    private JsonSyntaxException malformed(final int pos, final String message) {
+        return new JsonSyntaxException(message + " at offset " + pos + "!");
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.Objects;
+
+/**
+ * The key of a JSON entry, intended to be held as a constant - so that
+ * the key of each field is created and checked once, rather than for
+ * every object written.
+ *
+ * <pre>{@code
+ * private static final JsonKey ID = JsonKey.of("id");
+ * }</pre>
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ * @see JsonObjectWriter
+ */
+public final class JsonKey {
+
+    /**
+     * Gets the key of the given name.
+     *
+     * @param name The name of the key
+     * @return The key
+     */
+    public static JsonKey of(final String name) {
+        return new JsonKey(Objects.requireNonNull(name, "name"));
+    }
+
+    private final String name;
+
+    private JsonKey(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the name of the key.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof JsonKey)) return false;
+        return this.name.equals(((JsonKey) obj).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which the gson-simple annotation processor should
+ * generate a streaming {@link com.google.gson.TypeAdapter type adapter},
+ * avoiding the reflective adapter Gson would otherwise use.
+ * <p>
+ * The adapter, named {@code <Class>_TypeAdapter}, is generated alongside
+ * the class - and is registered by the {@code GeneratedTypeAdapterFactory}
+ * generated for each package containing models. The serialised fields of
+ * the class are its non-static, non-transient fields, which must not be
+ * private or final - using the name given by any
+ * {@link com.google.gson.annotations.SerializedName} annotation. The class
+ * must have a non-private no-args constructor.
+ * <p>
+ * Fields are required, unless marked {@link JsonOptional optional}, and are
+ * read with the semantics of {@link GsonReaders} - producing the same
+ * errors as {@link GsonObjects}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface JsonModel {
+}
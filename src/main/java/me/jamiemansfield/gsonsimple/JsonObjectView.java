@@ -0,0 +1,65 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonElement;
+
+/**
+ * A read-only view of a JSON object, for representations of objects other
+ * than {@link com.google.gson.JsonObject} - allowing them to be used with
+ * {@link GsonObjects}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public interface JsonObjectView {
+
+    /**
+     * Establishes whether the object has an entry of the given key.
+     *
+     * @param key The key of the entry
+     * @return {@code true} if the object has the entry;
+     *         otherwise {@code false}
+     */
+    boolean has(String key);
+
+    /**
+     * Gets the value of the entry of the given key.
+     *
+     * @param key The key of the entry
+     * @return The value, or {@code null} if the object doesn't have
+     *         the entry
+     */
+    JsonElement get(String key);
+
+    /**
+     * Gets the number of entries in the object.
+     *
+     * @return The number of entries
+     */
+    int size();
+
+}
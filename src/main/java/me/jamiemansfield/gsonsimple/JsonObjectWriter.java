@@ -0,0 +1,465 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A fluent writer of JSON objects, streaming their entries straight to a
+ * {@link JsonWriter} - the serialising companion to {@link GsonObjects},
+ * allowing {@link TypeAdapter type adapters} to write objects without
+ * building an intermediary {@link com.google.gson.JsonObject}.
+ *
+ * <pre>{@code
+ * private static final JsonKey ID = JsonKey.of("id");
+ * private static final JsonKey TAGS = JsonKey.of("tags");
+ * private static final JsonKey CUSTOMER = JsonKey.of("customer");
+ * private static final JsonKey NAME = JsonKey.of("name");
+ *
+ * JsonObjectWriter.of(out)
+ *         .beginObject()
+ *         .put(ID, order.getId())
+ *         .put(TAGS, order.getTags())
+ *         .beginObject(CUSTOMER)
+ *             .put(NAME, order.getCustomer().getName())
+ *         .endObject()
+ *         .endObject();
+ * }</pre>
+ * <p>
+ * Keys are given as {@link JsonKey constants}. As with {@link JsonWriter},
+ * {@code null} values are written as {@code null} - and so are omitted
+ * unless the writer {@link JsonWriter#setSerializeNulls(boolean)
+ * serialises nulls}. Floats are written as Gson writes them, by
+ * {@link Float#toString(float)}, rather than widened to doubles.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class JsonObjectWriter {
+
+    /**
+     * Creates an object writer writing to the given JSON writer.
+     *
+     * @param out The JSON writer
+     * @return The object writer
+     */
+    public static JsonObjectWriter of(final JsonWriter out) {
+        return new JsonObjectWriter(Objects.requireNonNull(out, "out"));
+    }
+
+    private final JsonWriter out;
+
+    private JsonObjectWriter(final JsonWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Gets the JSON writer being written to, for writing values not
+     * otherwise supported.
+     *
+     * @return The JSON writer
+     */
+    public JsonWriter getWriter() {
+        return this.out;
+    }
+
+    /**
+     * Begins an object, as the next value of the writer.
+     *
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter beginObject() throws IOException {
+        this.out.beginObject();
+        return this;
+    }
+
+    /**
+     * Begins an object, as the value of the entry of the given key.
+     *
+     * @param key The key of the entry
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter beginObject(final JsonKey key) throws IOException {
+        this.out.name(key.getName()).beginObject();
+        return this;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter endObject() throws IOException {
+        this.out.endObject();
+        return this;
+    }
+
+    /**
+     * Begins an array, as the value of the entry of the given key - whose
+     * values are then written with the {@link #getWriter() JSON writer}.
+     *
+     * @param key The key of the entry
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter beginArray(final JsonKey key) throws IOException {
+        this.out.name(key.getName()).beginArray();
+        return this;
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter endArray() throws IOException {
+        this.out.endArray();
+        return this;
+    }
+
+    /**
+     * Writes an entry with a {@code null} value.
+     *
+     * @param key The key of the entry
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter putNull(final JsonKey key) throws IOException {
+        this.out.name(key.getName()).nullValue();
+        return this;
+    }
+
+    /**
+     * Writes a string entry.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final String value) throws IOException {
+        this.out.name(key.getName()).value(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean entry.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final boolean value) throws IOException {
+        this.out.name(key.getName()).value(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean entry.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final Boolean value) throws IOException {
+        this.out.name(key.getName()).value(value);
+        return this;
+    }
+
+    /**
+     * Writes an integer entry.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final int value) throws IOException {
+        this.out.name(key.getName()).value(value);
+        return this;
+    }
+
+    /**
+     * Writes a long entry.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final long value) throws IOException {
+        this.out.name(key.getName()).value(value);
+        return this;
+    }
+
+    /**
+     * Writes a double entry.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     * @throws IllegalArgumentException If the value isn't finite, and the
+     *                                  writer isn't lenient
+     */
+    public JsonObjectWriter put(final JsonKey key, final double value) throws IOException {
+        this.out.name(key.getName()).value(value);
+        return this;
+    }
+
+    /**
+     * Writes a float entry.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     * @throws IllegalArgumentException If the value isn't finite, and the
+     *                                  writer isn't lenient
+     */
+    public JsonObjectWriter put(final JsonKey key, final float value) throws IOException {
+        this.out.name(key.getName());
+        writeFloat(this.out, value);
+        return this;
+    }
+
+    /**
+     * Writes a number entry.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     * @throws IllegalArgumentException If the value isn't finite, and the
+     *                                  writer isn't lenient
+     */
+    public JsonObjectWriter put(final JsonKey key, final Number value) throws IOException {
+        this.out.name(key.getName()).value(value);
+        return this;
+    }
+
+    /**
+     * Writes an entry of the given constant, named as by the given
+     * {@link EnumTypeAdapterFactory factory} - using the names it has
+     * already computed.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @param naming The factory naming the constant
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final Enum<?> value, final EnumTypeAdapterFactory naming)
+            throws IOException {
+        this.out.name(key.getName()).value(value == null ? null : naming.name(value));
+        return this;
+    }
+
+    /**
+     * Writes an entry of the lowercase name of the given constant, as the
+     * {@link LowercaseEnumTypeAdapterFactory} would.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter putLowercase(final JsonKey key, final Enum<?> value) throws IOException {
+        return this.put(key, value, LowercaseEnumTypeAdapterFactory.DELEGATE);
+    }
+
+    /**
+     * Writes an entry with the given value, using the given
+     * {@link TypeAdapter type adapter} - such as for nested objects.
+     *
+     * @param key The key of the entry
+     * @param value The value
+     * @param adapter The type adapter
+     * @param <T> The type of the value
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public <T> JsonObjectWriter put(final JsonKey key, final T value, final TypeAdapter<? super T> adapter)
+            throws IOException {
+        this.out.name(key.getName());
+        adapter.write(this.out, value);
+        return this;
+    }
+
+    /**
+     * Writes an entry of an array of strings.
+     *
+     * @param key The key of the entry
+     * @param values The values
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final String[] values) throws IOException {
+        this.out.name(key.getName());
+        if (values == null) {
+            this.out.nullValue();
+            return this;
+        }
+        this.out.beginArray();
+        for (final String value : values) {
+            this.out.value(value);
+        }
+        this.out.endArray();
+        return this;
+    }
+
+    /**
+     * Writes an entry of an array of booleans.
+     *
+     * @param key The key of the entry
+     * @param values The values
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final boolean[] values) throws IOException {
+        this.out.name(key.getName());
+        if (values == null) {
+            this.out.nullValue();
+            return this;
+        }
+        this.out.beginArray();
+        for (final boolean value : values) {
+            this.out.value(value);
+        }
+        this.out.endArray();
+        return this;
+    }
+
+    /**
+     * Writes an entry of an array of integers.
+     *
+     * @param key The key of the entry
+     * @param values The values
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final int[] values) throws IOException {
+        this.out.name(key.getName());
+        if (values == null) {
+            this.out.nullValue();
+            return this;
+        }
+        this.out.beginArray();
+        for (final int value : values) {
+            this.out.value(value);
+        }
+        this.out.endArray();
+        return this;
+    }
+
+    /**
+     * Writes an entry of an array of longs.
+     *
+     * @param key The key of the entry
+     * @param values The values
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     */
+    public JsonObjectWriter put(final JsonKey key, final long[] values) throws IOException {
+        this.out.name(key.getName());
+        if (values == null) {
+            this.out.nullValue();
+            return this;
+        }
+        this.out.beginArray();
+        for (final long value : values) {
+            this.out.value(value);
+        }
+        this.out.endArray();
+        return this;
+    }
+
+    /**
+     * Writes an entry of an array of doubles.
+     *
+     * @param key The key of the entry
+     * @param values The values
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     * @throws IllegalArgumentException If any value isn't finite, and the
+     *                                  writer isn't lenient
+     */
+    public JsonObjectWriter put(final JsonKey key, final double[] values) throws IOException {
+        this.out.name(key.getName());
+        if (values == null) {
+            this.out.nullValue();
+            return this;
+        }
+        this.out.beginArray();
+        for (final double value : values) {
+            this.out.value(value);
+        }
+        this.out.endArray();
+        return this;
+    }
+
+    /**
+     * Writes an entry of an array of floats.
+     *
+     * @param key The key of the entry
+     * @param values The values
+     * @return {@code this}, for chaining
+     * @throws IOException If an I/O error occurs writing to the writer
+     * @throws IllegalArgumentException If any value isn't finite, and the
+     *                                  writer isn't lenient
+     */
+    public JsonObjectWriter put(final JsonKey key, final float[] values) throws IOException {
+        this.out.name(key.getName());
+        if (values == null) {
+            this.out.nullValue();
+            return this;
+        }
+        this.out.beginArray();
+        for (final float value : values) {
+            writeFloat(this.out, value);
+        }
+        this.out.endArray();
+        return this;
+    }
+
+    private static void writeFloat(final JsonWriter out, final float value) throws IOException {
+        if (!out.isLenient() && (Float.isNaN(value) || Float.isInfinite(value))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        out.jsonValue(Float.toString(value));
+    }
+
+}
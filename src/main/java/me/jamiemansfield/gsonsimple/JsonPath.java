@@ -0,0 +1,397 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireArray;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireBoolean;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireDouble;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireFloat;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireInt;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireLong;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireObject;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireString;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled path to a value nested within a JSON document, for example
+ * {@code orders[0].customer.name}.
+ * <p>
+ * Paths are made up of keys, separated by {@code .}, and array indices,
+ * within {@code []}. Keys that can't be written plainly can be quoted
+ * within brackets, for example {@code headers["content-type"]} - with
+ * {@code \} escaping the quote, or itself, within the key.
+ * <p>
+ * The getters behave as with {@link GsonObjects}, requiring that every
+ * step of the path is present and of the right type - with errors
+ * reporting the path up to the step that failed. Paths are immutable,
+ * and can be shared between threads.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class JsonPath {
+
+    private static final String ROOT = "$";
+    private static final int CACHE_CAPACITY = 1024;
+    private static final BoundedCache<String, JsonPath> CACHE = new BoundedCache<>(CACHE_CAPACITY);
+
+    /**
+     * Compiles the given path expression.
+     * <p>
+     * Compiled paths are cached, so frequently used expressions are
+     * only compiled once.
+     *
+     * @param expression The path expression
+     * @return The compiled path
+     * @throws IllegalArgumentException If the expression is malformed
+     */
+    public static JsonPath compile(final String expression) {
+        return CACHE.get(expression, JsonPath::parse);
+    }
+
+    private static JsonPath parse(final String expression) {
+        final List<String> keys = new ArrayList<>();
+        final List<Integer> indices = new ArrayList<>();
+
+        int pos = 0;
+        final int length = expression.length();
+        while (pos < length) {
+            final char c = expression.charAt(pos);
+            if (c == '[') {
+                final char quote = pos + 1 < length ? expression.charAt(pos + 1) : 0;
+                if (quote == '"' || quote == '\'') {
+                    // Scan to the closing quote first, as the key may itself
+                    // contain brackets
+                    final StringBuilder key = new StringBuilder();
+                    int end = pos + 2;
+                    while (end < length && expression.charAt(end) != quote) {
+                        if (expression.charAt(end) == '\\') {
+                            if (++end == length) break;
+                        }
+                        key.append(expression.charAt(end++));
+                    }
+                    if (end >= length) throw malformed(expression, "unclosed quote at " + (pos + 1));
+                    if (end + 1 >= length || expression.charAt(end + 1) != ']') {
+                        throw malformed(expression, "expected ']' at " + (end + 1));
+                    }
+                    keys.add(key.toString());
+                    indices.add(-1);
+                    pos = end + 2;
+                } else {
+                    final int close = expression.indexOf(']', pos);
+                    if (close == -1) throw malformed(expression, "unclosed '['");
+                    keys.add(null);
+                    indices.add(parseIndex(expression, expression.substring(pos + 1, close)));
+                    pos = close + 1;
+                }
+            } else {
+                if (c == '.') {
+                    if (pos == 0) throw malformed(expression, "leading '.'");
+                    pos++;
+                } else if (pos != 0) {
+                    throw malformed(expression, "expected '.' or '[' at " + pos);
+                }
+
+                int end = pos;
+                while (end < length && expression.charAt(end) != '.' && expression.charAt(end) != '[') end++;
+                if (end == pos) throw malformed(expression, "empty key at " + pos);
+                keys.add(expression.substring(pos, end));
+                indices.add(-1);
+                pos = end;
+            }
+        }
+        if (keys.isEmpty()) throw malformed(expression, "no steps");
+
+        final int[] steps = new int[indices.size()];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = indices.get(i);
+        }
+        return new JsonPath(expression, keys.toArray(new String[0]), steps);
+    }
+
+    private static int parseIndex(final String expression, final String index) {
+        if (index.isEmpty()) throw malformed(expression, "empty index");
+        for (int i = 0; i < index.length(); i++) {
+            final char c = index.charAt(i);
+            if (c < '0' || c > '9') throw malformed(expression, "invalid index '" + index + "'");
+        }
+        try {
+            return Integer.parseInt(index);
+        } catch (final NumberFormatException ex) {
+            throw malformed(expression, "invalid index '" + index + "'");
+        }
+    }
+
+    private static IllegalArgumentException malformed(final String expression, final String reason) {
+        return new IllegalArgumentException("Malformed path '" + expression + "': " + reason + "!");
+    }
+
+    private final String expression;
+    private final String[] keys;
+    private final int[] indices;
+    private final String[] names;
+
+    private JsonPath(final String expression, final String[] keys, final int[] indices) {
+        this.expression = expression;
+        this.keys = keys;
+        this.indices = indices;
+
+        // The path up to each step, as reported in errors
+        this.names = new String[keys.length];
+        final StringBuilder name = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                name.append('[').append(indices[i]).append(']');
+            } else if (isPlain(keys[i])) {
+                if (i != 0) name.append('.');
+                name.append(keys[i]);
+            } else {
+                name.append("[\"");
+                for (int j = 0; j < keys[i].length(); j++) {
+                    final char c = keys[i].charAt(j);
+                    if (c == '"' || c == '\\') name.append('\\');
+                    name.append(c);
+                }
+                name.append("\"]");
+            }
+            this.names[i] = name.toString();
+        }
+    }
+
+    /**
+     * Gets the number of steps in the path.
+     */
+    int steps() {
+        return this.keys.length;
+    }
+
+    /**
+     * Gets the key of the given step, or {@code null} should it be an
+     * array index.
+     */
+    String key(final int step) {
+        return this.keys[step];
+    }
+
+    /**
+     * Gets the array index of the given step.
+     */
+    int index(final int step) {
+        return this.indices[step];
+    }
+
+    /**
+     * Gets the path up to, and including, the given step - as reported
+     * in errors.
+     */
+    String name(final int step) {
+        return this.names[step];
+    }
+
+    private static boolean isPlain(final String key) {
+        return !key.isEmpty() && key.indexOf('.') == -1 && key.indexOf('[') == -1;
+    }
+
+    /**
+     * Gets the {@link JsonElement element} at the path, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The JSON element
+     * @throws JsonParseException If any step of the path is missing, or not
+     *                            of the right type
+     */
+    public JsonElement get(final JsonElement root) throws JsonParseException {
+        return this.resolve(root, 0);
+    }
+
+    /**
+     * Gets the {@link JsonElement element} at the path, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param root The object the path is relative to
+     * @return The JSON element
+     * @throws JsonParseException If any step of the path is missing, or not
+     *                            of the right type
+     */
+    public JsonElement get(final JsonObjectView root) throws JsonParseException {
+        final String key = this.keys[0];
+        if (key == null) throw JsonValidationException.unexpectedType(ROOT, FieldType.ARRAY);
+
+        final JsonElement value = root.get(key);
+        if (value == null) throw JsonValidationException.missingEntry(this.names[0]);
+        return this.resolve(value, 1);
+    }
+
+    private JsonElement resolve(final JsonElement root, final int from) {
+        JsonElement current = root;
+        for (int i = from; i < this.keys.length; i++) {
+            final String key = this.keys[i];
+            if (key != null) {
+                if (!current.isJsonObject()) {
+                    throw JsonValidationException.unexpectedType(this.parent(i), FieldType.OBJECT);
+                }
+                final JsonElement next = current.getAsJsonObject().get(key);
+                if (next == null) throw JsonValidationException.missingEntry(this.names[i]);
+                current = next;
+            } else {
+                if (!current.isJsonArray()) {
+                    throw JsonValidationException.unexpectedType(this.parent(i), FieldType.ARRAY);
+                }
+                final JsonArray array = current.getAsJsonArray();
+                final int index = this.indices[i];
+                if (index >= array.size()) throw JsonValidationException.missingElement(this.names[i]);
+                current = array.get(index);
+            }
+        }
+        return current;
+    }
+
+    private String parent(final int step) {
+        return step == 0 ? ROOT : this.names[step - 1];
+    }
+
+    /**
+     * Gets an {@link JsonObject object} at the path, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The JSON object
+     * @throws JsonParseException If any step of the path is missing, or it isn't an object
+     */
+    public JsonObject getObject(final JsonElement root) throws JsonParseException {
+        return requireObject(this.get(root), this.names[this.names.length - 1]);
+    }
+
+    /**
+     * Gets an {@link JsonArray array} at the path, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The JSON array
+     * @throws JsonParseException If any step of the path is missing, or it isn't an array
+     */
+    public JsonArray getArray(final JsonElement root) throws JsonParseException {
+        return requireArray(this.get(root), this.names[this.names.length - 1]);
+    }
+
+    /**
+     * Gets a string at the path, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The value
+     * @throws JsonParseException If any step of the path is missing, or it isn't a string
+     */
+    public String getString(final JsonElement root) throws JsonParseException {
+        return requireString(this.get(root), this.names[this.names.length - 1]);
+    }
+
+    /**
+     * Gets a boolean at the path, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The value
+     * @throws JsonParseException If any step of the path is missing, or it isn't a boolean
+     */
+    public boolean getBoolean(final JsonElement root) throws JsonParseException {
+        return requireBoolean(this.get(root), this.names[this.names.length - 1]);
+    }
+
+    /**
+     * Gets an integer at the path, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The value
+     * @throws JsonParseException If any step of the path is missing, or it isn't an integer
+     */
+    public int getInt(final JsonElement root) throws JsonParseException {
+        return requireInt(this.get(root), this.names[this.names.length - 1]);
+    }
+
+    /**
+     * Gets a long at the path, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The value
+     * @throws JsonParseException If any step of the path is missing, or it isn't a long
+     */
+    public long getLong(final JsonElement root) throws JsonParseException {
+        return requireLong(this.get(root), this.names[this.names.length - 1]);
+    }
+
+    /**
+     * Gets a double at the path, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The value
+     * @throws JsonParseException If any step of the path is missing, or it isn't a double
+     */
+    public double getDouble(final JsonElement root) throws JsonParseException {
+        return requireDouble(this.get(root), this.names[this.names.length - 1]);
+    }
+
+    /**
+     * Gets a float at the path, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param root The element the path is relative to
+     * @return The value
+     * @throws JsonParseException If any step of the path is missing, or it isn't a float
+     */
+    public float getFloat(final JsonElement root) throws JsonParseException {
+        return requireFloat(this.get(root), this.names[this.names.length - 1]);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof JsonPath)) return false;
+        return this.expression.equals(((JsonPath) obj).expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.expression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.expression;
+    }
+
+}
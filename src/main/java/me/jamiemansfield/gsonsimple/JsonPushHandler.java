@@ -0,0 +1,111 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+/**
+ * A receiver of the tokens read by a {@link JsonPushParser push parser},
+ * as soon as each is complete.
+ * <p>
+ * Handlers are called from whichever thread feeds the parser, and any
+ * exception thrown by a handler - such as a {@link JsonValidationException}
+ * from validating a value - is thrown from the feed.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public interface JsonPushHandler {
+
+    /**
+     * Called when an object begins.
+     */
+    default void onBeginObject() {
+    }
+
+    /**
+     * Called when an object ends.
+     */
+    default void onEndObject() {
+    }
+
+    /**
+     * Called when an array begins.
+     */
+    default void onBeginArray() {
+    }
+
+    /**
+     * Called when an array ends.
+     */
+    default void onEndArray() {
+    }
+
+    /**
+     * Called with the key of an entry, before its value.
+     *
+     * @param name The key of the entry
+     */
+    default void onName(final String name) {
+    }
+
+    /**
+     * Called with a string value.
+     *
+     * @param value The value
+     */
+    default void onString(final String value) {
+    }
+
+    /**
+     * Called with a number value, which is converted on demand in the
+     * same manner as Gson's own lazily parsed numbers.
+     *
+     * @param value The value
+     */
+    default void onNumber(final Number value) {
+    }
+
+    /**
+     * Called with a boolean value.
+     *
+     * @param value The value
+     */
+    default void onBoolean(final boolean value) {
+    }
+
+    /**
+     * Called with a null value.
+     */
+    default void onNull() {
+    }
+
+    /**
+     * Called once a top-level value is complete.
+     */
+    default void onEndDocument() {
+    }
+
+}
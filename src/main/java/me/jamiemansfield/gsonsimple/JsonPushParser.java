@@ -0,0 +1,661 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A non-blocking parser of JSON held as UTF-8 bytes, that is fed chunks
+ * of input as they arrive - such as from a channel, or the body of a
+ * request on an event-loop server - rather than pulling from a blocking
+ * {@link java.io.Reader reader}.
+ * <p>
+ * All of the parser's state is kept between feeds, so a chunk may end
+ * anywhere - even within a string, number or UTF-8 sequence. Each token
+ * is pushed to the {@link JsonPushHandler handler} as soon as it is
+ * complete, and {@link #forElements(int, Consumer)} builds whole values
+ * at a given depth, so they can be validated with {@link GsonObjects},
+ * {@link GsonRequirements} or an {@link ObjectSchema} while the rest of
+ * the input is still to arrive:
+ *
+ * <pre>{@code
+ * final JsonPushParser parser = JsonPushParser.forElements(1, element -> {
+ *     final JsonObject order = GsonRequirements.requireObject(element, "order");
+ *     orders.add(new Order(
+ *             GsonObjects.getLong(order, "id"),
+ *             GsonObjects.getString(order, "status")
+ *     ));
+ * });
+ * // as each chunk arrives
+ * parser.feed(chunk);
+ * // once the input is over
+ * parser.end();
+ * }</pre>
+ * <p>
+ * Input is strict JSON; any number of top-level values may follow one
+ * another, separated by whitespace where needed, as with newline-delimited
+ * JSON. Malformed UTF-8 within strings is replaced, in the same manner as
+ * {@link java.io.InputStreamReader}. Once an exception has been thrown,
+ * whether for malformed input or by the handler, the parser can't be fed
+ * any further. Parsers aren't safe for concurrent use.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class JsonPushParser {
+
+    /**
+     * Creates a push parser that builds the values found at the given
+     * depth into {@link JsonElement elements}, giving each to the consumer
+     * as soon as it is complete - values shallower than the depth are
+     * never built.
+     * <p>
+     * A depth of zero gives each top-level value, and a depth of one the
+     * values within each top-level array or object - such as the records
+     * of an array.
+     *
+     * @param depth The depth of the values
+     * @param consumer The consumer of the values
+     * @return The push parser
+     */
+    public static JsonPushParser forElements(final int depth, final Consumer<? super JsonElement> consumer) {
+        return new JsonPushParser(new JsonElementAssembler(depth, consumer));
+    }
+
+    // Containers
+    private static final byte OBJECT = 0;
+    private static final byte ARRAY = 1;
+
+    // What is expected between tokens
+    private static final int DOCUMENT = 0;
+    private static final int VALUE = 1;
+    private static final int VALUE_OR_END_ARRAY = 2;
+    private static final int NAME = 3;
+    private static final int NAME_OR_END_OBJECT = 4;
+    private static final int COLON = 5;
+    private static final int COMMA_OR_END = 6;
+
+    // The token being read
+    private static final int NONE = 0;
+    private static final int STRING_TOKEN = 1;
+    private static final int NAME_TOKEN = 2;
+    private static final int NUMBER_TOKEN = 3;
+    private static final int LITERAL_TOKEN = 4;
+
+    // Positions within a number, of which those after digits can end it
+    private static final int NUMBER_START = 0;
+    private static final int NUMBER_SIGN = 1;
+    private static final int NUMBER_ZERO = 2;
+    private static final int NUMBER_INTEGER = 3;
+    private static final int NUMBER_POINT = 4;
+    private static final int NUMBER_FRACTION = 5;
+    private static final int NUMBER_EXPONENT = 6;
+    private static final int NUMBER_EXPONENT_SIGN = 7;
+    private static final int NUMBER_EXPONENT_DIGITS = 8;
+    private static final int NUMBER_INVALID = -1;
+    private static final int NUMBER_OVER = -2;
+
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+
+    private static final char REPLACEMENT = '\uFFFD';
+    private static final int DIRECT_CHUNK = 8192;
+
+    private final JsonPushHandler handler;
+    private final StringPool pool;
+
+    private byte[] containers = new byte[16];
+    private int depth;
+    private int expected = DOCUMENT;
+    private int token = NONE;
+    private boolean documents;
+    private boolean failed;
+    private boolean ended;
+
+    // The offset of the first byte of the chunk being fed, and of any
+    // token being read
+    private long offset;
+    private long tokenOffset;
+
+    // The text of a string or number being read
+    private char[] text = new char[64];
+    private int textLength;
+
+    // Escape sequences, and UTF-8 sequences, within strings
+    private int escape;
+    private int unicode;
+    private int utf8Remaining;
+    private int utf8CodePoint;
+    private int utf8Minimum;
+
+    private int number;
+    private byte[] literal;
+    private int literalPosition;
+
+    private byte[] directChunk;
+
+    /**
+     * Creates a push parser, giving tokens to the given handler.
+     *
+     * @param handler The handler
+     */
+    public JsonPushParser(final JsonPushHandler handler) {
+        this(handler, null);
+    }
+
+    /**
+     * Creates a push parser, giving tokens to the given handler - with
+     * the keys of entries deduplicated through the given pool.
+     *
+     * @param handler The handler
+     * @param pool The string pool, or {@code null} to not deduplicate keys
+     */
+    public JsonPushParser(final JsonPushHandler handler, final StringPool pool) {
+        this.handler = handler;
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the number of containers the parser is currently within.
+     *
+     * @return The depth
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Gets the number of bytes the parser has been fed.
+     *
+     * @return The offset
+     */
+    public long getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Feeds the given bytes to the parser.
+     *
+     * @param bytes The bytes
+     * @throws JsonParseException If the input is malformed, or the handler
+     *                            rejects a value
+     */
+    public void feed(final byte[] bytes) throws JsonParseException {
+        this.feed(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Feeds the remaining bytes of the given buffer to the parser,
+     * advancing its position to its limit.
+     *
+     * @param buffer The buffer
+     * @throws JsonParseException If the input is malformed, or the handler
+     *                            rejects a value
+     */
+    public void feed(final ByteBuffer buffer) throws JsonParseException {
+        if (buffer.hasArray()) {
+            this.feed(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        if (this.directChunk == null) this.directChunk = new byte[DIRECT_CHUNK];
+        while (buffer.hasRemaining()) {
+            final int length = Math.min(buffer.remaining(), this.directChunk.length);
+            buffer.get(this.directChunk, 0, length);
+            this.feed(this.directChunk, 0, length);
+        }
+    }
+
+    /**
+     * Feeds the given bytes to the parser.
+     *
+     * @param bytes The bytes
+     * @param offset The offset of the first byte
+     * @param length The number of bytes
+     * @throws JsonParseException If the input is malformed, or the handler
+     *                            rejects a value
+     */
+    public void feed(final byte[] bytes, final int offset, final int length) throws JsonParseException {
+        this.checkUsable();
+        final int end = offset + length;
+        final long base = this.offset - offset;
+        try {
+            int pos = offset;
+            while (pos < end) {
+                switch (this.token) {
+                    case STRING_TOKEN:
+                    case NAME_TOKEN:
+                        pos = this.string(bytes, pos, end, base);
+                        break;
+                    case NUMBER_TOKEN:
+                        pos = this.number(bytes, pos, end, base);
+                        break;
+                    case LITERAL_TOKEN:
+                        pos = this.literal(bytes, pos, end, base);
+                        break;
+                    default:
+                        pos = this.structure(bytes, pos, end, base);
+                        break;
+                }
+            }
+            this.offset += length;
+        } catch (final RuntimeException ex) {
+            this.failed = true;
+            throw ex;
+        }
+    }
+
+    /**
+     * Signals that the input is over, completing any top-level number
+     * still being read.
+     *
+     * @throws JsonParseException If the input ended within a value, or
+     *                            held no value at all
+     */
+    public void end() throws JsonParseException {
+        this.checkUsable();
+        this.ended = true;
+        try {
+            if (this.token == NUMBER_TOKEN) this.endNumber(this.offset);
+            if (this.token != NONE || this.depth != 0 || !this.documents) {
+                throw malformed(this.offset, "Unexpected end of document");
+            }
+        } catch (final RuntimeException ex) {
+            this.failed = true;
+            throw ex;
+        }
+    }
+
+    private void checkUsable() {
+        if (this.failed) throw new IllegalStateException("Parser has already failed!");
+        if (this.ended) throw new IllegalStateException("Parser has already ended!");
+    }
+
+    // Structure
+
+    private int structure(final byte[] bytes, int pos, final int end, final long base) {
+        while (pos < end && isWhitespace(bytes[pos])) pos++;
+        if (pos == end) return pos;
+
+        final byte b = bytes[pos];
+        switch (this.expected) {
+            case VALUE_OR_END_ARRAY:
+                if (b == ']') {
+                    this.endContainer(ARRAY);
+                    return pos + 1;
+                }
+                return this.beginValue(b, pos, base);
+            case NAME_OR_END_OBJECT:
+                if (b == '}') {
+                    this.endContainer(OBJECT);
+                    return pos + 1;
+                }
+                return this.beginName(b, pos, base);
+            case NAME:
+                return this.beginName(b, pos, base);
+            case COLON:
+                if (b != ':') throw unexpected(b, base + pos, "':'");
+                this.expected = VALUE;
+                return pos + 1;
+            case COMMA_OR_END:
+                final byte container = this.containers[this.depth - 1];
+                if (b == ',') {
+                    this.expected = container == OBJECT ? NAME : VALUE;
+                } else if (b == (container == OBJECT ? '}' : ']')) {
+                    this.endContainer(container);
+                } else {
+                    throw unexpected(b, base + pos, container == OBJECT ? "',' or '}'" : "',' or ']'");
+                }
+                return pos + 1;
+            default:
+                return this.beginValue(b, pos, base);
+        }
+    }
+
+    private int beginName(final byte b, final int pos, final long base) {
+        if (b != '"') throw unexpected(b, base + pos, "a name");
+        this.beginToken(NAME_TOKEN, base + pos);
+        return pos + 1;
+    }
+
+    private int beginValue(final byte b, final int pos, final long base) {
+        switch (b) {
+            case '{':
+                this.beginContainer(OBJECT);
+                this.expected = NAME_OR_END_OBJECT;
+                this.handler.onBeginObject();
+                return pos + 1;
+            case '[':
+                this.beginContainer(ARRAY);
+                this.expected = VALUE_OR_END_ARRAY;
+                this.handler.onBeginArray();
+                return pos + 1;
+            case '"':
+                this.beginToken(STRING_TOKEN, base + pos);
+                return pos + 1;
+            case 't':
+                this.beginLiteral(TRUE, base + pos);
+                return pos;
+            case 'f':
+                this.beginLiteral(FALSE, base + pos);
+                return pos;
+            case 'n':
+                this.beginLiteral(NULL, base + pos);
+                return pos;
+            default:
+                if (b != '-' && (b < '0' || b > '9')) throw unexpected(b, base + pos, "a value");
+                this.beginToken(NUMBER_TOKEN, base + pos);
+                this.number = NUMBER_START;
+                return pos;
+        }
+    }
+
+    private void beginContainer(final byte container) {
+        if (this.depth == this.containers.length) {
+            this.containers = Arrays.copyOf(this.containers, this.depth * 2);
+        }
+        this.containers[this.depth++] = container;
+    }
+
+    private void endContainer(final byte container) {
+        this.depth--;
+        if (container == OBJECT) {
+            this.handler.onEndObject();
+        } else {
+            this.handler.onEndArray();
+        }
+        this.endValue();
+    }
+
+    private void endValue() {
+        if (this.depth == 0) {
+            this.expected = DOCUMENT;
+            this.documents = true;
+            this.handler.onEndDocument();
+        } else {
+            this.expected = COMMA_OR_END;
+        }
+    }
+
+    private void beginToken(final int token, final long offset) {
+        this.token = token;
+        this.tokenOffset = offset;
+        this.textLength = 0;
+    }
+
+    // Strings
+
+    private int string(final byte[] bytes, int pos, final int end, final long base) {
+        while (pos < end) {
+            final byte b = bytes[pos];
+            if (this.utf8Remaining != 0) {
+                if ((b & 0xC0) != 0x80) {
+                    // A truncated sequence, the byte is read afresh
+                    this.utf8Remaining = 0;
+                    this.append(REPLACEMENT);
+                    continue;
+                }
+                this.utf8CodePoint = this.utf8CodePoint << 6 | b & 0x3F;
+                if (--this.utf8Remaining == 0) this.appendCodePoint(this.utf8CodePoint);
+                pos++;
+            } else if (this.escape != 0) {
+                this.escape(b, base + pos);
+                pos++;
+            } else if (b == '"') {
+                this.endString();
+                return pos + 1;
+            } else if (b == '\\') {
+                this.escape = 1;
+                pos++;
+            } else if (b >= 0 && b < 0x20) {
+                throw malformed(base + pos, "Unescaped control character in string");
+            } else if (b < 0) {
+                this.beginUtf8(b);
+                pos++;
+            } else {
+                // Plain ASCII is copied across in runs
+                int run = pos + 1;
+                while (run < end && bytes[run] >= 0x20 && bytes[run] != '"' && bytes[run] != '\\') run++;
+                this.ensureText(run - pos);
+                for (int i = pos; i < run; i++) {
+                    this.text[this.textLength++] = (char) bytes[i];
+                }
+                pos = run;
+            }
+        }
+        return pos;
+    }
+
+    private void escape(final byte b, final long offset) {
+        if (this.escape == 1) {
+            switch (b) {
+                case '"':
+                case '\\':
+                case '/':
+                    this.append((char) b);
+                    break;
+                case 'b':
+                    this.append('\b');
+                    break;
+                case 'f':
+                    this.append('\f');
+                    break;
+                case 'n':
+                    this.append('\n');
+                    break;
+                case 'r':
+                    this.append('\r');
+                    break;
+                case 't':
+                    this.append('\t');
+                    break;
+                case 'u':
+                    this.escape = 2;
+                    this.unicode = 0;
+                    return;
+                default:
+                    throw malformed(offset, "Invalid escape sequence");
+            }
+            this.escape = 0;
+            return;
+        }
+
+        final int digit = Character.digit(b, 16);
+        if (digit == -1) throw malformed(offset, "Invalid unicode escape");
+        this.unicode = this.unicode << 4 | digit;
+        if (++this.escape == 6) {
+            this.append((char) this.unicode);
+            this.escape = 0;
+        }
+    }
+
+    private void beginUtf8(final byte b) {
+        if ((b & 0xE0) == 0xC0) {
+            this.utf8Remaining = 1;
+            this.utf8CodePoint = b & 0x1F;
+            this.utf8Minimum = 0x80;
+        } else if ((b & 0xF0) == 0xE0) {
+            this.utf8Remaining = 2;
+            this.utf8CodePoint = b & 0x0F;
+            this.utf8Minimum = 0x800;
+        } else if ((b & 0xF8) == 0xF0) {
+            this.utf8Remaining = 3;
+            this.utf8CodePoint = b & 0x07;
+            this.utf8Minimum = 0x10000;
+        } else {
+            this.append(REPLACEMENT);
+        }
+    }
+
+    private void appendCodePoint(final int codePoint) {
+        // Overlong encodings, surrogates and those beyond Unicode are malformed
+        if (codePoint < this.utf8Minimum || codePoint > Character.MAX_CODE_POINT ||
+                codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) {
+            this.append(REPLACEMENT);
+        } else if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            this.append(Character.highSurrogate(codePoint));
+            this.append(Character.lowSurrogate(codePoint));
+        } else {
+            this.append((char) codePoint);
+        }
+    }
+
+    private void endString() {
+        if (this.utf8Remaining != 0) {
+            this.utf8Remaining = 0;
+            this.append(REPLACEMENT);
+        }
+        final boolean name = this.token == NAME_TOKEN;
+        this.token = NONE;
+        if (name) {
+            this.expected = COLON;
+            this.handler.onName(this.pool != null ?
+                    this.pool.intern(this.text, 0, this.textLength) :
+                    new String(this.text, 0, this.textLength));
+        } else {
+            this.handler.onString(new String(this.text, 0, this.textLength));
+            this.endValue();
+        }
+    }
+
+    private void append(final char c) {
+        this.ensureText(1);
+        this.text[this.textLength++] = c;
+    }
+
+    private void ensureText(final int length) {
+        if (this.textLength + length > this.text.length) {
+            this.text = Arrays.copyOf(this.text, Math.max(this.text.length * 2, this.textLength + length));
+        }
+    }
+
+    // Numbers, and literals
+
+    private int number(final byte[] bytes, int pos, final int end, final long base) {
+        while (pos < end) {
+            final byte b = bytes[pos];
+            final int next = nextNumber(this.number, b);
+            if (next == NUMBER_INVALID) throw malformed(base + pos, "Invalid number");
+            if (next == NUMBER_OVER) {
+                // The byte is read afresh, after the number
+                this.endNumber(base + pos);
+                return pos;
+            }
+            this.number = next;
+            this.append((char) b);
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int nextNumber(final int number, final byte b) {
+        final boolean digit = b >= '0' && b <= '9';
+        final boolean exponent = b == 'e' || b == 'E';
+        switch (number) {
+            case NUMBER_START:
+            case NUMBER_SIGN:
+                if (b == '-' && number == NUMBER_START) return NUMBER_SIGN;
+                if (b == '0') return NUMBER_ZERO;
+                return digit ? NUMBER_INTEGER : NUMBER_INVALID;
+            case NUMBER_ZERO:
+            case NUMBER_INTEGER:
+                // Leading zeros aren't permitted
+                if (digit) return number == NUMBER_ZERO ? NUMBER_INVALID : NUMBER_INTEGER;
+                if (b == '.') return NUMBER_POINT;
+                return exponent ? NUMBER_EXPONENT : NUMBER_OVER;
+            case NUMBER_POINT:
+                return digit ? NUMBER_FRACTION : NUMBER_INVALID;
+            case NUMBER_FRACTION:
+                if (digit) return NUMBER_FRACTION;
+                return exponent ? NUMBER_EXPONENT : NUMBER_OVER;
+            case NUMBER_EXPONENT:
+                if (b == '+' || b == '-') return NUMBER_EXPONENT_SIGN;
+                return digit ? NUMBER_EXPONENT_DIGITS : NUMBER_INVALID;
+            case NUMBER_EXPONENT_SIGN:
+                return digit ? NUMBER_EXPONENT_DIGITS : NUMBER_INVALID;
+            default:
+                return digit ? NUMBER_EXPONENT_DIGITS : NUMBER_OVER;
+        }
+    }
+
+    private void endNumber(final long offset) {
+        if (this.number != NUMBER_ZERO && this.number != NUMBER_INTEGER &&
+                this.number != NUMBER_FRACTION && this.number != NUMBER_EXPONENT_DIGITS) {
+            throw malformed(offset, "Invalid number");
+        }
+        this.token = NONE;
+        this.handler.onNumber(new NumberLiteral(new String(this.text, 0, this.textLength)));
+        this.endValue();
+    }
+
+    private void beginLiteral(final byte[] literal, final long offset) {
+        this.beginToken(LITERAL_TOKEN, offset);
+        this.literal = literal;
+        this.literalPosition = 0;
+    }
+
+    private int literal(final byte[] bytes, int pos, final int end, final long base) {
+        while (pos < end && this.literalPosition < this.literal.length) {
+            if (bytes[pos] != this.literal[this.literalPosition]) {
+                throw unexpected(this.literal[0], this.tokenOffset, "a value");
+            }
+            this.literalPosition++;
+            pos++;
+        }
+        if (this.literalPosition == this.literal.length) {
+            this.token = NONE;
+            if (this.literal == NULL) {
+                this.handler.onNull();
+            } else {
+                this.handler.onBoolean(this.literal == TRUE);
+            }
+            this.endValue();
+        }
+        return pos;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static JsonSyntaxException unexpected(final byte b, final long offset, final String expected) {
+        return malformed(offset, "Expected " + expected + " but found '" + (char) (b & 0xFF) + "'");
+    }
+
+    private static JsonSyntaxException malformed(final long offset, final String message) {
+        return new JsonSyntaxException(message + " at offset " + offset + "!");
+    }
+
+}
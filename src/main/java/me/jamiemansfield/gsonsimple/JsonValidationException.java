@@ -0,0 +1,119 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonParseException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link JsonParseException} reporting one or more
+ * {@link ValidationError validation errors}.
+ * <p>
+ * The message of the exception isn't built until it is requested.
+ * Setting the {@code me.jamiemansfield.gsonsimple.stacklessExceptions}
+ * system property to {@code true} prevents a stack trace being
+ * captured - greatly reducing the cost of rejecting invalid input,
+ * where the exception is expected and handled.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public class JsonValidationException extends JsonParseException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final boolean STACKLESS = Boolean.getBoolean("me.jamiemansfield.gsonsimple.stacklessExceptions");
+
+    static JsonValidationException missingEntry(final String key) {
+        return new JsonValidationException(ValidationError.missingEntry(key));
+    }
+
+    static JsonValidationException missingElement(final String name) {
+        return new JsonValidationException(ValidationError.missingElement(name));
+    }
+
+    static JsonValidationException unexpectedType(final String name, final FieldType expected) {
+        return new JsonValidationException(ValidationError.unexpectedType(name, expected));
+    }
+
+    static JsonValidationException inexactNumber(final String name, final FieldType expected) {
+        return new JsonValidationException(ValidationError.inexactNumber(name, expected));
+    }
+
+    private final List<ValidationError> errors;
+
+    /**
+     * Creates an exception reporting a single error.
+     *
+     * @param error The error
+     */
+    public JsonValidationException(final ValidationError error) {
+        this(Collections.singletonList(error));
+    }
+
+    /**
+     * Creates an exception reporting the given errors.
+     *
+     * @param errors The errors
+     */
+    public JsonValidationException(final List<ValidationError> errors) {
+        super((String) null);
+        if (errors.isEmpty()) throw new IllegalArgumentException("No errors to report!");
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Gets the errors reported by the exception.
+     *
+     * @return The errors
+     */
+    public List<ValidationError> getErrors() {
+        return this.errors;
+    }
+
+    @Override
+    public String getMessage() {
+        if (this.errors.size() == 1) {
+            return this.errors.get(0).getMessage();
+        }
+
+        final StringBuilder message = new StringBuilder();
+        for (final ValidationError error : this.errors) {
+            if (message.length() != 0) message.append(' ');
+            message.append(error.getMessage());
+        }
+        return message.toString();
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (STACKLESS) return this;
+        return super.fillInStackTrace();
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies, in nanoseconds.
+ * <p>
+ * Latencies are recorded into buckets of powers of two - the bucket
+ * {@code n} holding latencies of at least {@code 2^(n-1)}, and less than
+ * {@code 2^n}, nanoseconds - so percentiles are accurate to within a
+ * factor of two. Each bucket is a {@link LongAdder adder}, so that
+ * concurrent recordings don't contend with one another.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the given latency.
+     *
+     * @param nanos The latency, in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long latency = Math.max(nanos, 0);
+        this.buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(latency))].increment();
+        this.total.add(latency);
+    }
+
+    /**
+     * Gets the number of latencies recorded.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        long count = 0;
+        for (final LongAdder bucket : this.buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the sum of the latencies recorded.
+     *
+     * @return The total, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.total.sum();
+    }
+
+    /**
+     * Gets the mean of the latencies recorded.
+     *
+     * @return The mean, in nanoseconds
+     */
+    public double getMeanNanos() {
+        final long count = this.getCount();
+        return count == 0 ? 0 : (double) this.getTotalNanos() / count;
+    }
+
+    /**
+     * Gets an upper bound of the given percentile of the latencies
+     * recorded - the upper bound of the bucket it falls within.
+     *
+     * @param percentile The percentile, between {@code 0} and {@code 100}
+     * @return The upper bound, in nanoseconds
+     */
+    public long getPercentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("Percentile out of range!");
+
+        final long[] counts = this.getBucketCounts();
+        long count = 0;
+        for (final long bucket : counts) {
+            count += bucket;
+        }
+        if (count == 0) return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets a snapshot of the number of latencies recorded in each bucket.
+     *
+     * @return The counts, by bucket
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Removes all of the latencies recorded.
+     */
+    public void reset() {
+        for (final LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+        this.total.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{count=" + this.getCount() +
+                ", mean=" + Math.round(this.getMeanNanos()) + "ns" +
+                ", p50=" + this.getPercentileNanos(50) + "ns" +
+                ", p99=" + this.getPercentileNanos(99) + "ns}";
+    }
+
+}
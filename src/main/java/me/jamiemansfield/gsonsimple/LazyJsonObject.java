@@ -0,0 +1,441 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonObjectView view} of a JSON object, that is backed by a
+ * structural index over its raw text.
+ * <p>
+ * Parsing a lazy object only records where each value begins and ends -
+ * no {@link JsonElement elements}, strings or numbers are created until
+ * they are accessed, making it well suited to large documents of which
+ * only a few fields are read. Elements are created afresh on each
+ * access, and the view itself is read-only.
+ * <p>
+ * Alongside {@link JsonObjectView#get(String)}, which allows use with
+ * {@link GsonObjects}, typed getters are available that read values
+ * straight from the raw text - and {@link #getLazyObject(String)}, to
+ * descend into nested objects without building them.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class LazyJsonObject implements JsonObjectView {
+
+    /**
+     * Parses the given JSON into a lazy object.
+     *
+     * @param json The JSON
+     * @return The lazy object
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     */
+    public static LazyJsonObject parse(final String json) throws JsonParseException {
+        final char[] chars = json.toCharArray();
+        return parse(chars, chars.length);
+    }
+
+    /**
+     * Parses the given JSON into a lazy object.
+     * <p>
+     * The lazy object reads from the given array, rather than a copy of
+     * it, so it must not be modified afterwards.
+     *
+     * @param json The JSON
+     * @param length The length of the JSON within the array
+     * @return The lazy object
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     */
+    public static LazyJsonObject parse(final char[] json, final int length) throws JsonParseException {
+        return of(new CharJsonIndex(json, length), null);
+    }
+
+    /**
+     * Parses the given UTF-8 encoded JSON into a lazy object, reading
+     * the remainder of the buffer - from its position to its limit.
+     * <p>
+     * The buffer is read in place, without being decoded, so is well
+     * suited to {@link java.nio.MappedByteBuffer mapped files} and pooled
+     * network buffers. Strings are only decoded once requested, and
+     * numbers are read from the bytes themselves. The lazy object reads
+     * from the given buffer, so its contents must not be modified
+     * afterwards - though its position may be.
+     *
+     * @param json The JSON
+     * @return The lazy object
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     * @see Utf8Reader For reading larger files
+     */
+    public static LazyJsonObject parse(final ByteBuffer json) throws JsonParseException {
+        return of(new Utf8JsonIndex(json.duplicate()), null);
+    }
+
+    /**
+     * Parses the given UTF-8 encoded JSON into a lazy object.
+     * <p>
+     * The lazy object reads from the given array, rather than a copy of
+     * it, so it must not be modified afterwards.
+     *
+     * @param json The JSON
+     * @param offset The offset of the JSON within the array
+     * @param length The length of the JSON, in bytes
+     * @return The lazy object
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     * @see #parse(ByteBuffer)
+     */
+    public static LazyJsonObject parse(final byte[] json, final int offset, final int length) throws JsonParseException {
+        return parse(ByteBuffer.wrap(json, offset, length));
+    }
+
+    /**
+     * Creates the lazy object of the document held by the given index.
+     *
+     * @param index The index
+     * @param pool The string pool, or {@code null} for none
+     * @return The lazy object
+     * @throws JsonParseException If the document isn't an object
+     */
+    static LazyJsonObject of(final JsonIndex index, final StringPool pool) {
+        requireDocument(index);
+        return new LazyJsonObject(index, 0, pool);
+    }
+
+    /**
+     * Checks that the document held by the given index is an object.
+     *
+     * @param index The index
+     * @throws JsonParseException If the document isn't an object
+     */
+    static void requireDocument(final JsonIndex index) {
+        if (index.types[0] != JsonIndex.OBJECT) {
+            throw JsonValidationException.unexpectedType("document", FieldType.OBJECT);
+        }
+    }
+
+    /**
+     * Reads the remainder of the given reader, and parses it into a
+     * lazy object.
+     *
+     * @param reader The reader
+     * @return The lazy object
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     */
+    public static LazyJsonObject parse(final Reader reader) throws IOException {
+        char[] chars = new char[8192];
+        int length = 0;
+        int read;
+        while ((read = reader.read(chars, length, chars.length - length)) != -1) {
+            length += read;
+            if (length == chars.length) chars = Arrays.copyOf(chars, length << 1);
+        }
+        return parse(chars, length);
+    }
+
+    private final JsonIndex index;
+    private final int token;
+    private final StringPool pool;
+
+    private LazyJsonObject(final JsonIndex index, final int token, final StringPool pool) {
+        this.index = index;
+        this.token = token;
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a view of this object that deduplicates the strings it
+     * creates - its keys, and string values - through the given
+     * {@link StringPool pool}. Nested lazy objects share the pool.
+     * <p>
+     * Strings are compared against the pool from the raw text, so those
+     * already pooled are found without allocating.
+     *
+     * @param pool The string pool
+     * @return The view
+     */
+    public LazyJsonObject withStringPool(final StringPool pool) {
+        return new LazyJsonObject(this.index, this.token, pool);
+    }
+
+    /**
+     * Finds the value token of the entry with the given key - the last,
+     * should the key be repeated, as with {@link JsonObject}.
+     */
+    private int find(final String key) {
+        int value = -1;
+        final int end = this.index.ends[this.token];
+        for (int entry = this.token + 1; entry < end; entry = this.index.next(entry + 1)) {
+            if (this.index.matches(entry, key)) value = entry + 1;
+        }
+        return value;
+    }
+
+    private int require(final String key) {
+        final int value = this.find(key);
+        if (value == -1) throw JsonValidationException.missingEntry(key);
+        return value;
+    }
+
+    @Override
+    public boolean has(final String key) {
+        return this.find(key) != -1;
+    }
+
+    @Override
+    public JsonElement get(final String key) {
+        final int value = this.find(key);
+        return value == -1 ? null : this.index.materialise(value, this.pool);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Should a key be repeated within the raw text, each occurrence
+     * is counted.
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        final int end = this.index.ends[this.token];
+        for (int entry = this.token + 1; entry < end; entry = this.index.next(entry + 1)) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Gets a nested lazy object from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The lazy object
+     * @throws JsonParseException If the object is missing the entry, or it isn't an object
+     */
+    public LazyJsonObject getLazyObject(final String key) throws JsonParseException {
+        final int value = this.require(key);
+        final byte type = this.index.types[value];
+        if (type == JsonIndex.NULL) return null;
+        if (type != JsonIndex.OBJECT) throw JsonValidationException.unexpectedType(key, FieldType.OBJECT);
+        return new LazyJsonObject(this.index, value, this.pool);
+    }
+
+    /**
+     * Gets an {@link JsonObject object} from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The JSON object
+     * @throws JsonParseException If the object is missing the entry, or it isn't an object
+     * @see GsonObjects#getObject(JsonObject, String)
+     */
+    public JsonObject getObject(final String key) throws JsonParseException {
+        final int value = this.require(key);
+        final byte type = this.index.types[value];
+        if (type == JsonIndex.NULL) return null;
+        if (type != JsonIndex.OBJECT) throw JsonValidationException.unexpectedType(key, FieldType.OBJECT);
+        return this.index.materialise(value, this.pool).getAsJsonObject();
+    }
+
+    /**
+     * Gets an {@link JsonArray array} from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The JSON array
+     * @throws JsonParseException If the object is missing the entry, or it isn't an array
+     * @see GsonObjects#getArray(JsonObject, String)
+     */
+    public JsonArray getArray(final String key) throws JsonParseException {
+        final int value = this.require(key);
+        final byte type = this.index.types[value];
+        if (type == JsonIndex.NULL) return null;
+        if (type != JsonIndex.ARRAY) throw JsonValidationException.unexpectedType(key, FieldType.ARRAY);
+        return this.index.materialise(value, this.pool).getAsJsonArray();
+    }
+
+    /**
+     * Gets a string from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a string
+     * @see GsonObjects#getString(JsonObject, String)
+     */
+    public String getString(final String key) throws JsonParseException {
+        final int value = this.require(key);
+        final byte type = this.index.types[value];
+        if (type == JsonIndex.NULL) return null;
+        if (type != JsonIndex.STRING && type != JsonIndex.ESCAPED_STRING) {
+            throw JsonValidationException.unexpectedType(key, FieldType.STRING);
+        }
+        return this.index.string(value, this.pool);
+    }
+
+    /**
+     * Gets a boolean from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a boolean
+     * @see GsonObjects#getBoolean(JsonObject, String)
+     */
+    public boolean getBoolean(final String key) throws JsonParseException {
+        final int value = this.require(key);
+        final byte type = this.index.types[value];
+        if (type != JsonIndex.TRUE && type != JsonIndex.FALSE) {
+            throw JsonValidationException.unexpectedType(key, FieldType.BOOLEAN);
+        }
+        return type == JsonIndex.TRUE;
+    }
+
+    /**
+     * Gets an integer from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't an integer
+     * @see GsonObjects#getInt(JsonObject, String)
+     */
+    public int getInt(final String key) throws JsonParseException {
+        final int value = this.requireNumber(key, FieldType.INT);
+        return this.index.toInt(value);
+    }
+
+    /**
+     * Gets a long from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a long
+     * @see GsonObjects#getLong(JsonObject, String)
+     */
+    public long getLong(final String key) throws JsonParseException {
+        final int value = this.requireNumber(key, FieldType.LONG);
+        return this.index.toLong(value);
+    }
+
+    /**
+     * Gets an integer from the object, throwing a {@link JsonParseException}
+     * if not present, or if it can't be held exactly.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't
+     *                            an integer that can be held exactly
+     * @see GsonObjects#getExactInt(JsonObject, String)
+     */
+    public int getExactInt(final String key) throws JsonParseException {
+        final int value = this.requireNumber(key, FieldType.INT);
+        try {
+            return this.index.toExactInt(value);
+        } catch (final ArithmeticException ex) {
+            throw JsonValidationException.inexactNumber(key, FieldType.INT);
+        }
+    }
+
+    /**
+     * Gets a long from the object, throwing a {@link JsonParseException}
+     * if not present, or if it can't be held exactly.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't
+     *                            a long that can be held exactly
+     * @see GsonObjects#getExactLong(JsonObject, String)
+     */
+    public long getExactLong(final String key) throws JsonParseException {
+        final int value = this.requireNumber(key, FieldType.LONG);
+        try {
+            return this.index.toExactLong(value);
+        } catch (final ArithmeticException ex) {
+            throw JsonValidationException.inexactNumber(key, FieldType.LONG);
+        }
+    }
+
+    /**
+     * Gets a double from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a double
+     * @see GsonObjects#getDouble(JsonObject, String)
+     */
+    public double getDouble(final String key) throws JsonParseException {
+        final int value = this.requireNumber(key, FieldType.DOUBLE);
+        return this.index.toDouble(value);
+    }
+
+    /**
+     * Gets a float from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a float
+     * @see GsonObjects#getFloat(JsonObject, String)
+     */
+    public float getFloat(final String key) throws JsonParseException {
+        final int value = this.requireNumber(key, FieldType.FLOAT);
+        return this.index.toFloat(value);
+    }
+
+    private int requireNumber(final String key, final FieldType type) {
+        final int value = this.require(key);
+        if (this.index.types[value] != JsonIndex.NUMBER) {
+            throw JsonValidationException.unexpectedType(key, type);
+        }
+        return value;
+    }
+
+    /**
+     * Builds the whole of the object into a {@link JsonObject JSON object}.
+     *
+     * @return The JSON object
+     */
+    public JsonObject toJsonObject() {
+        return this.index.materialise(this.token, this.pool).getAsJsonObject();
+    }
+
+    @Override
+    public String toString() {
+        return this.toJsonObject().toString();
+    }
+
+}
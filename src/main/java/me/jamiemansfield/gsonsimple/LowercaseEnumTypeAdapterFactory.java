@@ -29,61 +29,34 @@ import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonToken;
-import com.google.gson.stream.JsonWriter;
-
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * A {@link TypeAdapterFactory type adapter factory} to allow enum's
  * to be serialised/de-serialised with their lowercase names.
+ * <p>
+ * This is an {@link EnumTypeAdapterFactory} using the
+ * {@link EnumNaming#LOWERCASE lowercase naming strategy}, reading unknown
+ * values as {@code null}. The adapters produced by this factory are shared
+ * between all {@link Gson} instances, with one adapter being created per
+ * enum class - the lowercase names of its constants are computed once, at
+ * that point. Should the lowercase names of constants collide, the last
+ * of them is read.
  *
  * @author Jamie Mansfield
  * @since 0.1.1
  */
 public class LowercaseEnumTypeAdapterFactory implements TypeAdapterFactory {
 
+    static final EnumTypeAdapterFactory DELEGATE = EnumTypeAdapterFactory.builder()
+            .naming(EnumNaming.LOWERCASE)
+            .serializedNames(false)
+            .unknownValue(EnumTypeAdapterFactory.UnknownValue.NULL)
+            .replaceAmbiguousNames()
+            .build();
+
     @Override
     public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
-        final Class<T> rawType = (Class<T>) type.getRawType();
-        if (!rawType.isEnum()) return null;
-
-        final Map<String, T> values = new HashMap<>();
-        for (final T constant : rawType.getEnumConstants()) {
-            values.put(toLowercase(constant), constant);
-        }
-
-        return new TypeAdapter<T>() {
-            @Override
-            public void write(final JsonWriter out, final T value) throws IOException {
-                if (value == null) {
-                    out.nullValue();
-                    return;
-                }
-                out.value(toLowercase(value));
-            }
-
-            @Override
-            public T read(final JsonReader in) throws IOException {
-                if (in.peek() == JsonToken.NULL) {
-                    in.nextNull();
-                    return null;
-                }
-                return values.get(in.nextString());
-            }
-        };
-    }
-
-    private static String toLowercase(final Object obj) {
-        if (obj instanceof Enum) {
-            return ((Enum) obj).name().toLowerCase();
-        }
-        // This is just a fallback, though it should NEVER
-        // be reached.
-        return obj.toString().toLowerCase();
+        return DELEGATE.create(gson, type);
     }
 
 }
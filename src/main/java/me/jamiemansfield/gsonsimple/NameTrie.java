@@ -0,0 +1,271 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable trie of names, mapping each to a non-negative value - used
+ * to match tokens character-by-character, optionally ignoring case,
+ * without hashing or allocating.
+ * <p>
+ * The nodes of the trie are flattened into arrays, with the edges of each
+ * node stored contiguously - so matching is a walk over a few small
+ * arrays. Chains of nodes leading to a single name are collapsed into the
+ * remainder of that name, which is compared directly.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class NameTrie {
+
+    private final boolean ignoreCase;
+
+    // The edges of node n are edgeStart[n] (inclusive) to edgeStart[n + 1]
+    private final int[] edgeStart;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] values;
+
+    // The remainder of the single name reachable from each collapsed node,
+    // otherwise null
+    private final String[] tails;
+
+    private NameTrie(final boolean ignoreCase, final int[] edgeStart, final char[] labels, final int[] targets,
+            final int[] values, final String[] tails) {
+        this.ignoreCase = ignoreCase;
+        this.edgeStart = edgeStart;
+        this.labels = labels;
+        this.targets = targets;
+        this.values = values;
+        this.tails = tails;
+    }
+
+    /**
+     * Matches the given name.
+     *
+     * @param name The name
+     * @return The value of the name, or {@code -1} if it isn't in the trie
+     */
+    int match(final CharSequence name) {
+        return this.match(name, 0, name.length());
+    }
+
+    /**
+     * Matches the name in the given region of a sequence.
+     *
+     * @param sequence The sequence
+     * @param start The start of the name, inclusive
+     * @param end The end of the name, exclusive
+     * @return The value of the name, or {@code -1} if it isn't in the trie
+     */
+    int match(final CharSequence sequence, final int start, final int end) {
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            final String tail = this.tails[node];
+            if (tail != null) return this.matchTail(tail, sequence, i, end) ? this.values[node] : -1;
+
+            final char c = this.ignoreCase ? fold(sequence.charAt(i)) : sequence.charAt(i);
+
+            int next = -1;
+            for (int edge = this.edgeStart[node], last = this.edgeStart[node + 1]; edge < last; edge++) {
+                if (this.labels[edge] == c) {
+                    next = this.targets[edge];
+                    break;
+                }
+            }
+            if (next < 0) return -1;
+            node = next;
+        }
+        final String tail = this.tails[node];
+        return tail == null || tail.isEmpty() ? this.values[node] : -1;
+    }
+
+    private boolean matchTail(final String tail, final CharSequence sequence, final int start, final int end) {
+        if (end - start != tail.length()) return false;
+        for (int i = 0; i < tail.length(); i++) {
+            final char c = this.ignoreCase ? fold(sequence.charAt(start + i)) : sequence.charAt(start + i);
+            if (c != tail.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Folds the case of the given character, as
+     * {@link String#equalsIgnoreCase(String)} does.
+     *
+     * @param c The character
+     * @return The folded character
+     */
+    static char fold(final char c) {
+        if (c < 0x80) return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * A builder of {@link NameTrie name tries}.
+     */
+    static final class Builder {
+
+        private final boolean ignoreCase;
+        private final Node root = new Node();
+        private int nodes = 1;
+        private int edges;
+
+        /**
+         * Creates a builder of a trie.
+         *
+         * @param ignoreCase Whether the case of names is ignored
+         */
+        Builder(final boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+        }
+
+        /**
+         * Adds the given name to the trie.
+         *
+         * @param name The name
+         * @param value The value of the name, non-negative
+         * @return {@code this}, for chaining
+         * @throws IllegalArgumentException If the name is already mapped
+         *                                  to a different value
+         */
+        Builder put(final String name, final int value) {
+            final Node node = this.node(name, value);
+            if (node.value >= 0 && node.value != value) {
+                throw new IllegalArgumentException("Name '" + name + "' is ambiguous!");
+            }
+            node.value = value;
+            return this;
+        }
+
+        /**
+         * Adds the given name to the trie, replacing any value it is
+         * already mapped to.
+         *
+         * @param name The name
+         * @param value The value of the name, non-negative
+         * @return {@code this}, for chaining
+         */
+        Builder replace(final String name, final int value) {
+            this.node(name, value).value = value;
+            return this;
+        }
+
+        private Node node(final String name, final int value) {
+            if (value < 0) throw new IllegalArgumentException("Values must be non-negative!");
+
+            Node node = this.root;
+            for (int i = 0; i < name.length(); i++) {
+                final char c = this.ignoreCase ? fold(name.charAt(i)) : name.charAt(i);
+                Node child = node.children.get(c);
+                if (child == null) {
+                    node.children.put(c, child = new Node());
+                    this.nodes++;
+                    this.edges++;
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        /**
+         * Builds the trie.
+         *
+         * @return The trie
+         */
+        NameTrie build() {
+            this.collapse(this.root);
+
+            final int[] edgeStart = new int[this.nodes + 1];
+            final char[] labels = new char[this.edges];
+            final int[] targets = new int[this.edges];
+            final int[] values = new int[this.nodes];
+            final String[] tails = new String[this.nodes];
+
+            // Nodes are numbered breadth-first, such that the edges of each
+            // node are laid out in the order the nodes are visited
+            final ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(this.root);
+            int next = 1;
+            int edge = 0;
+            for (int index = 0; index < this.nodes; index++) {
+                final Node node = queue.poll();
+                values[index] = node.value;
+                tails[index] = node.tail;
+                edgeStart[index] = edge;
+                for (final Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                    labels[edge] = entry.getKey();
+                    targets[edge] = next++;
+                    edge++;
+                    queue.add(entry.getValue());
+                }
+            }
+            edgeStart[this.nodes] = edge;
+
+            return new NameTrie(this.ignoreCase, edgeStart, labels, targets, values, tails);
+        }
+
+        /**
+         * Collapses the chains of nodes leading to a single name, below the
+         * given node, into the remainder of that name.
+         *
+         * @param node The node
+         * @return The number of names at, or below, the node
+         */
+        private int collapse(final Node node) {
+            int names = node.value >= 0 ? 1 : 0;
+            for (final Node child : node.children.values()) {
+                names += this.collapse(child);
+            }
+
+            // Children are collapsed first, so the single child of such a
+            // node is either collapsed itself or the end of the name
+            if (names == 1 && node != this.root && node.value < 0) {
+                final Map.Entry<Character, Node> entry = node.children.firstEntry();
+                final Node child = entry.getValue();
+                node.tail = child.tail == null ? String.valueOf(entry.getKey()) : entry.getKey() + child.tail;
+                node.value = child.value;
+                node.children.clear();
+                this.nodes--;
+                this.edges--;
+            }
+            return names;
+        }
+
+    }
+
+    private static final class Node {
+
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        int value = -1;
+        String tail;
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+/**
+ * A JSON number, held as its literal text and converted on demand
+ * in the same manner as Gson's own lazily parsed numbers.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class NumberLiteral extends Number {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String value;
+
+    NumberLiteral(final String value) {
+        this.value = value;
+    }
+
+    @Override
+    public int intValue() {
+        return GsonNumbers.toInt(this.value, 0, this.value.length());
+    }
+
+    @Override
+    public long longValue() {
+        return GsonNumbers.toLong(this.value, 0, this.value.length());
+    }
+
+    @Override
+    public float floatValue() {
+        return GsonNumbers.toFloat(this.value);
+    }
+
+    @Override
+    public double doubleValue() {
+        return GsonNumbers.toDouble(this.value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof NumberLiteral)) return false;
+        return this.value.equals(((NumberLiteral) obj).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+
+}
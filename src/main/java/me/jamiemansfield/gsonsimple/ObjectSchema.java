@@ -0,0 +1,607 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled description of the entries expected of a
+ * {@link JsonObject JSON object}, used to validate and extract all of
+ * an object's fields in a single pass over its entries.
+ * <p>
+ * Schemas are immutable, and can be shared between threads. Values are
+ * checked in the same manner as {@link GsonRequirements} (or
+ * {@link GsonReaders} when reading from a stream), and missing required
+ * entries are reported as with {@link GsonObjects}.
+ *
+ * <pre>{@code
+ * private static final ObjectSchema PERSON = ObjectSchema.builder()
+ *         .required("name", FieldType.STRING)
+ *         .optional("age", 18)
+ *         .build();
+ *
+ * final SchemaResult person = PERSON.extract(object);
+ * final String name = person.getString("name");
+ * }</pre>
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class ObjectSchema {
+
+    /**
+     * Creates a new {@link Builder builder} for an object schema.
+     *
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private final String[] keys;
+    private final FieldType[] types;
+    private final boolean[] required;
+    private final long[] defaultPrimitives;
+    private final Object[] defaultReferences;
+
+    // An open-addressed table, from key to field index
+    private final String[] tableKeys;
+    private final int[] tableFields;
+    private final int mask;
+
+    private ObjectSchema(final List<Field> fields) {
+        final int size = fields.size();
+        this.keys = new String[size];
+        this.types = new FieldType[size];
+        this.required = new boolean[size];
+        this.defaultPrimitives = new long[size];
+        this.defaultReferences = new Object[size];
+
+        int capacity = 2;
+        while (capacity < size * 2) capacity <<= 1;
+        this.tableKeys = new String[capacity];
+        this.tableFields = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < size; i++) {
+            final Field field = fields.get(i);
+            this.keys[i] = field.key;
+            this.types[i] = field.type;
+            this.required[i] = field.required;
+            this.defaultPrimitives[i] = field.defaultPrimitive;
+            this.defaultReferences[i] = field.defaultReference;
+
+            int slot = hash(field.key) & this.mask;
+            while (this.tableKeys[slot] != null) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.tableKeys[slot] = field.key;
+            this.tableFields[slot] = i;
+        }
+    }
+
+    private static int hash(final String key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets the number of fields declared by the schema.
+     *
+     * @return The number of fields
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Gets the index of the field with the given key.
+     *
+     * @param key The key of the field
+     * @return The index of the field, or {@code -1} if the schema
+     *         doesn't declare it
+     */
+    public int indexOf(final String key) {
+        int slot = hash(key) & this.mask;
+        String candidate;
+        while ((candidate = this.tableKeys[slot]) != null) {
+            if (candidate == key || candidate.equals(key)) return this.tableFields[slot];
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the key of the field at the given index.
+     *
+     * @param field The index of the field
+     * @return The key
+     */
+    public String getKey(final int field) {
+        return this.keys[field];
+    }
+
+    /**
+     * Gets the type of the field at the given index.
+     *
+     * @param field The index of the field
+     * @return The type
+     */
+    public FieldType getType(final int field) {
+        return this.types[field];
+    }
+
+    /**
+     * Establishes whether the field at the given index is required.
+     *
+     * @param field The index of the field
+     * @return {@code true} if the field is required;
+     *         otherwise {@code false}
+     */
+    public boolean isRequired(final int field) {
+        return this.required[field];
+    }
+
+    /**
+     * Validates and extracts the fields of the given {@link JsonObject object}.
+     *
+     * @param object The JSON object
+     * @return The extracted values
+     * @throws JsonParseException If the object is missing a required entry,
+     *                            or an entry is of the wrong type
+     */
+    public SchemaResult extract(final JsonObject object) throws JsonParseException {
+        final SchemaResult result = new SchemaResult(this);
+        this.extract(object, result.sink(), result.present());
+        return result;
+    }
+
+    /**
+     * Validates and extracts the fields of the given {@link JsonObject object},
+     * giving their values to a {@link SchemaSink sink}.
+     *
+     * @param object The JSON object
+     * @param sink The sink to give values to
+     * @throws JsonParseException If the object is missing a required entry,
+     *                            or an entry is of the wrong type
+     */
+    public void extract(final JsonObject object, final SchemaSink sink) throws JsonParseException {
+        this.extract(object, sink, new boolean[this.keys.length]);
+    }
+
+    private void extract(final JsonObject object, final SchemaSink sink, final boolean[] seen) {
+        for (final Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            final int field = this.indexOf(entry.getKey());
+            if (field == -1) continue;
+
+            seen[field] = true;
+            this.accept(field, entry.getValue(), sink);
+        }
+        this.complete(seen, sink);
+    }
+
+    /**
+     * Validates and extracts the fields of the next object of the given
+     * {@link JsonReader reader}, skipping any undeclared entries.
+     *
+     * @param in The JSON reader
+     * @return The extracted values
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the object is missing a required entry,
+     *                            or an entry is of the wrong type
+     */
+    public SchemaResult extract(final JsonReader in) throws IOException {
+        final SchemaResult result = new SchemaResult(this);
+        this.extract(in, result.sink(), result.present());
+        return result;
+    }
+
+    /**
+     * Validates and extracts the fields of the next object of the given
+     * {@link JsonReader reader}, giving their values to a
+     * {@link SchemaSink sink} and skipping any undeclared entries.
+     *
+     * @param in The JSON reader
+     * @param sink The sink to give values to
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the object is missing a required entry,
+     *                            or an entry is of the wrong type
+     */
+    public void extract(final JsonReader in, final SchemaSink sink) throws IOException {
+        this.extract(in, sink, new boolean[this.keys.length]);
+    }
+
+    private void extract(final JsonReader in, final SchemaSink sink, final boolean[] seen) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            final int field = this.indexOf(in.nextName());
+            if (field == -1) {
+                in.skipValue();
+                continue;
+            }
+
+            seen[field] = true;
+            this.accept(field, in, sink);
+        }
+        in.endObject();
+        this.complete(seen, sink);
+    }
+
+    /**
+     * Validates and extracts the fields of the given {@link JsonObject object},
+     * recording every problem found rather than throwing on the first.
+     *
+     * @param object The JSON object
+     * @return The outcome of the validation
+     */
+    public ValidationResult validate(final JsonObject object) {
+        final SchemaResult result = new SchemaResult(this);
+        final SchemaSink sink = result.sink();
+        final boolean[] seen = result.present();
+        final Validator validator = new Validator();
+
+        for (final Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            final int field = this.indexOf(entry.getKey());
+            if (field == -1) continue;
+
+            seen[field] = true;
+            if (!this.types[field].matches(entry.getValue())) {
+                validator.report(ValidationError.unexpectedType(this.keys[field], this.types[field]));
+                continue;
+            }
+            this.accept(field, entry.getValue(), sink);
+        }
+        this.complete(seen, sink, validator);
+
+        return new ValidationResult(result, validator);
+    }
+
+    /**
+     * Validates and extracts the fields of the next object of the given
+     * {@link JsonReader reader}, recording every problem found rather than
+     * throwing on the first.
+     *
+     * @param in The JSON reader
+     * @return The outcome of the validation
+     * @throws IOException If an I/O error occurs reading from the reader
+     */
+    public ValidationResult validate(final JsonReader in) throws IOException {
+        final SchemaResult result = new SchemaResult(this);
+        final SchemaSink sink = result.sink();
+        final boolean[] seen = result.present();
+        final Validator validator = new Validator();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            final int field = this.indexOf(in.nextName());
+            if (field == -1) {
+                in.skipValue();
+                continue;
+            }
+
+            seen[field] = true;
+            if (!this.types[field].matches(in.peek())) {
+                validator.report(ValidationError.unexpectedType(this.keys[field], this.types[field]));
+                in.skipValue();
+                continue;
+            }
+            this.accept(field, in, sink);
+        }
+        in.endObject();
+        this.complete(seen, sink, validator);
+
+        return new ValidationResult(result, validator);
+    }
+
+    private void accept(final int field, final JsonElement value, final SchemaSink sink) {
+        final String key = this.keys[field];
+        switch (this.types[field]) {
+            case OBJECT:
+                sink.acceptObject(field, GsonRequirements.requireObject(value, key));
+                break;
+            case ARRAY:
+                sink.acceptArray(field, GsonRequirements.requireArray(value, key));
+                break;
+            case STRING:
+                sink.acceptString(field, GsonRequirements.requireString(value, key));
+                break;
+            case BOOLEAN:
+                sink.acceptBoolean(field, GsonRequirements.requireBoolean(value, key));
+                break;
+            case INT:
+                sink.acceptInt(field, GsonRequirements.requireInt(value, key));
+                break;
+            case LONG:
+                sink.acceptLong(field, GsonRequirements.requireLong(value, key));
+                break;
+            case DOUBLE:
+                sink.acceptDouble(field, GsonRequirements.requireDouble(value, key));
+                break;
+            case FLOAT:
+                sink.acceptFloat(field, GsonRequirements.requireFloat(value, key));
+                break;
+        }
+    }
+
+    private void accept(final int field, final JsonReader in, final SchemaSink sink) throws IOException {
+        final String key = this.keys[field];
+        switch (this.types[field]) {
+            case OBJECT:
+                sink.acceptObject(field, GsonReaders.requireObject(in, key));
+                break;
+            case ARRAY:
+                sink.acceptArray(field, GsonReaders.requireArray(in, key));
+                break;
+            case STRING:
+                sink.acceptString(field, GsonReaders.requireString(in, key));
+                break;
+            case BOOLEAN:
+                sink.acceptBoolean(field, GsonReaders.requireBoolean(in, key));
+                break;
+            case INT:
+                sink.acceptInt(field, GsonReaders.requireInt(in, key));
+                break;
+            case LONG:
+                sink.acceptLong(field, GsonReaders.requireLong(in, key));
+                break;
+            case DOUBLE:
+                sink.acceptDouble(field, GsonReaders.requireDouble(in, key));
+                break;
+            case FLOAT:
+                sink.acceptFloat(field, GsonReaders.requireFloat(in, key));
+                break;
+        }
+    }
+
+    private void complete(final boolean[] seen, final SchemaSink sink) {
+        for (int field = 0; field < seen.length; field++) {
+            if (seen[field]) continue;
+            if (this.required[field]) {
+                throw JsonValidationException.missingEntry(this.keys[field]);
+            }
+            this.acceptDefault(field, sink);
+        }
+    }
+
+    private void complete(final boolean[] seen, final SchemaSink sink, final Validator validator) {
+        for (int field = 0; field < seen.length; field++) {
+            if (seen[field]) continue;
+            if (this.required[field]) {
+                validator.report(ValidationError.missingEntry(this.keys[field]));
+                continue;
+            }
+            this.acceptDefault(field, sink);
+        }
+    }
+
+    private void acceptDefault(final int field, final SchemaSink sink) {
+        final long primitive = this.defaultPrimitives[field];
+        final Object reference = this.defaultReferences[field];
+        switch (this.types[field]) {
+            case OBJECT:
+                sink.acceptObject(field, reference == null ? null : ((JsonObject) reference).deepCopy());
+                break;
+            case ARRAY:
+                sink.acceptArray(field, reference == null ? null : ((JsonArray) reference).deepCopy());
+                break;
+            case STRING:
+                sink.acceptString(field, (String) reference);
+                break;
+            case BOOLEAN:
+                sink.acceptBoolean(field, primitive != 0);
+                break;
+            case INT:
+                sink.acceptInt(field, (int) primitive);
+                break;
+            case LONG:
+                sink.acceptLong(field, primitive);
+                break;
+            case DOUBLE:
+                sink.acceptDouble(field, Double.longBitsToDouble(primitive));
+                break;
+            case FLOAT:
+                sink.acceptFloat(field, (float) Double.longBitsToDouble(primitive));
+                break;
+        }
+    }
+
+    /**
+     * A builder for {@link ObjectSchema object schemas}.
+     * <p>
+     * Fields are given indices in the order they are declared.
+     */
+    public static final class Builder {
+
+        private final List<Field> fields = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Declares a required field.
+         *
+         * @param key The key of the field
+         * @param type The type of the field
+         * @return {@code this}, for chaining
+         */
+        public Builder required(final String key, final FieldType type) {
+            return this.field(new Field(key, type, true, 0, null));
+        }
+
+        /**
+         * Declares an optional field, defaulting to {@code null}, {@code false}
+         * or {@code 0} - depending on its type.
+         *
+         * @param key The key of the field
+         * @param type The type of the field
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final FieldType type) {
+            return this.field(new Field(key, type, false, 0, null));
+        }
+
+        /**
+         * Declares an optional {@link FieldType#OBJECT object} field. A copy
+         * of the default is given for each object that is missing the field.
+         *
+         * @param key The key of the field
+         * @param defaultValue The default value
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final JsonObject defaultValue) {
+            return this.field(new Field(key, FieldType.OBJECT, false, 0, defaultValue.deepCopy()));
+        }
+
+        /**
+         * Declares an optional {@link FieldType#ARRAY array} field. A copy
+         * of the default is given for each object that is missing the field.
+         *
+         * @param key The key of the field
+         * @param defaultValue The default value
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final JsonArray defaultValue) {
+            return this.field(new Field(key, FieldType.ARRAY, false, 0, defaultValue.deepCopy()));
+        }
+
+        /**
+         * Declares an optional {@link FieldType#STRING string} field.
+         *
+         * @param key The key of the field
+         * @param defaultValue The default value
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final String defaultValue) {
+            return this.field(new Field(key, FieldType.STRING, false, 0, defaultValue));
+        }
+
+        /**
+         * Declares an optional {@link FieldType#BOOLEAN boolean} field.
+         *
+         * @param key The key of the field
+         * @param defaultValue The default value
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final boolean defaultValue) {
+            return this.field(new Field(key, FieldType.BOOLEAN, false, defaultValue ? 1 : 0, null));
+        }
+
+        /**
+         * Declares an optional {@link FieldType#INT integer} field.
+         *
+         * @param key The key of the field
+         * @param defaultValue The default value
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final int defaultValue) {
+            return this.field(new Field(key, FieldType.INT, false, defaultValue, null));
+        }
+
+        /**
+         * Declares an optional {@link FieldType#LONG long} field.
+         *
+         * @param key The key of the field
+         * @param defaultValue The default value
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final long defaultValue) {
+            return this.field(new Field(key, FieldType.LONG, false, defaultValue, null));
+        }
+
+        /**
+         * Declares an optional {@link FieldType#DOUBLE double} field.
+         *
+         * @param key The key of the field
+         * @param defaultValue The default value
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final double defaultValue) {
+            return this.field(new Field(key, FieldType.DOUBLE, false, Double.doubleToRawLongBits(defaultValue), null));
+        }
+
+        /**
+         * Declares an optional {@link FieldType#FLOAT float} field.
+         *
+         * @param key The key of the field
+         * @param defaultValue The default value
+         * @return {@code this}, for chaining
+         */
+        public Builder optional(final String key, final float defaultValue) {
+            return this.field(new Field(key, FieldType.FLOAT, false, Double.doubleToRawLongBits(defaultValue), null));
+        }
+
+        private Builder field(final Field field) {
+            for (final Field existing : this.fields) {
+                if (existing.key.equals(field.key)) {
+                    throw new IllegalArgumentException("Field '" + field.key + "' has already been declared!");
+                }
+            }
+            this.fields.add(field);
+            return this;
+        }
+
+        /**
+         * Compiles the declared fields into an {@link ObjectSchema object schema}.
+         *
+         * @return The schema
+         */
+        public ObjectSchema build() {
+            return new ObjectSchema(this.fields);
+        }
+
+    }
+
+    private static final class Field {
+
+        final String key;
+        final FieldType type;
+        final boolean required;
+        final long defaultPrimitive;
+        final Object defaultReference;
+
+        Field(final String key, final FieldType type, final boolean required,
+                final long defaultPrimitive, final Object defaultReference) {
+            if (key == null) throw new NullPointerException("key");
+            if (type == null) throw new NullPointerException("type");
+            this.key = key;
+            this.type = type;
+            this.required = required;
+            this.defaultPrimitive = defaultPrimitive;
+            this.defaultReference = defaultReference;
+        }
+
+    }
+
+}
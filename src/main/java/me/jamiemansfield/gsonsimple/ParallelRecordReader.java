@@ -0,0 +1,334 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Reads the records of a large stream of JSON - either a single top-level
+ * array, or newline-delimited JSON - decoding them in parallel while
+ * delivering the results in their original order.
+ * <p>
+ * Records are split from the stream on the consuming thread, and handed
+ * to an {@link Executor executor} in batches to be parsed and decoded.
+ * At most a fixed number of batches are in flight at any time, so memory
+ * use is independent of the size of the stream - and reading from the
+ * stream is held back while the consumer falls behind.
+ *
+ * <pre>{@code
+ * try (final ParallelRecordReader<Order> orders = ParallelRecordReader.builder(Order::fromJson)
+ *         .readLines(reader)) {
+ *     while (orders.hasNext()) {
+ *         process(orders.next());
+ *     }
+ * }
+ * }</pre>
+ * <p>
+ * Should a record fail to decode, the stream be malformed, or the
+ * executor reject a batch, the exception is thrown from {@link #hasNext()} (and so {@link #next()})
+ * once the records preceding it have been consumed. Failures are
+ * terminal: the records following a failure are abandoned, and the
+ * exception is thrown again by each subsequent call. Readers aren't
+ * thread-safe, and are intended to be consumed by a single thread.
+ *
+ * @param <T> The type of the decoded records
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class ParallelRecordReader<T> implements Iterator<T>, Closeable {
+
+    /**
+     * Creates a new {@link Builder builder} for a parallel record reader,
+     * using the given decoder.
+     * <p>
+     * The decoder is called concurrently, from the threads of the
+     * executor, and so must be thread-safe.
+     *
+     * @param decoder The decoder, from a parsed record to its result
+     * @param <T> The type of the decoded records
+     * @return The builder
+     */
+    public static <T> Builder<T> builder(final Function<? super JsonElement, ? extends T> decoder) {
+        return new Builder<>(decoder);
+    }
+
+    private final RecordSplitter splitter;
+    private final Reader reader;
+    private final Function<? super JsonElement, ? extends T> decoder;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxInFlight;
+
+    private final ArrayDeque<CompletableFuture<Batch<T>>> inFlight = new ArrayDeque<>();
+    private Iterator<T> current = Collections.emptyIterator();
+    private RuntimeException failure;
+    private boolean exhausted;
+
+    private ParallelRecordReader(final Builder<T> builder, final Reader reader, final boolean lines) {
+        this.splitter = new RecordSplitter(reader, lines);
+        this.reader = reader;
+        this.decoder = builder.decoder;
+        this.executor = builder.executor;
+        this.batchSize = builder.batchSize;
+        this.maxInFlight = builder.maxInFlight;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.current.hasNext()) {
+            // Failures are terminal, so are thrown again by each call
+            if (this.failure != null) throw this.failure;
+            this.fill();
+            final CompletableFuture<Batch<T>> future = this.inFlight.poll();
+            if (future == null) return false;
+            final Batch<T> batch;
+            try {
+                batch = join(future);
+            } catch (final RuntimeException ex) {
+                this.fail(ex);
+                throw ex;
+            }
+            this.current = batch.results.iterator();
+            if (batch.failure != null) this.fail(batch.failure);
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) throw new NoSuchElementException();
+        return this.current.next();
+    }
+
+    /**
+     * Ends the reader with the given failure, abandoning the batches
+     * still in flight - the records following a failure are never
+     * delivered.
+     */
+    private void fail(final RuntimeException failure) {
+        this.failure = failure;
+        this.exhausted = true;
+        this.cancel();
+    }
+
+    private void cancel() {
+        CompletableFuture<Batch<T>> batch;
+        while ((batch = this.inFlight.poll()) != null) {
+            batch.cancel(false);
+        }
+    }
+
+    private void fill() {
+        while (!this.exhausted && this.inFlight.size() < this.maxInFlight) {
+            final List<String> records = new ArrayList<>(this.batchSize);
+            RuntimeException failure = null;
+            try {
+                String record;
+                while (records.size() < this.batchSize && (record = this.splitter.next()) != null) {
+                    records.add(record);
+                }
+            } catch (final IOException ex) {
+                failure = new UncheckedIOException(ex);
+            } catch (final JsonParseException ex) {
+                failure = ex;
+            }
+
+            if (failure != null || records.size() < this.batchSize) this.exhausted = true;
+            if (failure != null) {
+                // Malformed input is reported after the records preceding it
+                final RuntimeException cause = failure;
+                this.inFlight.add(this.submit(records)
+                        .thenApply(batch -> batch.failure != null ? batch : new Batch<>(batch.results, cause)));
+                return;
+            }
+            if (records.isEmpty()) return;
+            this.inFlight.add(this.submit(records));
+        }
+    }
+
+    private CompletableFuture<Batch<T>> submit(final List<String> records) {
+        try {
+            return CompletableFuture.supplyAsync(() -> this.decode(records), this.executor);
+        } catch (final RejectedExecutionException ex) {
+            // Reported, as any other failure, after the batches before it
+            this.exhausted = true;
+            final CompletableFuture<Batch<T>> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(ex);
+            return rejected;
+        }
+    }
+
+    private Batch<T> decode(final List<String> records) {
+        final List<T> results = new ArrayList<>(records.size());
+        try {
+            for (final String record : records) {
+                results.add(this.decoder.apply(JsonParser.parseString(record)));
+            }
+        } catch (final RuntimeException ex) {
+            // Records preceding the failure are still delivered
+            return new Batch<>(results, ex);
+        }
+        return new Batch<>(results, null);
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+            if (ex.getCause() instanceof Error) throw (Error) ex.getCause();
+            throw new JsonParseException(ex.getCause());
+        }
+    }
+
+    /**
+     * Closes the underlying reader, abandoning any records that have
+     * yet to be consumed.
+     *
+     * @throws IOException If an I/O error occurs closing the reader
+     */
+    @Override
+    public void close() throws IOException {
+        this.exhausted = true;
+        this.current = Collections.emptyIterator();
+        this.failure = null;
+        this.cancel();
+        this.reader.close();
+    }
+
+    private static final class Batch<T> {
+
+        final List<T> results;
+        final RuntimeException failure;
+
+        Batch(final List<T> results, final RuntimeException failure) {
+            this.results = results;
+            this.failure = failure;
+        }
+
+    }
+
+    /**
+     * A builder for {@link ParallelRecordReader parallel record readers}.
+     *
+     * @param <T> The type of the decoded records
+     */
+    public static final class Builder<T> {
+
+        private final Function<? super JsonElement, ? extends T> decoder;
+        private Executor executor = ForkJoinPool.commonPool();
+        private int batchSize = 64;
+        private int maxInFlight = Runtime.getRuntime().availableProcessors() * 4;
+
+        private Builder(final Function<? super JsonElement, ? extends T> decoder) {
+            this.decoder = Objects.requireNonNull(decoder, "decoder");
+        }
+
+        /**
+         * Sets the executor that records are decoded on, by default the
+         * {@link ForkJoinPool#commonPool() common pool}. On runtimes that
+         * support them, an executor of virtual threads can be used.
+         *
+         * @param executor The executor
+         * @return {@code this}, for chaining
+         */
+        public Builder<T> executor(final Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Sets the number of records decoded by each task, by default
+         * {@code 64}. Larger batches amortise the cost of scheduling
+         * over more records, where records are small.
+         *
+         * @param batchSize The number of records per batch
+         * @return {@code this}, for chaining
+         */
+        public Builder<T> batchSize(final int batchSize) {
+            if (batchSize < 1) throw new IllegalArgumentException("Batch size must be positive!");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the most batches that may be in flight at once, by default
+         * four times the number of available processors. This bounds the
+         * memory used by the reader.
+         *
+         * @param maxInFlight The most batches in flight
+         * @return {@code this}, for chaining
+         */
+        public Builder<T> maxInFlight(final int maxInFlight) {
+            if (maxInFlight < 1) throw new IllegalArgumentException("Batches in flight must be positive!");
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Creates a reader of the elements of a top-level JSON array.
+         *
+         * @param reader The reader of the array
+         * @return The record reader
+         */
+        public ParallelRecordReader<T> readArray(final Reader reader) {
+            return new ParallelRecordReader<>(this, reader, false);
+        }
+
+        /**
+         * Creates a reader of newline-delimited JSON, where each non-blank
+         * line is a record.
+         *
+         * @param reader The reader of the lines
+         * @return The record reader
+         */
+        public ParallelRecordReader<T> readLines(final Reader reader) {
+            return new ParallelRecordReader<>(this, reader, true);
+        }
+
+    }
+
+}
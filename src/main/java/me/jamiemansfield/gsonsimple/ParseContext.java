@@ -0,0 +1,261 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A reusable context for parsing many small documents, such as messages,
+ * into {@link LazyJsonObject lazy objects} - owning the buffers, index
+ * and {@link StringPool string pool} used, so that they are allocated
+ * once rather than per document.
+ * <p>
+ * Each parse replaces the previous document of the context, and returns
+ * the same lazy object, now reading the new document - so documents
+ * must not be used once the next has been parsed, or the context has
+ * been {@link #reset() reset}. Reading values with the typed getters of
+ * {@link LazyJsonObject} allocates nothing beyond the values themselves,
+ * and strings are deduplicated through the context's pool - so, once
+ * the context has warmed up, parsing and reading a document allocates
+ * little more than any nested lazy objects and new strings.
+ *
+ * <pre>{@code
+ * try (final ParseContext context = pool.acquire()) {
+ *     final LazyJsonObject message = context.parse(json);
+ *     handle(message.getString("type"), message.getLong("id"));
+ * }
+ * }</pre>
+ * <p>
+ * Contexts aren't thread-safe, and are intended to be held by a single
+ * thread at a time - either for the lifetime of that thread, or
+ * {@link ParseContextPool#acquire() acquired from a pool} for each
+ * document.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class ParseContext implements AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Buffers and tapes grown beyond these sizes, by an unusually large
+    // document, are discarded upon reset
+    private static final int MAX_RETAINED_CHARS = 1 << 20;
+    private static final int MAX_RETAINED_TOKENS = 1 << 16;
+
+    private final StringPool pool;
+    private final ParseContextPool owner;
+
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private CharJsonIndex charIndex;
+    private Utf8JsonIndex utf8Index;
+    private LazyJsonObject charDocument;
+    private LazyJsonObject utf8Document;
+    private boolean released;
+
+    /**
+     * Creates a context, with a {@link StringPool#StringPool() default
+     * string pool} of its own.
+     */
+    public ParseContext() {
+        this(new StringPool());
+    }
+
+    /**
+     * Creates a context using the given string pool, which may be shared
+     * with other contexts.
+     *
+     * @param pool The string pool
+     */
+    public ParseContext(final StringPool pool) {
+        this(pool, null);
+    }
+
+    ParseContext(final StringPool pool, final ParseContextPool owner) {
+        this.pool = pool;
+        this.owner = owner;
+    }
+
+    /**
+     * Gets the string pool used by the context.
+     *
+     * @return The string pool
+     */
+    public StringPool getStringPool() {
+        return this.pool;
+    }
+
+    /**
+     * Parses the given JSON, replacing the previous document.
+     *
+     * @param json The JSON
+     * @return The lazy object of the document
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     */
+    public LazyJsonObject parse(final String json) throws JsonParseException {
+        final int length = json.length();
+        if (length > this.chars.length) this.chars = new char[grow(this.chars.length, length)];
+        json.getChars(0, length, this.chars, 0);
+        return this.parseChars(length);
+    }
+
+    /**
+     * Reads the remainder of the given reader, and parses it - replacing
+     * the previous document.
+     *
+     * @param reader The reader
+     * @return The lazy object of the document
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     */
+    public LazyJsonObject parse(final Reader reader) throws IOException {
+        int length = 0;
+        int read;
+        while ((read = reader.read(this.chars, length, this.chars.length - length)) != -1) {
+            length += read;
+            if (length == this.chars.length) this.chars = Arrays.copyOf(this.chars, length << 1);
+        }
+        return this.parseChars(length);
+    }
+
+    /**
+     * Parses the given UTF-8 encoded JSON, from the position of the buffer
+     * to its limit, replacing the previous document.
+     * <p>
+     * The buffer is read in place, as with
+     * {@link LazyJsonObject#parse(ByteBuffer)}, so its contents must not
+     * be modified while the document is in use.
+     *
+     * @param json The JSON
+     * @return The lazy object of the document
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     */
+    public LazyJsonObject parse(final ByteBuffer json) throws JsonParseException {
+        if (this.utf8Index == null) this.utf8Index = new Utf8JsonIndex();
+        // The position of the buffer is read once, so needn't be duplicated
+        this.utf8Index.reset(json);
+        return this.utf8Document();
+    }
+
+    /**
+     * Parses the given UTF-8 encoded JSON, replacing the previous document.
+     * <p>
+     * The array is read in place, so must not be modified while the
+     * document is in use.
+     *
+     * @param json The JSON
+     * @param offset The offset of the JSON within the array
+     * @param length The length of the JSON, in bytes
+     * @return The lazy object of the document
+     * @throws JsonParseException If the JSON is malformed, or isn't an object
+     */
+    public LazyJsonObject parse(final byte[] json, final int offset, final int length) throws JsonParseException {
+        if (offset < 0 || length < 0 || offset > json.length - length) throw new IndexOutOfBoundsException();
+        if (this.utf8Index == null) this.utf8Index = new Utf8JsonIndex();
+        this.utf8Index.reset(json, offset, length);
+        return this.utf8Document();
+    }
+
+    private LazyJsonObject parseChars(final int length) {
+        if (this.charIndex == null) {
+            this.charIndex = new CharJsonIndex(this.chars, length);
+        } else {
+            this.charIndex.reset(this.chars, length);
+        }
+
+        if (this.charDocument == null) {
+            this.charDocument = LazyJsonObject.of(this.charIndex, this.pool);
+        } else {
+            LazyJsonObject.requireDocument(this.charIndex);
+        }
+        return this.charDocument;
+    }
+
+    private LazyJsonObject utf8Document() {
+        if (this.utf8Document == null) {
+            this.utf8Document = LazyJsonObject.of(this.utf8Index, this.pool);
+        } else {
+            LazyJsonObject.requireDocument(this.utf8Index);
+        }
+        return this.utf8Document;
+    }
+
+    /**
+     * Resets the context, releasing the previous document - and any
+     * buffers grown unusually large for it. The string pool is retained.
+     */
+    public void reset() {
+        if (this.chars.length > MAX_RETAINED_CHARS) this.chars = new char[INITIAL_CAPACITY];
+        if (this.charIndex != null) {
+            this.charIndex.clear();
+            this.charIndex.trim(MAX_RETAINED_TOKENS);
+        }
+        if (this.utf8Index != null) {
+            this.utf8Index.clear();
+            this.utf8Index.trim(MAX_RETAINED_TOKENS);
+        }
+    }
+
+    /**
+     * Marks the context as acquired from its pool.
+     *
+     * @return {@code this}
+     */
+    ParseContext acquired() {
+        this.released = false;
+        return this;
+    }
+
+    /**
+     * Resets the context, and - if it was acquired from a
+     * {@link ParseContextPool pool} - returns it to its pool. The context
+     * must not be used after being returned.
+     */
+    @Override
+    public void close() {
+        if (this.released) return;
+        this.reset();
+        if (this.owner != null) {
+            this.released = true;
+            this.owner.release(this);
+        }
+    }
+
+    private static int grow(final int capacity, final int required) {
+        int grown = capacity;
+        while (grown < required) {
+            grown = grown << 1;
+            if (grown < 0) return required;
+        }
+        return grown;
+    }
+
+}
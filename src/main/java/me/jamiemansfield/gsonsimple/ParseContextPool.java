@@ -0,0 +1,149 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of {@link ParseContext parse contexts}, shared between threads.
+ * <p>
+ * Pools hold a fixed number of idle contexts, in slots that are claimed
+ * and filled with atomic operations - so acquiring and releasing a
+ * context never blocks, and the pool holds no state per thread. This
+ * makes pools suitable for virtual threads, where caching a context per
+ * thread - as with a {@link ThreadLocal} - would create a context for
+ * every task. When no idle context is available, a new one is created;
+ * when a released context finds no free slot, it is left to be
+ * garbage collected.
+ *
+ * <pre>{@code
+ * private static final ParseContextPool CONTEXTS = new ParseContextPool();
+ *
+ * try (final ParseContext context = CONTEXTS.acquire()) {
+ *     final LazyJsonObject message = context.parse(json);
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class ParseContextPool {
+
+    private final AtomicReferenceArray<ParseContext> slots;
+    private final StringPool pool;
+
+    private final LongAdder created = new LongAdder();
+
+    /**
+     * Creates a pool holding up to four idle contexts per available
+     * processor, each with its own string pool.
+     */
+    public ParseContextPool() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Creates a pool holding up to the given number of idle contexts,
+     * each with its own string pool.
+     *
+     * @param capacity The most idle contexts held
+     */
+    public ParseContextPool(final int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates a pool holding up to the given number of idle contexts,
+     * which share the given string pool.
+     *
+     * @param capacity The most idle contexts held
+     * @param pool The string pool, or {@code null} to give each context
+     *             its own
+     */
+    public ParseContextPool(final int capacity, final StringPool pool) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive!");
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.pool = pool;
+    }
+
+    /**
+     * Acquires a context from the pool, creating one should none be idle.
+     * The context is returned to the pool once {@link ParseContext#close()
+     * closed}.
+     *
+     * @return The context
+     */
+    public ParseContext acquire() {
+        final int capacity = this.slots.length();
+        final int start = ThreadLocalRandom.current().nextInt(capacity);
+        for (int i = 0; i < capacity; i++) {
+            final int slot = (start + i) % capacity;
+            final ParseContext context = this.slots.get(slot);
+            if (context != null && this.slots.compareAndSet(slot, context, null)) {
+                return context.acquired();
+            }
+        }
+
+        this.created.increment();
+        return new ParseContext(this.pool != null ? this.pool : new StringPool(), this).acquired();
+    }
+
+    /**
+     * Returns the given context to the pool, should there be a free slot.
+     *
+     * @param context The context
+     */
+    void release(final ParseContext context) {
+        final int capacity = this.slots.length();
+        final int start = ThreadLocalRandom.current().nextInt(capacity);
+        for (int i = 0; i < capacity; i++) {
+            final int slot = (start + i) % capacity;
+            if (this.slots.get(slot) == null && this.slots.compareAndSet(slot, null, context)) return;
+        }
+    }
+
+    /**
+     * Gets the most idle contexts held by the pool.
+     *
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return this.slots.length();
+    }
+
+    /**
+     * Gets the number of contexts created by the pool, as none were idle.
+     *
+     * @return The number of contexts created
+     */
+    public long getCreatedCount() {
+        return this.created.sum();
+    }
+
+}
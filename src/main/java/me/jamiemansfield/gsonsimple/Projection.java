@@ -0,0 +1,547 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonParseException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled set of {@link JsonPath paths} to be read from JSON documents,
+ * each with its expected type - reading just those values, in a single
+ * pass over the raw text.
+ * <p>
+ * Only the values along the paths are scanned in full. Everything else is
+ * skipped over by its brackets and quotes alone, without creating tokens
+ * or strings - so large parts of a document that aren't needed cost little
+ * more than a glance. Beyond their extent, skipped values aren't checked.
+ * Reading ends as soon as every field has been found, should any key be
+ * repeated the first of its values is read.
+ * <p>
+ * Missing required fields, and values of the wrong type, are reported as
+ * with {@link GsonObjects} and {@link JsonPath}. Optional fields may be
+ * missing entirely - as may any step of their path, or be null - and take
+ * {@code null}, {@code false} or {@code 0}, depending on their type.
+ * Projections are immutable, and can be shared between threads.
+ *
+ * <pre>{@code
+ * private static final Projection ORDER = Projection.builder()
+ *         .required("id", FieldType.LONG)
+ *         .required("customer.name", FieldType.STRING)
+ *         .optional("customer.vip", FieldType.BOOLEAN)
+ *         .build();
+ *
+ * final ProjectionResult order = ORDER.read(json);
+ * final String name = order.getString("customer.name");
+ * }</pre>
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class Projection {
+
+    /**
+     * Creates a new {@link Builder builder} for a projection.
+     *
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static final String ROOT = "$";
+
+    private final String[] paths;
+    private final FieldType[] types;
+    private final boolean[] required;
+    private final Node[] leaves;
+    private final Map<String, Integer> fields = new HashMap<>();
+    private final Node root = new Node(null, ROOT, false);
+    private int nodes = 1;
+
+    private Projection(final List<Field> fields) {
+        final int size = fields.size();
+        this.paths = new String[size];
+        this.types = new FieldType[size];
+        this.required = new boolean[size];
+        this.leaves = new Node[size];
+
+        for (int i = 0; i < size; i++) {
+            final Field field = fields.get(i);
+            this.paths[i] = field.path;
+            this.types[i] = field.type;
+            this.required[i] = field.required;
+            this.fields.put(field.path, i);
+            this.leaves[i] = this.add(i, field);
+        }
+    }
+
+    private Node add(final int index, final Field field) {
+        final JsonPath path = JsonPath.compile(field.path);
+        Node node = this.root;
+        for (int step = 0; step < path.steps(); step++) {
+            if (node.field != -1) throw within(field.path, this.paths[node.field]);
+            if (field.required) node.required = true;
+            node = node.child(field.path, path, step, this);
+        }
+
+        if (node.field != -1 || node.children.length != 0) {
+            throw within(field.path, node.field != -1 ? this.paths[node.field] : null);
+        }
+        node.field = index;
+        node.required = field.required;
+        return node;
+    }
+
+    private static IllegalArgumentException within(final String path, final String other) {
+        if (other == null) return new IllegalArgumentException("Path '" + path + "' leads to other fields!");
+        return new IllegalArgumentException("Path '" + path + "' conflicts with that of field '" + other + "'!");
+    }
+
+    /**
+     * Gets the number of fields declared by the projection.
+     *
+     * @return The number of fields
+     */
+    public int size() {
+        return this.paths.length;
+    }
+
+    /**
+     * Gets the index of the field with the given path.
+     *
+     * @param path The path of the field
+     * @return The index, or {@code -1} if no such field is declared
+     */
+    public int indexOf(final String path) {
+        final Integer field = this.fields.get(path);
+        return field != null ? field : -1;
+    }
+
+    /**
+     * Gets the path of the field at the given index.
+     *
+     * @param field The index of the field
+     * @return The path
+     */
+    public String getPath(final int field) {
+        return this.paths[field];
+    }
+
+    /**
+     * Gets the type of the field at the given index.
+     *
+     * @param field The index of the field
+     * @return The type
+     */
+    public FieldType getType(final int field) {
+        return this.types[field];
+    }
+
+    /**
+     * Establishes whether the field at the given index is required.
+     *
+     * @param field The index of the field
+     * @return {@code true} if the field is required;
+     *         otherwise {@code false}
+     */
+    public boolean isRequired(final int field) {
+        return this.required[field];
+    }
+
+    /**
+     * Reads the fields of the projection from the given JSON.
+     *
+     * @param json The JSON
+     * @return The values of the fields
+     * @throws JsonParseException If the JSON is malformed, a required field is
+     *                            missing, or any field is of the wrong type
+     */
+    public ProjectionResult read(final String json) throws JsonParseException {
+        final char[] chars = json.toCharArray();
+        return this.read(chars, chars.length);
+    }
+
+    /**
+     * Reads the fields of the projection from the given JSON.
+     *
+     * @param json The JSON
+     * @param length The length of the JSON within the array
+     * @return The values of the fields
+     * @throws JsonParseException If the JSON is malformed, a required field is
+     *                            missing, or any field is of the wrong type
+     */
+    public ProjectionResult read(final char[] json, final int length) throws JsonParseException {
+        final CharJsonIndex index = new CharJsonIndex();
+        index.wrap(json, length);
+        return this.read(index);
+    }
+
+    /**
+     * Reads the fields of the projection from the given UTF-8 encoded JSON,
+     * from the buffer's position to its limit. The position of the buffer
+     * is left unchanged.
+     *
+     * @param json The JSON
+     * @return The values of the fields
+     * @throws JsonParseException If the JSON is malformed, a required field is
+     *                            missing, or any field is of the wrong type
+     */
+    public ProjectionResult read(final ByteBuffer json) throws JsonParseException {
+        final Utf8JsonIndex index = new Utf8JsonIndex();
+        index.wrap(json);
+        return this.read(index);
+    }
+
+    /**
+     * Reads the fields of the projection from the given UTF-8 encoded JSON.
+     *
+     * @param json The JSON
+     * @param offset The offset of the JSON within the array
+     * @param length The length of the JSON, in bytes
+     * @return The values of the fields
+     * @throws JsonParseException If the JSON is malformed, a required field is
+     *                            missing, or any field is of the wrong type
+     */
+    public ProjectionResult read(final byte[] json, final int offset, final int length) throws JsonParseException {
+        final Utf8JsonIndex index = new Utf8JsonIndex();
+        index.wrap(json, offset, length);
+        return this.read(index);
+    }
+
+    private ProjectionResult read(final JsonIndex index) {
+        final ProjectionResult result = new ProjectionResult(this);
+        final Reader reader = new Reader(index, result);
+        int pos = index.skipWhitespace(0);
+        pos = reader.value(this.root, pos);
+        if (reader.remaining != 0) {
+            pos = index.skipWhitespace(pos);
+            if (pos != index.length) throw index.unexpected(pos, "the end of the document");
+        }
+
+        for (int field = 0; field < this.paths.length; field++) {
+            if (this.required[field] && !result.present()[field]) {
+                throw reader.missing(this.leaves[field]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A step along the paths of the projection - either the value of a
+     * field, or a container leading to the values of fields.
+     */
+    private static final class Node {
+
+        private static final Node[] NONE = new Node[0];
+
+        final Node parent;
+        final String name;
+        final boolean element;
+        int id;
+
+        // The keys, or indices, leading on to further steps
+        boolean object;
+        String[] keys = new String[0];
+        int[] indices = new int[0];
+        Node[] children = NONE;
+
+        int field = -1;
+        boolean required;
+
+        Node(final Node parent, final String name, final boolean element) {
+            this.parent = parent;
+            this.name = name;
+            this.element = element;
+        }
+
+        Node child(final String expression, final JsonPath path, final int step, final Projection projection) {
+            final String key = path.key(step);
+            final int index = path.index(step);
+            for (int i = 0; i < this.children.length; i++) {
+                if (key != null ? key.equals(this.keys[i]) : this.keys[i] == null && index == this.indices[i]) {
+                    return this.children[i];
+                }
+            }
+            if (this.children.length == 0) {
+                this.object = key != null;
+            } else if (this.object != (key != null)) {
+                throw new IllegalArgumentException("Path '" + expression + "' treats '" + this.name + "' as both an object and an array!");
+            }
+
+            final Node child = new Node(this, path.name(step), key == null);
+            child.id = projection.nodes++;
+            final int size = this.children.length;
+            this.keys = Arrays.copyOf(this.keys, size + 1);
+            this.indices = Arrays.copyOf(this.indices, size + 1);
+            this.children = Arrays.copyOf(this.children, size + 1);
+            this.keys[size] = key;
+            this.indices[size] = index;
+            this.children[size] = child;
+            return child;
+        }
+
+    }
+
+    /**
+     * The state of a single read of a projection.
+     */
+    private final class Reader {
+
+        private final JsonIndex index;
+        private final ProjectionResult result;
+        private final boolean[] seen = new boolean[Projection.this.nodes];
+        int remaining = Projection.this.paths.length;
+
+        Reader(final JsonIndex index, final ProjectionResult result) {
+            this.index = index;
+            this.result = result;
+        }
+
+        int value(final Node node, final int pos) {
+            this.seen[node.id] = true;
+            if (node.field != -1) return this.field(node, pos);
+            if (node.children.length == 0) return this.index.skip(pos);
+
+            final int c = this.index.at(pos);
+            final boolean object = node.object;
+            if (c != (object ? '{' : '[')) {
+                // Containers that are null, or missing, only matter to required fields
+                if (c == 'n' && !node.required) return this.index.skip(pos);
+                throw JsonValidationException.unexpectedType(node.name, object ? FieldType.OBJECT : FieldType.ARRAY);
+            }
+            return object ? this.object(node, pos) : this.array(node, pos);
+        }
+
+        private int object(final Node node, int pos) {
+            pos = this.index.skipWhitespace(pos + 1);
+            if (this.index.at(pos) == '}') return pos + 1;
+
+            while (true) {
+                if (this.index.at(pos) != '"') throw this.index.unexpected(pos, "a key");
+                final int key = this.index.size;
+                pos = this.index.skipWhitespace(this.index.scanString(pos));
+                final Node child = this.findKey(node, key);
+                this.index.size = key;
+
+                if (this.index.at(pos) != ':') throw this.index.unexpected(pos, "':'");
+                pos = this.index.skipWhitespace(pos + 1);
+                pos = child != null ? this.value(child, pos) : this.index.skip(pos);
+                if (this.remaining == 0) return pos;
+
+                pos = this.index.skipWhitespace(pos);
+                final int c = this.index.at(pos);
+                if (c == '}') return pos + 1;
+                if (c != ',') throw this.index.unexpected(pos, "',' or '}'");
+                pos = this.index.skipWhitespace(pos + 1);
+            }
+        }
+
+        private Node findKey(final Node node, final int key) {
+            for (int i = 0; i < node.keys.length; i++) {
+                if (this.index.matches(key, node.keys[i])) return node.children[i];
+            }
+            return null;
+        }
+
+        private int array(final Node node, int pos) {
+            pos = this.index.skipWhitespace(pos + 1);
+            if (this.index.at(pos) == ']') return pos + 1;
+
+            for (int element = 0; ; element++) {
+                final Node child = this.findIndex(node, element);
+                pos = child != null ? this.value(child, pos) : this.index.skip(pos);
+                if (this.remaining == 0) return pos;
+
+                pos = this.index.skipWhitespace(pos);
+                final int c = this.index.at(pos);
+                if (c == ']') return pos + 1;
+                if (c != ',') throw this.index.unexpected(pos, "',' or ']'");
+                pos = this.index.skipWhitespace(pos + 1);
+            }
+        }
+
+        private Node findIndex(final Node node, final int element) {
+            for (int i = 0; i < node.indices.length; i++) {
+                if (node.indices[i] == element) return node.children[i];
+            }
+            return null;
+        }
+
+        private int field(final Node node, final int pos) {
+            final int field = node.field;
+            if (this.result.present()[field]) return this.index.skip(pos);
+            final FieldType type = Projection.this.types[field];
+            final int token = this.index.size;
+            final int end = this.index.scanTree(pos);
+            final byte found = this.index.types[token];
+
+            if (found == JsonIndex.NULL && (type == FieldType.OBJECT || type == FieldType.ARRAY || type == FieldType.STRING)) {
+                this.result.reference(field, null);
+            } else {
+                switch (type) {
+                    case OBJECT:
+                        this.check(found == JsonIndex.OBJECT, node, type);
+                        this.result.reference(field, this.index.materialise(token, null).getAsJsonObject());
+                        break;
+                    case ARRAY:
+                        this.check(found == JsonIndex.ARRAY, node, type);
+                        this.result.reference(field, this.index.materialise(token, null).getAsJsonArray());
+                        break;
+                    case STRING:
+                        this.check(found == JsonIndex.STRING || found == JsonIndex.ESCAPED_STRING, node, type);
+                        this.result.reference(field, this.index.string(token));
+                        break;
+                    case BOOLEAN:
+                        this.check(found == JsonIndex.TRUE || found == JsonIndex.FALSE, node, type);
+                        this.result.primitive(field, found == JsonIndex.TRUE ? 1 : 0);
+                        break;
+                    case INT:
+                        this.check(found == JsonIndex.NUMBER, node, type);
+                        this.result.primitive(field, this.index.toInt(token));
+                        break;
+                    case LONG:
+                        this.check(found == JsonIndex.NUMBER, node, type);
+                        this.result.primitive(field, this.index.toLong(token));
+                        break;
+                    case DOUBLE:
+                        this.check(found == JsonIndex.NUMBER, node, type);
+                        this.result.primitive(field, Double.doubleToRawLongBits(this.index.toDouble(token)));
+                        break;
+                    default:
+                        this.check(found == JsonIndex.NUMBER, node, type);
+                        this.result.primitive(field, Float.floatToRawIntBits(this.index.toFloat(token)));
+                        break;
+                }
+            }
+
+            this.index.size = token;
+            this.result.present()[field] = true;
+            this.remaining--;
+            return end;
+        }
+
+        private void check(final boolean passed, final Node node, final FieldType type) {
+            if (!passed) throw JsonValidationException.unexpectedType(node.name, type);
+        }
+
+        JsonValidationException missing(final Node leaf) {
+            // The shallowest step of the path that wasn't found
+            Node missing = leaf;
+            for (Node node = leaf.parent; node != null; node = node.parent) {
+                if (!this.seen[node.id]) missing = node;
+            }
+            return missing.element ?
+                    JsonValidationException.missingElement(missing.name) :
+                    JsonValidationException.missingEntry(missing.name);
+        }
+
+    }
+
+    /**
+     * A builder for {@link Projection projections}.
+     * <p>
+     * Fields are given indices in the order they are declared.
+     */
+    public static final class Builder {
+
+        private final List<Field> fields = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Declares a required field.
+         *
+         * @param path The path of the field
+         * @param type The type of the field
+         * @return {@code this}, for chaining
+         * @throws IllegalArgumentException If the path is malformed
+         */
+        public Builder required(final String path, final FieldType type) {
+            return this.field(new Field(path, type, true));
+        }
+
+        /**
+         * Declares an optional field, defaulting to {@code null}, {@code false}
+         * or {@code 0} - depending on its type.
+         *
+         * @param path The path of the field
+         * @param type The type of the field
+         * @return {@code this}, for chaining
+         * @throws IllegalArgumentException If the path is malformed
+         */
+        public Builder optional(final String path, final FieldType type) {
+            return this.field(new Field(path, type, false));
+        }
+
+        private Builder field(final Field field) {
+            for (final Field existing : this.fields) {
+                if (existing.path.equals(field.path)) {
+                    throw new IllegalArgumentException("Field '" + field.path + "' has already been declared!");
+                }
+            }
+            JsonPath.compile(field.path);
+            this.fields.add(field);
+            return this;
+        }
+
+        /**
+         * Compiles the declared fields into a {@link Projection projection}.
+         *
+         * @return The projection
+         * @throws IllegalArgumentException If the path of one field leads
+         *                                  through that of another
+         */
+        public Projection build() {
+            return new Projection(this.fields);
+        }
+
+    }
+
+    private static final class Field {
+
+        final String path;
+        final FieldType type;
+        final boolean required;
+
+        Field(final String path, final FieldType type, final boolean required) {
+            if (path == null) throw new NullPointerException("path");
+            if (type == null) throw new NullPointerException("type");
+            this.path = path;
+            this.type = type;
+            this.required = required;
+        }
+
+    }
+
+}
@@ -0,0 +1,306 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * The values read from a JSON document by a {@link Projection projection}.
+ * <p>
+ * Values can be retrieved either by path, or by the index of their field
+ * within the projection - the latter avoiding a lookup of the path.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class ProjectionResult {
+
+    private final Projection projection;
+    private final long[] primitives;
+    private final Object[] references;
+    private final boolean[] present;
+
+    ProjectionResult(final Projection projection) {
+        this.projection = projection;
+        this.primitives = new long[projection.size()];
+        this.references = new Object[projection.size()];
+        this.present = new boolean[projection.size()];
+    }
+
+    /**
+     * Gets the projection the values were read by.
+     *
+     * @return The projection
+     */
+    public Projection getProjection() {
+        return this.projection;
+    }
+
+    /**
+     * Establishes whether the document had a value for the given field,
+     * rather than the field taking its default.
+     *
+     * @param path The path of the field
+     * @return {@code true} if the document had the value;
+     *         otherwise {@code false}
+     * @throws IllegalArgumentException If the projection doesn't declare the field
+     */
+    public boolean has(final String path) {
+        return this.has(this.field(path));
+    }
+
+    /**
+     * Establishes whether the document had a value for the given field,
+     * rather than the field taking its default.
+     *
+     * @param field The index of the field
+     * @return {@code true} if the document had the value;
+     *         otherwise {@code false}
+     */
+    public boolean has(final int field) {
+        return this.present[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#OBJECT object} field.
+     *
+     * @param path The path of the field
+     * @return The value
+     * @throws IllegalArgumentException If the projection doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public JsonObject getObject(final String path) {
+        return this.getObject(this.field(path));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#OBJECT object} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public JsonObject getObject(final int field) {
+        this.check(field, FieldType.OBJECT);
+        return (JsonObject) this.references[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#ARRAY array} field.
+     *
+     * @param path The path of the field
+     * @return The value
+     * @throws IllegalArgumentException If the projection doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public JsonArray getArray(final String path) {
+        return this.getArray(this.field(path));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#ARRAY array} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public JsonArray getArray(final int field) {
+        this.check(field, FieldType.ARRAY);
+        return (JsonArray) this.references[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#STRING string} field.
+     *
+     * @param path The path of the field
+     * @return The value
+     * @throws IllegalArgumentException If the projection doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public String getString(final String path) {
+        return this.getString(this.field(path));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#STRING string} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public String getString(final int field) {
+        this.check(field, FieldType.STRING);
+        return (String) this.references[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#BOOLEAN boolean} field.
+     *
+     * @param path The path of the field
+     * @return The value
+     * @throws IllegalArgumentException If the projection doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public boolean getBoolean(final String path) {
+        return this.getBoolean(this.field(path));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#BOOLEAN boolean} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public boolean getBoolean(final int field) {
+        this.check(field, FieldType.BOOLEAN);
+        return this.primitives[field] != 0;
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#INT integer} field.
+     *
+     * @param path The path of the field
+     * @return The value
+     * @throws IllegalArgumentException If the projection doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public int getInt(final String path) {
+        return this.getInt(this.field(path));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#INT integer} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public int getInt(final int field) {
+        this.check(field, FieldType.INT);
+        return (int) this.primitives[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#LONG long} field.
+     *
+     * @param path The path of the field
+     * @return The value
+     * @throws IllegalArgumentException If the projection doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public long getLong(final String path) {
+        return this.getLong(this.field(path));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#LONG long} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public long getLong(final int field) {
+        this.check(field, FieldType.LONG);
+        return this.primitives[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#DOUBLE double} field.
+     *
+     * @param path The path of the field
+     * @return The value
+     * @throws IllegalArgumentException If the projection doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public double getDouble(final String path) {
+        return this.getDouble(this.field(path));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#DOUBLE double} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public double getDouble(final int field) {
+        this.check(field, FieldType.DOUBLE);
+        return Double.longBitsToDouble(this.primitives[field]);
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#FLOAT float} field.
+     *
+     * @param path The path of the field
+     * @return The value
+     * @throws IllegalArgumentException If the projection doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public float getFloat(final String path) {
+        return this.getFloat(this.field(path));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#FLOAT float} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public float getFloat(final int field) {
+        this.check(field, FieldType.FLOAT);
+        return Float.intBitsToFloat((int) this.primitives[field]);
+    }
+
+    private int field(final String path) {
+        final int field = this.projection.indexOf(path);
+        if (field == -1) {
+            throw new IllegalArgumentException("Projection does not declare a '" + path + "' field!");
+        }
+        return field;
+    }
+
+    private void check(final int field, final FieldType type) {
+        if (this.projection.getType(field) != type) {
+            throw new IllegalArgumentException("Field '" + this.projection.getPath(field) + "' is not of type " + type + "!");
+        }
+    }
+
+    void reference(final int field, final Object value) {
+        this.references[field] = value;
+    }
+
+    void primitive(final int field, final long value) {
+        this.primitives[field] = value;
+    }
+
+    boolean[] present() {
+        return this.present;
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonSyntaxException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits the raw text of individual records from a stream of JSON, either
+ * a top-level array or newline-delimited JSON - without parsing them.
+ * <p>
+ * Only enough of each record is examined to find where it ends, with the
+ * records themselves being validated when they are parsed.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class RecordSplitter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final boolean lines;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder record = new StringBuilder();
+    private int pos;
+    private int limit;
+    private long offset;
+
+    // Array state
+    private boolean started;
+    private boolean finished;
+
+    RecordSplitter(final Reader reader, final boolean lines) {
+        this.reader = reader;
+        this.lines = lines;
+    }
+
+    /**
+     * Reads the text of the next record.
+     *
+     * @return The text of the record, or {@code null} if there are
+     *         no more records
+     * @throws IOException If an I/O error occurs reading from the reader
+     * @throws JsonSyntaxException If the stream isn't an array, or a
+     *                             record is incomplete
+     */
+    String next() throws IOException {
+        return this.lines ? this.nextLine() : this.nextElement();
+    }
+
+    private String nextLine() throws IOException {
+        while (true) {
+            this.record.setLength(0);
+            int c;
+            while ((c = this.read()) != -1 && c != '\n') {
+                this.record.append((char) c);
+            }
+
+            final int end = this.trimmedLength();
+            if (end != 0) {
+                this.record.setLength(end);
+                return this.record.toString();
+            }
+            if (c == -1) return null;
+        }
+    }
+
+    private int trimmedLength() {
+        int end = this.record.length();
+        while (end > 0 && isWhitespace(this.record.charAt(end - 1))) end--;
+        int start = 0;
+        while (start < end && isWhitespace(this.record.charAt(start))) start++;
+        return start == end ? 0 : end;
+    }
+
+    private String nextElement() throws IOException {
+        if (this.finished) return null;
+
+        int c = this.skipWhitespace();
+        if (!this.started) {
+            if (c != '[') throw this.malformed("Expected '['");
+            this.read();
+            this.started = true;
+            c = this.skipWhitespace();
+            if (c == ']') return this.finish();
+        } else {
+            if (c == ']') return this.finish();
+            if (c != ',') throw this.malformed("Expected ',' or ']'");
+            this.read();
+            c = this.skipWhitespace();
+        }
+        if (c == -1) throw this.malformed("Unexpected end of document");
+        if (c == ',' || c == ']') throw this.malformed("Expected a value");
+
+        this.record.setLength(0);
+        int depth = 0;
+        boolean string = false;
+        boolean escaped = false;
+        while (true) {
+            c = this.peek();
+            if (c == -1) throw this.malformed("Unexpected end of document");
+
+            if (string) {
+                this.read();
+                this.record.append((char) c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    string = false;
+                    if (depth == 0) break;
+                }
+                continue;
+            }
+
+            if (depth == 0 && (c == ',' || c == ']' || isWhitespace(c))) break;
+            this.read();
+            this.record.append((char) c);
+            if (c == '"') {
+                string = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (--depth == 0) break;
+            }
+        }
+        return this.record.toString();
+    }
+
+    private String finish() throws IOException {
+        this.read();
+        this.finished = true;
+        if (this.skipWhitespace() != -1) throw this.malformed("Expected the end of the document");
+        return null;
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        while ((c = this.peek()) != -1 && isWhitespace(c)) {
+            this.read();
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (this.pos == this.limit && !this.fill()) return -1;
+        return this.buffer[this.pos];
+    }
+
+    private int read() throws IOException {
+        if (this.pos == this.limit && !this.fill()) return -1;
+        this.offset++;
+        return this.buffer[this.pos++];
+    }
+
+    private boolean fill() throws IOException {
+        final int read = this.reader.read(this.buffer, 0, this.buffer.length);
+        if (read <= 0) return false;
+        this.pos = 0;
+        this.limit = read;
+        return true;
+    }
+
+    private static boolean isWhitespace(final int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private JsonSyntaxException malformed(final String message) {
+        return new JsonSyntaxException(message + " at offset " + this.offset + "!");
+    }
+
+}
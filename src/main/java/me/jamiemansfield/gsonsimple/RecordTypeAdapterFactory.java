@@ -0,0 +1,70 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * A {@link TypeAdapterFactory type adapter factory} for records, binding
+ * the entries of an object straight into the record's canonical
+ * constructor - avoiding Gson's reflective adapter, which can't create
+ * records at all.
+ * <p>
+ * Records require Java 16 or later, so this is a multi-release class -
+ * on earlier runtimes there are no records, and the factory creates no
+ * adapters. Where {@link #isSupported() supported}, the components of a
+ * record are read as the fields of a {@link JsonModel model} would be:
+ * with the semantics of {@link GsonReaders}, required unless marked
+ * {@link JsonOptional optional}, and using the name given by any
+ * {@link com.google.gson.annotations.SerializedName} annotation. Other
+ * types are left to the adapters of the {@link Gson} instance.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class RecordTypeAdapterFactory implements TypeAdapterFactory {
+
+    /**
+     * Establishes whether the runtime supports records, and so whether
+     * the factory creates any adapters.
+     *
+     * @return {@code true} if records are supported;
+     *         otherwise {@code false}
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        return null;
+    }
+
+}
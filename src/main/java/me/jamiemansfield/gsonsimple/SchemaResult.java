@@ -0,0 +1,343 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * The values extracted from a {@link JsonObject JSON object} by an
+ * {@link ObjectSchema object schema}.
+ * <p>
+ * Values can be retrieved either by key, or by the index of their field
+ * within the schema - the latter avoiding a lookup of the key.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class SchemaResult {
+
+    private final ObjectSchema schema;
+    private final long[] primitives;
+    private final Object[] references;
+    private final boolean[] present;
+
+    SchemaResult(final ObjectSchema schema) {
+        this.schema = schema;
+        this.primitives = new long[schema.size()];
+        this.references = new Object[schema.size()];
+        this.present = new boolean[schema.size()];
+    }
+
+    /**
+     * Gets the schema the values were extracted by.
+     *
+     * @return The schema
+     */
+    public ObjectSchema getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * Establishes whether the object had an entry for the given field,
+     * rather than the field taking its default.
+     *
+     * @param key The key of the field
+     * @return {@code true} if the object had the entry;
+     *         otherwise {@code false}
+     * @throws IllegalArgumentException If the schema doesn't declare the field
+     */
+    public boolean has(final String key) {
+        return this.has(this.field(key));
+    }
+
+    /**
+     * Establishes whether the object had an entry for the given field,
+     * rather than the field taking its default.
+     *
+     * @param field The index of the field
+     * @return {@code true} if the object had the entry;
+     *         otherwise {@code false}
+     */
+    public boolean has(final int field) {
+        return this.present[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#OBJECT object} field.
+     *
+     * @param key The key of the field
+     * @return The value
+     * @throws IllegalArgumentException If the schema doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public JsonObject getObject(final String key) {
+        return this.getObject(this.field(key));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#OBJECT object} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public JsonObject getObject(final int field) {
+        this.check(field, FieldType.OBJECT);
+        return (JsonObject) this.references[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#ARRAY array} field.
+     *
+     * @param key The key of the field
+     * @return The value
+     * @throws IllegalArgumentException If the schema doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public JsonArray getArray(final String key) {
+        return this.getArray(this.field(key));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#ARRAY array} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public JsonArray getArray(final int field) {
+        this.check(field, FieldType.ARRAY);
+        return (JsonArray) this.references[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#STRING string} field.
+     *
+     * @param key The key of the field
+     * @return The value
+     * @throws IllegalArgumentException If the schema doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public String getString(final String key) {
+        return this.getString(this.field(key));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#STRING string} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public String getString(final int field) {
+        this.check(field, FieldType.STRING);
+        return (String) this.references[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#BOOLEAN boolean} field.
+     *
+     * @param key The key of the field
+     * @return The value
+     * @throws IllegalArgumentException If the schema doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public boolean getBoolean(final String key) {
+        return this.getBoolean(this.field(key));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#BOOLEAN boolean} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public boolean getBoolean(final int field) {
+        this.check(field, FieldType.BOOLEAN);
+        return this.primitives[field] != 0;
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#INT integer} field.
+     *
+     * @param key The key of the field
+     * @return The value
+     * @throws IllegalArgumentException If the schema doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public int getInt(final String key) {
+        return this.getInt(this.field(key));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#INT integer} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public int getInt(final int field) {
+        this.check(field, FieldType.INT);
+        return (int) this.primitives[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#LONG long} field.
+     *
+     * @param key The key of the field
+     * @return The value
+     * @throws IllegalArgumentException If the schema doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public long getLong(final String key) {
+        return this.getLong(this.field(key));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#LONG long} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public long getLong(final int field) {
+        this.check(field, FieldType.LONG);
+        return this.primitives[field];
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#DOUBLE double} field.
+     *
+     * @param key The key of the field
+     * @return The value
+     * @throws IllegalArgumentException If the schema doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public double getDouble(final String key) {
+        return this.getDouble(this.field(key));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#DOUBLE double} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public double getDouble(final int field) {
+        this.check(field, FieldType.DOUBLE);
+        return Double.longBitsToDouble(this.primitives[field]);
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#FLOAT float} field.
+     *
+     * @param key The key of the field
+     * @return The value
+     * @throws IllegalArgumentException If the schema doesn't declare the field,
+     *                                  or it is of another type
+     */
+    public float getFloat(final String key) {
+        return this.getFloat(this.field(key));
+    }
+
+    /**
+     * Gets the value of the given {@link FieldType#FLOAT float} field.
+     *
+     * @param field The index of the field
+     * @return The value
+     * @throws IllegalArgumentException If the field is of another type
+     */
+    public float getFloat(final int field) {
+        this.check(field, FieldType.FLOAT);
+        return Float.intBitsToFloat((int) this.primitives[field]);
+    }
+
+    private int field(final String key) {
+        final int field = this.schema.indexOf(key);
+        if (field == -1) {
+            throw new IllegalArgumentException("Schema does not declare a '" + key + "' field!");
+        }
+        return field;
+    }
+
+    private void check(final int field, final FieldType type) {
+        if (this.schema.getType(field) != type) {
+            throw new IllegalArgumentException("Field '" + this.schema.getKey(field) + "' is not of type " + type + "!");
+        }
+    }
+
+    SchemaSink sink() {
+        return new SchemaSink() {
+            @Override
+            public void acceptObject(final int field, final JsonObject value) {
+                SchemaResult.this.references[field] = value;
+            }
+
+            @Override
+            public void acceptArray(final int field, final JsonArray value) {
+                SchemaResult.this.references[field] = value;
+            }
+
+            @Override
+            public void acceptString(final int field, final String value) {
+                SchemaResult.this.references[field] = value;
+            }
+
+            @Override
+            public void acceptBoolean(final int field, final boolean value) {
+                SchemaResult.this.primitives[field] = value ? 1 : 0;
+            }
+
+            @Override
+            public void acceptInt(final int field, final int value) {
+                SchemaResult.this.primitives[field] = value;
+            }
+
+            @Override
+            public void acceptLong(final int field, final long value) {
+                SchemaResult.this.primitives[field] = value;
+            }
+
+            @Override
+            public void acceptDouble(final int field, final double value) {
+                SchemaResult.this.primitives[field] = Double.doubleToRawLongBits(value);
+            }
+
+            @Override
+            public void acceptFloat(final int field, final float value) {
+                SchemaResult.this.primitives[field] = Float.floatToRawIntBits(value);
+            }
+        };
+    }
+
+    boolean[] present() {
+        return this.present;
+    }
+
+}
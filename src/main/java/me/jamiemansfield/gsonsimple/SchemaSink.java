@@ -0,0 +1,111 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * A receiver of the values extracted by an {@link ObjectSchema object schema}.
+ * <p>
+ * Values are identified by the index of their field within the schema,
+ * which is the order the fields were declared in. Each field is given
+ * to the sink at most once per extraction from a
+ * {@link JsonObject JSON object} - though an object read from a
+ * {@link com.google.gson.stream.JsonReader JSON reader} may repeat
+ * a key, in which case the field is given for each occurrence.
+ * Optional fields absent from the document are given their default.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public interface SchemaSink {
+
+    /**
+     * Accepts the value of an {@link FieldType#OBJECT object} field.
+     *
+     * @param field The index of the field
+     * @param value The value, may be {@code null}
+     */
+    void acceptObject(int field, JsonObject value);
+
+    /**
+     * Accepts the value of an {@link FieldType#ARRAY array} field.
+     *
+     * @param field The index of the field
+     * @param value The value, may be {@code null}
+     */
+    void acceptArray(int field, JsonArray value);
+
+    /**
+     * Accepts the value of a {@link FieldType#STRING string} field.
+     *
+     * @param field The index of the field
+     * @param value The value, may be {@code null}
+     */
+    void acceptString(int field, String value);
+
+    /**
+     * Accepts the value of a {@link FieldType#BOOLEAN boolean} field.
+     *
+     * @param field The index of the field
+     * @param value The value
+     */
+    void acceptBoolean(int field, boolean value);
+
+    /**
+     * Accepts the value of an {@link FieldType#INT integer} field.
+     *
+     * @param field The index of the field
+     * @param value The value
+     */
+    void acceptInt(int field, int value);
+
+    /**
+     * Accepts the value of a {@link FieldType#LONG long} field.
+     *
+     * @param field The index of the field
+     * @param value The value
+     */
+    void acceptLong(int field, long value);
+
+    /**
+     * Accepts the value of a {@link FieldType#DOUBLE double} field.
+     *
+     * @param field The index of the field
+     * @param value The value
+     */
+    void acceptDouble(int field, double value);
+
+    /**
+     * Accepts the value of a {@link FieldType#FLOAT float} field.
+     *
+     * @param field The index of the field
+     * @param value The value
+     */
+    void acceptFloat(int field, float value);
+
+}
@@ -0,0 +1,278 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireArray;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireBoolean;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireBooleanArray;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireDouble;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireDoubleArray;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireFloat;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireFloatArray;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireInt;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireIntArray;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireLong;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireLongArray;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireObject;
+import static me.jamiemansfield.gsonsimple.GsonRequirements.requireString;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+/**
+ * The entries of a JSON object, read from a
+ * {@link com.google.gson.stream.JsonReader JSON reader}, that were
+ * requested through {@link GsonReaders#readObject(com.google.gson.stream.JsonReader, String...)}.
+ * <p>
+ * The getters mirror those of {@link GsonObjects}, reporting the same
+ * errors for missing entries and values of the wrong type.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class StreamedObject {
+
+    static int indexOf(final String[] keys, final String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) return i;
+        }
+        return -1;
+    }
+
+    private final String[] keys;
+    private final JsonElement[] values;
+
+    StreamedObject(final String[] keys, final JsonElement[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Establishes whether the object had an entry of the given key.
+     *
+     * @param key The key of the entry
+     * @return {@code true} if the object had the entry;
+     *         otherwise {@code false}
+     */
+    public boolean has(final String key) {
+        final int index = indexOf(this.keys, key);
+        return index != -1 && this.values[index] != null;
+    }
+
+    /**
+     * Gets an {@link JsonElement element} from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The JSON element
+     * @throws JsonParseException If the object is missing the entry
+     * @see GsonObjects#get(JsonObject, String)
+     */
+    public JsonElement get(final String key) throws JsonParseException {
+        final int index = indexOf(this.keys, key);
+        if (index == -1 || this.values[index] == null) {
+            throw JsonValidationException.missingEntry(key);
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Gets an {@link JsonObject object} from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The JSON object
+     * @throws JsonParseException If the object is missing the entry, or it isn't an object
+     * @see GsonObjects#getObject(JsonObject, String)
+     */
+    public JsonObject getObject(final String key) throws JsonParseException {
+        return requireObject(this.get(key), key);
+    }
+
+    /**
+     * Gets an {@link JsonArray array} from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The JSON array
+     * @throws JsonParseException If the object is missing the entry, or it isn't an array
+     * @see GsonObjects#getArray(JsonObject, String)
+     */
+    public JsonArray getArray(final String key) throws JsonParseException {
+        return requireArray(this.get(key), key);
+    }
+
+    /**
+     * Gets a string from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a string
+     * @see GsonObjects#getString(JsonObject, String)
+     */
+    public String getString(final String key) throws JsonParseException {
+        return requireString(this.get(key), key);
+    }
+
+    /**
+     * Gets a boolean from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a boolean
+     * @see GsonObjects#getBoolean(JsonObject, String)
+     */
+    public boolean getBoolean(final String key) throws JsonParseException {
+        return requireBoolean(this.get(key), key);
+    }
+
+    /**
+     * Gets an integer from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't an integer
+     * @see GsonObjects#getInt(JsonObject, String)
+     */
+    public int getInt(final String key) throws JsonParseException {
+        return requireInt(this.get(key), key);
+    }
+
+    /**
+     * Gets a double from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a double
+     * @see GsonObjects#getDouble(JsonObject, String)
+     */
+    public double getDouble(final String key) throws JsonParseException {
+        return requireDouble(this.get(key), key);
+    }
+
+    /**
+     * Gets a long from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a long
+     * @see GsonObjects#getLong(JsonObject, String)
+     */
+    public long getLong(final String key) throws JsonParseException {
+        return requireLong(this.get(key), key);
+    }
+
+    /**
+     * Gets a float from the object, throwing a {@link JsonParseException}
+     * if not present.
+     *
+     * @param key The key of the entry
+     * @return The value
+     * @throws JsonParseException If the object is missing the entry, or it isn't a float
+     * @see GsonObjects#getFloat(JsonObject, String)
+     */
+    public float getFloat(final String key) throws JsonParseException {
+        return requireFloat(this.get(key), key);
+    }
+
+    /**
+     * Gets an array of integers from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't an integer
+     * @see GsonObjects#getIntArray(JsonObject, String)
+     */
+    public int[] getIntArray(final String key) throws JsonParseException {
+        return requireIntArray(this.get(key), key);
+    }
+
+    /**
+     * Gets an array of longs from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a long
+     * @see GsonObjects#getLongArray(JsonObject, String)
+     */
+    public long[] getLongArray(final String key) throws JsonParseException {
+        return requireLongArray(this.get(key), key);
+    }
+
+    /**
+     * Gets an array of doubles from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a double
+     * @see GsonObjects#getDoubleArray(JsonObject, String)
+     */
+    public double[] getDoubleArray(final String key) throws JsonParseException {
+        return requireDoubleArray(this.get(key), key);
+    }
+
+    /**
+     * Gets an array of floats from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a float
+     * @see GsonObjects#getFloatArray(JsonObject, String)
+     */
+    public float[] getFloatArray(final String key) throws JsonParseException {
+        return requireFloatArray(this.get(key), key);
+    }
+
+    /**
+     * Gets an array of booleans from the object, throwing a
+     * {@link JsonParseException} if not present.
+     *
+     * @param key The key of the entry
+     * @return The values
+     * @throws JsonParseException If the object is missing the entry, it isn't an array,
+     *                            or any of its values isn't a boolean
+     * @see GsonObjects#getBooleanArray(JsonObject, String)
+     */
+    public boolean[] getBooleanArray(final String key) throws JsonParseException {
+        return requireBooleanArray(this.get(key), key);
+    }
+
+}
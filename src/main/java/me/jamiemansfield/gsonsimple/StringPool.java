@@ -0,0 +1,237 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of strings, used to deduplicate the keys and values of parsed
+ * documents - where the same keys, and enum-like values, are repeated
+ * across many documents.
+ * <p>
+ * Pools are a fixed number of slots, each holding the last string
+ * hashed to it. Where strings are read from raw text, such as with a
+ * {@link LazyJsonObject}, the text is compared against the pooled string
+ * in place, so finding a pooled string allocates nothing. Only strings
+ * no longer than the {@link #getMaxLength() maximum length} are pooled,
+ * as longer strings are seldom repeated.
+ * <p>
+ * Pools are safe for concurrent use, and are softly referenced - so
+ * are cleared should memory be low, and refilled as they're used.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class StringPool {
+
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final int DEFAULT_MAX_LENGTH = 32;
+
+    private final int capacity;
+    private final int maxLength;
+    private volatile SoftReference<AtomicReferenceArray<String>> table;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a pool of {@value #DEFAULT_CAPACITY} strings, of at most
+     * {@value #DEFAULT_MAX_LENGTH} characters.
+     */
+    public StringPool() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Creates a pool of the given capacity, rounded up to a power of two,
+     * of strings of at most the given length.
+     *
+     * @param capacity The number of strings held by the pool
+     * @param maxLength The longest string that is pooled
+     */
+    public StringPool(final int capacity, final int maxLength) {
+        if (capacity < 1 || capacity > 1 << 30) throw new IllegalArgumentException("Capacity out of range!");
+        if (maxLength < 0) throw new IllegalArgumentException("Maximum length must not be negative!");
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.maxLength = maxLength;
+        this.table = new SoftReference<>(new AtomicReferenceArray<>(this.capacity));
+    }
+
+    /**
+     * Gets the pooled string equal to the given string, pooling it
+     * should there be none.
+     *
+     * @param value The string
+     * @return The pooled string
+     */
+    public String intern(final String value) {
+        if (value.length() > this.maxLength) return value;
+
+        final AtomicReferenceArray<String> table = this.table();
+        final int slot = this.slot(value.hashCode());
+        final String pooled = table.get(slot);
+        if (value.equals(pooled)) {
+            this.hits.increment();
+            return pooled;
+        }
+        this.misses.increment();
+        table.lazySet(slot, value);
+        return value;
+    }
+
+    /**
+     * Gets the pooled string equal to the given range of characters,
+     * pooling it should there be none.
+     *
+     * @param chars The characters
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @return The pooled string
+     */
+    public String intern(final char[] chars, final int start, final int end) {
+        if (end - start > this.maxLength) return new String(chars, start, end - start);
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        final AtomicReferenceArray<String> table = this.table();
+        final int slot = this.slot(hash);
+        final String pooled = table.get(slot);
+        if (pooled != null && regionMatches(chars, start, end, pooled)) {
+            this.hits.increment();
+            return pooled;
+        }
+        this.misses.increment();
+        final String value = new String(chars, start, end - start);
+        table.lazySet(slot, value);
+        return value;
+    }
+
+    /**
+     * Gets the pooled string equal to the given range of an index's text,
+     * which has no escape sequences.
+     * <p>
+     * The range is hashed by its units, which for ASCII text (or any text
+     * held as characters) is the same as the hash of its string.
+     */
+    String intern(final JsonIndex index, final int start, final int end) {
+        if (end - start > this.maxLength) return index.text(start, end);
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + index.charAt(i);
+        }
+
+        final AtomicReferenceArray<String> table = this.table();
+        final int slot = this.slot(hash);
+        final String pooled = table.get(slot);
+        if (pooled != null && index.regionMatches(start, end, pooled)) {
+            this.hits.increment();
+            return pooled;
+        }
+        this.misses.increment();
+        final String value = index.text(start, end);
+        table.lazySet(slot, value);
+        return value;
+    }
+
+    private AtomicReferenceArray<String> table() {
+        AtomicReferenceArray<String> table = this.table.get();
+        if (table == null) {
+            // Cleared under memory pressure - start afresh
+            table = new AtomicReferenceArray<>(this.capacity);
+            this.table = new SoftReference<>(table);
+        }
+        return table;
+    }
+
+    private int slot(final int hash) {
+        return (hash ^ (hash >>> 16)) & (this.capacity - 1);
+    }
+
+    private static boolean regionMatches(final char[] chars, final int start, final int end, final String value) {
+        if (end - start != value.length()) return false;
+        for (int i = 0; i < value.length(); i++) {
+            if (chars[start + i] != value.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of strings the pool holds.
+     *
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Gets the longest string that is pooled.
+     *
+     * @return The maximum length
+     */
+    public int getMaxLength() {
+        return this.maxLength;
+    }
+
+    /**
+     * Gets the number of times a pooled string has been found.
+     *
+     * @return The number of hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of times a string has been pooled, having not
+     * been found.
+     *
+     * @return The number of misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Removes all strings from the pool. The statistics of the pool
+     * are unaffected.
+     */
+    public void clear() {
+        this.table = new SoftReference<>(new AtomicReferenceArray<>(this.capacity));
+    }
+
+    @Override
+    public String toString() {
+        return "StringPool{capacity=" + this.capacity + ", hits=" + this.getHitCount() + ", misses=" + this.getMissCount() + "}";
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link JsonIndex structural index} over JSON held as UTF-8 bytes,
+ * read in place from a {@link ByteBuffer buffer} - without decoding it.
+ * <p>
+ * Strings are only decoded once requested, and numbers are read from
+ * the bytes themselves. Offsets are of bytes, from the position of the
+ * buffer when indexed. Malformed UTF-8 within strings is replaced, in
+ * the same manner as {@link java.io.InputStreamReader}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+final class Utf8JsonIndex extends JsonIndex {
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    // Heap buffers are read from their array directly
+    private byte[] array;
+    private int arrayOffset;
+
+    Utf8JsonIndex() {
+    }
+
+    Utf8JsonIndex(final ByteBuffer buffer) {
+        this.reset(buffer);
+    }
+
+    /**
+     * Indexes the given JSON, replacing the document previously indexed.
+     *
+     * @param buffer The JSON, from its position to its limit
+     */
+    void reset(final ByteBuffer buffer) {
+        this.wrap(buffer);
+        this.index(buffer.remaining());
+    }
+
+    /**
+     * Indexes the given JSON, replacing the document previously indexed.
+     *
+     * @param array The JSON
+     * @param offset The offset of the JSON within the array
+     * @param length The length of the JSON, in bytes
+     */
+    void reset(final byte[] array, final int offset, final int length) {
+        this.wrap(array, offset, length);
+        this.index(length);
+    }
+
+    /**
+     * Takes on the given JSON, without indexing it.
+     *
+     * @param buffer The JSON, from its position to its limit
+     * @see #load(int)
+     */
+    void wrap(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.offset = buffer.position();
+        if (buffer.hasArray()) {
+            this.array = buffer.array();
+            this.arrayOffset = buffer.arrayOffset() + this.offset;
+        } else {
+            this.array = null;
+            this.arrayOffset = 0;
+        }
+        this.load(buffer.remaining());
+    }
+
+    /**
+     * Takes on the given JSON, without indexing it.
+     *
+     * @param array The JSON
+     * @param offset The offset of the JSON within the array
+     * @param length The length of the JSON, in bytes
+     * @see #load(int)
+     */
+    void wrap(final byte[] array, final int offset, final int length) {
+        this.buffer = null;
+        this.offset = 0;
+        this.array = array;
+        this.arrayOffset = offset;
+        this.load(length);
+    }
+
+    /**
+     * Releases the JSON last indexed, such that it isn't kept reachable
+     * by the index.
+     */
+    void clear() {
+        this.buffer = null;
+        this.array = null;
+        this.length = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public char charAt(final int pos) {
+        if (this.array != null) return (char) (this.array[this.arrayOffset + pos] & 0xFF);
+        return (char) (this.buffer.get(this.offset + pos) & 0xFF);
+    }
+
+    @Override
+    String text(final int start, final int end) {
+        if (this.array != null) {
+            return new String(this.array, this.arrayOffset + start, end - start, StandardCharsets.UTF_8);
+        }
+
+        final byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = this.buffer.get(this.offset + start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    boolean regionMatches(final int start, final int end, final String key) {
+        // ASCII keys are compared byte-for-byte, anything else once decoded
+        if (end - start != key.length()) {
+            return end - start > key.length() && !isAscii(key) && this.text(start, end).equals(key);
+        }
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (c >= 0x80) return this.text(start, end).equals(key);
+            if (this.charAt(start + i) != c) return false;
+        }
+        return true;
+    }
+
+    private static boolean isAscii(final String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+}
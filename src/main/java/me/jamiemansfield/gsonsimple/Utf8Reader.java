@@ -0,0 +1,219 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link Reader reader} of UTF-8 encoded text, decoding straight from
+ * a {@link ByteBuffer buffer} - or from a file, mapped into memory.
+ * <p>
+ * Unlike an {@link java.io.InputStreamReader}, no bytes are copied into
+ * an intermediate buffer before being decoded, making it well suited to
+ * reading mapped files and pooled network buffers with
+ * {@link GsonReaders}, {@link ParallelRecordReader} or Gson's own
+ * {@link com.google.gson.stream.JsonReader}. Files are mapped in chunks,
+ * so may be larger than a single buffer can hold.
+ * <p>
+ * Malformed input is replaced, in the same manner as an
+ * {@link java.io.InputStreamReader}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ * @see LazyJsonObject#parse(ByteBuffer)
+ */
+public final class Utf8Reader extends Reader {
+
+    // The most of a file that is mapped at once
+    private static final long CHUNK_SIZE = 1L << 28;
+
+    /**
+     * Opens a reader of the given file, mapping it into memory.
+     *
+     * @param path The path of the file
+     * @return The reader
+     * @throws IOException If an I/O error occurs opening the file
+     */
+    public static Utf8Reader map(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new Utf8Reader(channel, 0, channel.size(), CHUNK_SIZE);
+        } catch (final IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Creates a reader of the remainder of the given file channel, from
+     * its current position, mapping it into memory. The channel is closed
+     * when the reader is, though its position is unaffected by reading.
+     *
+     * @param channel The file channel
+     * @return The reader
+     * @throws IOException If an I/O error occurs mapping the file
+     */
+    public static Utf8Reader map(final FileChannel channel) throws IOException {
+        return new Utf8Reader(channel, channel.position(), channel.size(), CHUNK_SIZE);
+    }
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final FileChannel channel;
+    private final long size;
+    private final long chunkSize;
+
+    private ByteBuffer buffer;
+    // The offset of the current buffer, within the file
+    private long chunk;
+    private boolean flushed;
+    // The low surrogate of a pair split across reads, or -1
+    private int pending = -1;
+
+    /**
+     * Creates a reader of the remainder of the given buffer - from its
+     * position to its limit. The position of the buffer is unaffected by
+     * reading.
+     *
+     * @param buffer The buffer
+     */
+    public Utf8Reader(final ByteBuffer buffer) {
+        this.channel = null;
+        this.size = buffer.remaining();
+        this.chunkSize = this.size;
+        this.buffer = buffer.slice();
+    }
+
+    /**
+     * Creates a reader of the given range of the array.
+     *
+     * @param bytes The array
+     * @param offset The offset of the range
+     * @param length The length of the range
+     */
+    public Utf8Reader(final byte[] bytes, final int offset, final int length) {
+        this(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    Utf8Reader(final FileChannel channel, final long position, final long size, final long chunkSize) throws IOException {
+        this.channel = channel;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.chunk = position;
+        this.buffer = this.mapChunk(position);
+    }
+
+    private ByteBuffer mapChunk(final long position) throws IOException {
+        return this.channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(this.chunkSize, this.size - position));
+    }
+
+    private boolean hasNextChunk() {
+        return this.channel != null && this.chunk + this.buffer.limit() < this.size;
+    }
+
+    /**
+     * Maps the next chunk of the file, beginning with any bytes that have
+     * yet to be decoded - as a character may be split between chunks.
+     */
+    private void nextChunk() throws IOException {
+        this.chunk += this.buffer.position();
+        this.buffer = this.mapChunk(this.chunk);
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (this.buffer == null) throw new IOException("Stream closed");
+        if (off < 0 || len < 0 || len > cbuf.length - off) throw new IndexOutOfBoundsException();
+        if (len == 0) return 0;
+
+        int read = 0;
+        if (this.pending != -1) {
+            cbuf[off] = (char) this.pending;
+            this.pending = -1;
+            read = 1;
+        }
+
+        final CharBuffer out = CharBuffer.wrap(cbuf, off + read, len - read);
+        while (out.hasRemaining() && !this.flushed) {
+            final boolean last = !this.hasNextChunk();
+            final CoderResult result = this.decoder.decode(this.buffer, out, last);
+            if (result.isOverflow()) {
+                // Only a surrogate pair can fail to fit, with a single char remaining
+                if (out.position() == off) this.readPair(out);
+                break;
+            }
+            if (!last) {
+                this.nextChunk();
+                continue;
+            }
+            this.decoder.flush(out);
+            this.flushed = true;
+        }
+
+        read = out.position() - off;
+        return read == 0 ? -1 : read;
+    }
+
+    private void readPair(final CharBuffer out) {
+        final CharBuffer pair = CharBuffer.allocate(2);
+        this.decoder.decode(this.buffer, pair, !this.hasNextChunk());
+        out.put(pair.get(0));
+        if (pair.position() > 1) this.pending = pair.get(1);
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        if (this.buffer == null) throw new IOException("Stream closed");
+        return this.pending != -1 || this.buffer.hasRemaining() || this.hasNextChunk();
+    }
+
+    /**
+     * Closes the reader, and the file it reads from - if any.
+     * <p>
+     * Mapped buffers are released by the garbage collector, once they
+     * can no longer be reached.
+     *
+     * @throws IOException If an I/O error occurs closing the file
+     */
+    @Override
+    public void close() throws IOException {
+        this.buffer = null;
+        if (this.channel != null) this.channel.close();
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.Objects;
+
+/**
+ * A single problem found while validating a JSON document - either a
+ * missing entry or element, a value of the wrong type, or a number that
+ * can't be held exactly.
+ * <p>
+ * The message of the error isn't built until it is requested.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class ValidationError {
+
+    /**
+     * Creates an error for an object missing an entry.
+     *
+     * @param key The key of the entry
+     * @return The error
+     */
+    public static ValidationError missingEntry(final String key) {
+        return new ValidationError(Kind.MISSING_ENTRY, key, null);
+    }
+
+    /**
+     * Creates an error for an array missing an element.
+     *
+     * @param name The name of the element
+     * @return The error
+     */
+    public static ValidationError missingElement(final String name) {
+        return new ValidationError(Kind.MISSING_ELEMENT, name, null);
+    }
+
+    /**
+     * Creates an error for a value that isn't of the expected type.
+     *
+     * @param name The name of the value
+     * @param expected The expected type of the value
+     * @return The error
+     */
+    public static ValidationError unexpectedType(final String name, final FieldType expected) {
+        return new ValidationError(Kind.UNEXPECTED_TYPE, name, expected);
+    }
+
+    /**
+     * Creates an error for a number that can't be held by the expected
+     * type without loss of precision - having a fraction, or being
+     * outside of the range of the type.
+     *
+     * @param name The name of the value
+     * @param expected The expected type of the value
+     * @return The error
+     */
+    public static ValidationError inexactNumber(final String name, final FieldType expected) {
+        return new ValidationError(Kind.INEXACT_NUMBER, name, expected);
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final FieldType expected;
+
+    private ValidationError(final Kind kind, final String name, final FieldType expected) {
+        this.kind = kind;
+        this.name = name;
+        this.expected = expected;
+    }
+
+    /**
+     * Gets the kind of the error.
+     *
+     * @return The kind
+     */
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Gets the name of the value the error concerns - the key of
+     * the missing entry, or the name of the missing or mistyped value.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the type that the value was expected to be.
+     *
+     * @return The expected type, or {@code null} for
+     *         {@link Kind#MISSING_ENTRY missing entries} and
+     *         {@link Kind#MISSING_ELEMENT elements}
+     */
+    public FieldType getExpectedType() {
+        return this.expected;
+    }
+
+    /**
+     * Gets a message describing the error, as would be reported
+     * by {@link GsonObjects} and {@link GsonRequirements}.
+     *
+     * @return The message
+     */
+    public String getMessage() {
+        if (this.kind == Kind.MISSING_ENTRY) {
+            return "Object missing '" + this.name + "' entry!";
+        }
+        if (this.kind == Kind.MISSING_ELEMENT) {
+            return "Array missing '" + this.name + "' element!";
+        }
+        if (this.kind == Kind.INEXACT_NUMBER) {
+            return "Expected '" + this.name + "' to be " + this.expected.describe() + ", without loss of precision!";
+        }
+        return "Expected '" + this.name + "' to be " + this.expected.describe() + "!";
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ValidationError)) return false;
+        final ValidationError that = (ValidationError) obj;
+        return this.kind == that.kind &&
+                this.name.equals(that.name) &&
+                this.expected == that.expected;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.kind, this.name, this.expected);
+    }
+
+    @Override
+    public String toString() {
+        return this.getMessage();
+    }
+
+    /**
+     * The kinds of {@link ValidationError validation error}.
+     */
+    public enum Kind {
+
+        /**
+         * An object is missing a required entry.
+         */
+        MISSING_ENTRY,
+
+        /**
+         * An array is missing an element.
+         */
+        MISSING_ELEMENT,
+
+        /**
+         * A value isn't of the expected type.
+         */
+        UNEXPECTED_TYPE,
+
+        /**
+         * A number can't be held exactly by the expected type.
+         */
+        INEXACT_NUMBER,
+        ;
+
+    }
+
+}
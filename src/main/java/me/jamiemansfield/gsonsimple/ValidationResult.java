@@ -0,0 +1,78 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import java.util.List;
+
+/**
+ * The outcome of validating a document against an
+ * {@link ObjectSchema object schema}, without throwing.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class ValidationResult {
+
+    private final SchemaResult result;
+    private final Validator validator;
+
+    ValidationResult(final SchemaResult result, final Validator validator) {
+        this.result = result;
+        this.validator = validator;
+    }
+
+    /**
+     * Establishes whether the document was valid.
+     *
+     * @return {@code true} if the document was valid;
+     *         otherwise {@code false}
+     */
+    public boolean isValid() {
+        return this.validator.isValid();
+    }
+
+    /**
+     * Gets all of the problems found with the document.
+     *
+     * @return The errors, empty if the document was valid
+     */
+    public List<ValidationError> getErrors() {
+        return this.validator.getErrors();
+    }
+
+    /**
+     * Gets the values extracted from the document.
+     *
+     * @return The extracted values
+     * @throws JsonValidationException If the document was invalid, reporting
+     *                                 all of its errors
+     */
+    public SchemaResult getResult() throws JsonValidationException {
+        this.validator.throwIfInvalid();
+        return this.result;
+    }
+
+}
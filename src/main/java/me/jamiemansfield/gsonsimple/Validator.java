@@ -0,0 +1,431 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An exception-free counterpart to {@link GsonObjects} and
+ * {@link GsonRequirements}, that records every problem found with a
+ * document rather than throwing on the first.
+ * <p>
+ * Where a value is missing, or of the wrong type, an error is recorded
+ * and a default ({@code null}, {@code false} or {@code 0}) is returned
+ * in its place - allowing the whole document to be checked before
+ * reporting all of its problems at once.
+ *
+ * <pre>{@code
+ * final Validator validator = new Validator();
+ * final String name = validator.getString(object, "name");
+ * final int age = validator.getInt(object, "age");
+ * if (!validator.isValid()) {
+ *     return badRequest(validator.getErrors());
+ * }
+ * }</pre>
+ * <p>
+ * Validators are not thread-safe, and are intended to be used for a
+ * single document.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class Validator {
+
+    private List<ValidationError> errors;
+
+    /**
+     * Records an error against the document.
+     *
+     * @param error The error
+     */
+    public void report(final ValidationError error) {
+        if (this.errors == null) this.errors = new ArrayList<>();
+        this.errors.add(error);
+    }
+
+    /**
+     * Establishes whether no errors have been recorded.
+     *
+     * @return {@code true} if no errors have been recorded;
+     *         otherwise {@code false}
+     */
+    public boolean isValid() {
+        return this.errors == null;
+    }
+
+    /**
+     * Gets the errors that have been recorded, in the order they
+     * were found.
+     *
+     * @return The errors
+     */
+    public List<ValidationError> getErrors() {
+        if (this.errors == null) return Collections.emptyList();
+        return Collections.unmodifiableList(this.errors);
+    }
+
+    /**
+     * Throws a {@link JsonValidationException} reporting all of the
+     * recorded errors, if any have been recorded.
+     *
+     * @throws JsonValidationException If any errors have been recorded
+     */
+    public void throwIfInvalid() throws JsonValidationException {
+        if (this.errors != null) {
+            throw new JsonValidationException(new ArrayList<>(this.errors));
+        }
+    }
+
+    /**
+     * Gets an {@link JsonElement element} from the given {@link JsonObject object},
+     * recording an error if not present.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The JSON element, or {@code null} if not present
+     * @see GsonObjects#get(JsonObject, String)
+     */
+    public JsonElement get(final JsonObject object, final String key) {
+        final JsonElement value = object.get(key);
+        if (value == null) {
+            this.report(ValidationError.missingEntry(key));
+        }
+        return value;
+    }
+
+    /**
+     * Gets an {@link JsonObject object} from the given {@link JsonObject object},
+     * recording an error if not present, or not an object.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The JSON object, or {@code null} if invalid
+     * @see GsonObjects#getObject(JsonObject, String)
+     */
+    public JsonObject getObject(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return null;
+        return this.requireObject(value, key);
+    }
+
+    /**
+     * Gets an {@link JsonArray array} from the given {@link JsonObject object},
+     * recording an error if not present, or not an array.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The JSON array, or {@code null} if invalid
+     * @see GsonObjects#getArray(JsonObject, String)
+     */
+    public JsonArray getArray(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return null;
+        return this.requireArray(value, key);
+    }
+
+    /**
+     * Gets a string from the given {@link JsonObject object}, recording an
+     * error if not present, or not a string.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value, or {@code null} if invalid
+     * @see GsonObjects#getString(JsonObject, String)
+     */
+    public String getString(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return null;
+        return this.requireString(value, key);
+    }
+
+    /**
+     * Gets a boolean from the given {@link JsonObject object}, recording an
+     * error if not present, or not a boolean.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value, or {@code false} if invalid
+     * @see GsonObjects#getBoolean(JsonObject, String)
+     */
+    public boolean getBoolean(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return false;
+        return this.requireBoolean(value, key);
+    }
+
+    /**
+     * Gets an integer from the given {@link JsonObject object}, recording an
+     * error if not present, or not an integer.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value, or {@code 0} if invalid
+     * @see GsonObjects#getInt(JsonObject, String)
+     */
+    public int getInt(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return 0;
+        return this.requireInt(value, key);
+    }
+
+    /**
+     * Gets a long from the given {@link JsonObject object}, recording an
+     * error if not present, or not a long.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value, or {@code 0} if invalid
+     * @see GsonObjects#getLong(JsonObject, String)
+     */
+    public long getLong(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return 0;
+        return this.requireLong(value, key);
+    }
+
+    /**
+     * Gets an integer from the given {@link JsonObject object}, recording an
+     * error if not present, or not an integer that can be held exactly.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value, or {@code 0} if invalid
+     * @see GsonObjects#getExactInt(JsonObject, String)
+     */
+    public int getExactInt(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return 0;
+        return this.requireExactInt(value, key);
+    }
+
+    /**
+     * Gets a long from the given {@link JsonObject object}, recording an
+     * error if not present, or not a long that can be held exactly.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value, or {@code 0} if invalid
+     * @see GsonObjects#getExactLong(JsonObject, String)
+     */
+    public long getExactLong(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return 0;
+        return this.requireExactLong(value, key);
+    }
+
+    /**
+     * Gets a double from the given {@link JsonObject object}, recording an
+     * error if not present, or not a double.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value, or {@code 0} if invalid
+     * @see GsonObjects#getDouble(JsonObject, String)
+     */
+    public double getDouble(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return 0;
+        return this.requireDouble(value, key);
+    }
+
+    /**
+     * Gets a float from the given {@link JsonObject object}, recording an
+     * error if not present, or not a float.
+     *
+     * @param object The JSON object
+     * @param key The key of the entry
+     * @return The value, or {@code 0} if invalid
+     * @see GsonObjects#getFloat(JsonObject, String)
+     */
+    public float getFloat(final JsonObject object, final String key) {
+        final JsonElement value = this.get(object, key);
+        if (value == null) return 0;
+        return this.requireFloat(value, key);
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a {@link JsonObject JSON object},
+     * recording an error if it isn't an object.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return A JSON object, or {@code null} if invalid
+     * @see GsonRequirements#requireObject(JsonElement, String)
+     */
+    public JsonObject requireObject(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.OBJECT)) return null;
+        return element.isJsonNull() ? null : element.getAsJsonObject();
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a {@link JsonArray JSON array},
+     * recording an error if it isn't an array.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return A JSON array, or {@code null} if invalid
+     * @see GsonRequirements#requireArray(JsonElement, String)
+     */
+    public JsonArray requireArray(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.ARRAY)) return null;
+        return element.isJsonNull() ? null : element.getAsJsonArray();
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a string, recording an error if it
+     * isn't a string.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value, or {@code null} if invalid
+     * @see GsonRequirements#requireString(JsonElement, String)
+     */
+    public String requireString(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.STRING)) return null;
+        return element.isJsonNull() ? null : element.getAsString();
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a boolean, recording an error if it
+     * isn't a boolean.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value, or {@code false} if invalid
+     * @see GsonRequirements#requireBoolean(JsonElement, String)
+     */
+    public boolean requireBoolean(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.BOOLEAN)) return false;
+        return element.getAsBoolean();
+    }
+
+    /**
+     * Gets the {@link JsonElement} as an integer, recording an error if it
+     * isn't an integer.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value, or {@code 0} if invalid
+     * @see GsonRequirements#requireInt(JsonElement, String)
+     */
+    public int requireInt(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.INT)) return 0;
+        return GsonNumbers.toInt(element.getAsNumber());
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a long, recording an error if it
+     * isn't a long.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value, or {@code 0} if invalid
+     * @see GsonRequirements#requireLong(JsonElement, String)
+     */
+    public long requireLong(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.LONG)) return 0;
+        return GsonNumbers.toLong(element.getAsNumber());
+    }
+
+    /**
+     * Gets the {@link JsonElement} as an integer, recording an error if it
+     * isn't an integer that can be held exactly.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value, or {@code 0} if invalid
+     * @see GsonRequirements#requireExactInt(JsonElement, String)
+     */
+    public int requireExactInt(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.INT)) return 0;
+        try {
+            return GsonNumbers.toExactInt(element.getAsNumber());
+        } catch (final ArithmeticException | NumberFormatException ex) {
+            this.report(ValidationError.inexactNumber(name, FieldType.INT));
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a long, recording an error if it
+     * isn't a long that can be held exactly.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value, or {@code 0} if invalid
+     * @see GsonRequirements#requireExactLong(JsonElement, String)
+     */
+    public long requireExactLong(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.LONG)) return 0;
+        try {
+            return GsonNumbers.toExactLong(element.getAsNumber());
+        } catch (final ArithmeticException | NumberFormatException ex) {
+            this.report(ValidationError.inexactNumber(name, FieldType.LONG));
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a double, recording an error if it
+     * isn't a double.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value, or {@code 0} if invalid
+     * @see GsonRequirements#requireDouble(JsonElement, String)
+     */
+    public double requireDouble(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.DOUBLE)) return 0;
+        return GsonNumbers.toDouble(element.getAsNumber());
+    }
+
+    /**
+     * Gets the {@link JsonElement} as a float, recording an error if it
+     * isn't a float.
+     *
+     * @param element The element
+     * @param name The name of the element
+     * @return The value, or {@code 0} if invalid
+     * @see GsonRequirements#requireFloat(JsonElement, String)
+     */
+    public float requireFloat(final JsonElement element, final String name) {
+        if (!this.check(element, name, FieldType.FLOAT)) return 0;
+        return GsonNumbers.toFloat(element.getAsNumber());
+    }
+
+    private boolean check(final JsonElement element, final String name, final FieldType type) {
+        if (type.matches(element)) return true;
+        this.report(ValidationError.unexpectedType(name, type));
+        return false;
+    }
+
+}
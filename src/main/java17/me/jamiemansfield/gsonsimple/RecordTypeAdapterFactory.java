@@ -0,0 +1,651 @@
+/*
+ * This file is part of gson-simple, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamiemansfield.me/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package me.jamiemansfield.gsonsimple;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@link TypeAdapterFactory type adapter factory} for records, binding
+ * the entries of an object straight into the record's canonical
+ * constructor - avoiding Gson's reflective adapter, which can't create
+ * records at all.
+ * <p>
+ * This is the Java 17 version of the class. The canonical constructor
+ * and component accessors of each record are unreflected into
+ * {@link MethodHandle method handles} once, and shared between all
+ * {@link Gson} instances - while the adapters of components are resolved
+ * against the type being adapted, so generic records are supported.
+ * Reading a record is then a matter of reading
+ * its entries into two arrays - one of primitives, unboxed, and another
+ * of references - and invoking the constructor with them, the handle
+ * taking each argument from its array.
+ * <p>
+ * The components of a record are read as the fields of a
+ * {@link JsonModel model} would be: with the semantics of
+ * {@link GsonReaders}, required unless marked {@link JsonOptional optional}
+ * - in which case they default to {@code null}, {@code false} or
+ * {@code 0} - and using the name given by any {@link SerializedName}
+ * annotation. Other types are left to the adapters of the {@link Gson}
+ * instance.
+ *
+ * @author Jamie Mansfield
+ * @since 0.2.0
+ */
+public final class RecordTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final ClassValue<Binding> BINDINGS = new ClassValue<Binding>() {
+        @Override
+        protected Binding computeValue(final Class<?> type) {
+            return new Binding(type);
+        }
+    };
+
+    /**
+     * Establishes whether the runtime supports records, and so whether
+     * the factory creates any adapters.
+     *
+     * @return {@code true} if records are supported;
+     *         otherwise {@code false}
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        final Class<? super T> rawType = type.getRawType();
+        if (!rawType.isRecord()) return null;
+        return new Adapter<>(gson, type, BINDINGS.get(rawType));
+    }
+
+    /**
+     * Resolves the type of a record's component against the type being
+     * adapted. Records can't extend other classes, so this is only ever
+     * a matter of substituting the record's own type parameters - with
+     * the arguments of the adapted type, should it be parameterised.
+     *
+     * @param component The generic type of the component
+     * @param record The record
+     * @param adapted The type being adapted
+     * @return The resolved type
+     */
+    private static Type resolve(final Type component, final Class<?> record, final Type adapted) {
+        if (!(adapted instanceof ParameterizedType) || ((ParameterizedType) adapted).getRawType() != record) {
+            return component;
+        }
+        return substitute(component, record.getTypeParameters(), ((ParameterizedType) adapted).getActualTypeArguments());
+    }
+
+    private static Type substitute(final Type type, final TypeVariable<?>[] variables, final Type[] arguments) {
+        if (type instanceof TypeVariable) {
+            for (int i = 0; i < variables.length; i++) {
+                if (variables[i].equals(type)) return arguments[i];
+            }
+            return type;
+        }
+        if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType) type;
+            final Type owner = parameterized.getOwnerType() == null ? null :
+                    substitute(parameterized.getOwnerType(), variables, arguments);
+            final Type[] declared = parameterized.getActualTypeArguments();
+            final Type[] typeArguments = substitute(declared, variables, arguments);
+            if (owner == parameterized.getOwnerType() && typeArguments == declared) return type;
+            return new ResolvedParameterizedType(owner, (Class<?>) parameterized.getRawType(), typeArguments);
+        }
+        if (type instanceof GenericArrayType) {
+            final Type component = ((GenericArrayType) type).getGenericComponentType();
+            final Type resolved = substitute(component, variables, arguments);
+            if (resolved == component) return type;
+            return TypeToken.getArray(resolved).getType();
+        }
+        if (type instanceof WildcardType) {
+            final WildcardType wildcard = (WildcardType) type;
+            final Type[] upperBounds = wildcard.getUpperBounds();
+            final Type[] lowerBounds = wildcard.getLowerBounds();
+            final Type[] upper = substitute(upperBounds, variables, arguments);
+            final Type[] lower = substitute(lowerBounds, variables, arguments);
+            if (upper == upperBounds && lower == lowerBounds) return type;
+            return new ResolvedWildcardType(upper, lower);
+        }
+        return type;
+    }
+
+    /**
+     * Substitutes each of the given types, returning the very same array
+     * should none of them change.
+     */
+    private static Type[] substitute(final Type[] types, final TypeVariable<?>[] variables, final Type[] arguments) {
+        Type[] resolved = types;
+        for (int i = 0; i < types.length; i++) {
+            final Type type = substitute(types[i], variables, arguments);
+            if (type == types[i]) continue;
+            if (resolved == types) resolved = types.clone();
+            resolved[i] = type;
+        }
+        return resolved;
+    }
+
+    private static final class ResolvedParameterizedType implements ParameterizedType {
+
+        private final Type owner;
+        private final Class<?> raw;
+        private final Type[] arguments;
+
+        ResolvedParameterizedType(final Type owner, final Class<?> raw, final Type[] arguments) {
+            this.owner = owner;
+            this.raw = raw;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return this.arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return this.raw;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return this.owner;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof ParameterizedType)) return false;
+            final ParameterizedType that = (ParameterizedType) obj;
+            return this.raw.equals(that.getRawType()) &&
+                    Objects.equals(this.owner, that.getOwnerType()) &&
+                    Arrays.equals(this.arguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(this.arguments) ^ Objects.hashCode(this.owner) ^ this.raw.hashCode();
+        }
+
+        @Override
+        public String getTypeName() {
+            final StringBuilder name = new StringBuilder(this.raw.getTypeName()).append('<');
+            for (int i = 0; i < this.arguments.length; i++) {
+                if (i != 0) name.append(", ");
+                name.append(this.arguments[i].getTypeName());
+            }
+            return name.append('>').toString();
+        }
+
+        @Override
+        public String toString() {
+            return this.getTypeName();
+        }
+
+    }
+
+    private static final class ResolvedWildcardType implements WildcardType {
+
+        private final Type[] upper;
+        private final Type[] lower;
+
+        ResolvedWildcardType(final Type[] upper, final Type[] lower) {
+            this.upper = upper;
+            this.lower = lower;
+        }
+
+        @Override
+        public Type[] getUpperBounds() {
+            return this.upper.clone();
+        }
+
+        @Override
+        public Type[] getLowerBounds() {
+            return this.lower.clone();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof WildcardType)) return false;
+            final WildcardType that = (WildcardType) obj;
+            return Arrays.equals(this.upper, that.getUpperBounds()) && Arrays.equals(this.lower, that.getLowerBounds());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(this.upper) ^ Arrays.hashCode(this.lower);
+        }
+
+        @Override
+        public String getTypeName() {
+            if (this.lower.length != 0) return "? super " + this.lower[0].getTypeName();
+            if (this.upper.length == 0 || this.upper[0] == Object.class) return "?";
+            return "? extends " + this.upper[0].getTypeName();
+        }
+
+        @Override
+        public String toString() {
+            return this.getTypeName();
+        }
+
+    }
+
+    /**
+     * The kinds of component, by how they're read and written.
+     */
+    private enum Kind {
+        INT,
+        LONG,
+        DOUBLE,
+        FLOAT,
+        BOOLEAN,
+        STRING,
+        OTHER,
+        ;
+
+        static Kind of(final Class<?> type) {
+            if (type == int.class || type == Integer.class) return INT;
+            if (type == long.class || type == Long.class) return LONG;
+            if (type == double.class || type == Double.class) return DOUBLE;
+            if (type == float.class || type == Float.class) return FLOAT;
+            if (type == boolean.class || type == Boolean.class) return BOOLEAN;
+            if (type == String.class) return STRING;
+            return OTHER;
+        }
+
+    }
+
+    /**
+     * The components of a record, and the handles used to create it and
+     * get their values - independent of any {@link Gson} instance.
+     */
+    private static final class Binding {
+
+        private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class, long[].class, Object[].class);
+        private static final MethodHandle LONG_ELEMENT = MethodHandles.arrayElementGetter(long[].class);
+        private static final MethodHandle OBJECT_ELEMENT = MethodHandles.arrayElementGetter(Object[].class);
+        private static final MethodHandle LONG_BITS_TO_DOUBLE;
+        private static final MethodHandle INT_BITS_TO_FLOAT;
+
+        static {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                LONG_BITS_TO_DOUBLE = lookup.findStatic(Double.class, "longBitsToDouble",
+                        MethodType.methodType(double.class, long.class));
+                INT_BITS_TO_FLOAT = lookup.findStatic(Float.class, "intBitsToFloat",
+                        MethodType.methodType(float.class, int.class));
+            } catch (final ReflectiveOperationException ex) {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        final Class<?> type;
+        final RecordComponent[] components;
+        final String[] keys;
+        final Kind[] kinds;
+        final boolean[] unboxed;
+        final boolean[] optional;
+        final NameTrie names;
+
+        // The index of each component within its array of arguments
+        final int[] slots;
+        final int primitives;
+        final int references;
+
+        // The bits of the first 64 components that are required
+        final long required;
+
+        // (long[], Object[]) Object
+        final MethodHandle constructor;
+
+        // (Object) long, double or boolean for unboxed components,
+        // otherwise (Object) Object
+        final MethodHandle[] accessors;
+
+        Binding(final Class<?> type) {
+            this.type = type;
+            this.components = type.getRecordComponents();
+            final int size = this.components.length;
+            this.keys = new String[size];
+            this.kinds = new Kind[size];
+            this.unboxed = new boolean[size];
+            this.optional = new boolean[size];
+            this.slots = new int[size];
+            this.accessors = new MethodHandle[size];
+
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final NameTrie.Builder names = new NameTrie.Builder(false);
+            final Class<?>[] parameters = new Class<?>[size];
+            final MethodHandle[] arguments = new MethodHandle[size];
+            final int[] arrays = new int[size];
+            int primitives = 0;
+            int references = 0;
+            long required = 0;
+            try {
+                for (int i = 0; i < size; i++) {
+                    final RecordComponent component = this.components[i];
+                    final Field field = type.getDeclaredField(component.getName());
+                    final SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                    this.keys[i] = serializedName != null ? serializedName.value() : component.getName();
+                    names.put(this.keys[i], i);
+                    if (serializedName != null) {
+                        for (final String alternate : serializedName.alternate()) {
+                            names.put(alternate, i);
+                        }
+                    }
+
+                    parameters[i] = component.getType();
+                    this.kinds[i] = Kind.of(parameters[i]);
+                    this.unboxed[i] = parameters[i].isPrimitive() && this.kinds[i] != Kind.OTHER;
+                    this.optional[i] = field.isAnnotationPresent(JsonOptional.class);
+                    if (!this.optional[i] && i < Long.SIZE) required |= 1L << i;
+
+                    this.slots[i] = this.unboxed[i] ? primitives++ : references++;
+                    arguments[i] = argument(this.slots[i], parameters[i], this.unboxed[i]);
+                    arrays[i] = this.unboxed[i] ? 0 : 1;
+
+                    final Method accessor = component.getAccessor();
+                    accessor.setAccessible(true);
+                    this.accessors[i] = lookup.unreflect(accessor)
+                            .asType(MethodType.methodType(this.unboxed[i] ? widened(this.kinds[i]) : Object.class, Object.class));
+                }
+
+                final Constructor<?> constructor = type.getDeclaredConstructor(parameters);
+                constructor.setAccessible(true);
+                final MethodHandle filtered = MethodHandles.filterArguments(lookup.unreflectConstructor(constructor), 0, arguments);
+                this.constructor = MethodHandles.permuteArguments(filtered, filtered.type().dropParameterTypes(0, size)
+                        .appendParameterTypes(long[].class, Object[].class), arrays)
+                        .asType(CONSTRUCTOR);
+            } catch (final ReflectiveOperationException | RuntimeException ex) {
+                throw new JsonIOException("Unable to bind record " + type.getName() + "!", ex);
+            }
+            this.names = names.build();
+            this.primitives = primitives;
+            this.references = references;
+            this.required = required;
+        }
+
+        /**
+         * Creates the handle taking the argument in the given slot of
+         * its array - unboxed components being held as the bits of
+         * a long, references as themselves. A null reference for a
+         * primitive component, such as a missing optional char, is zero.
+         */
+        private static MethodHandle argument(final int slot, final Class<?> parameter, final boolean unboxed) {
+            if (!unboxed) {
+                return MethodHandles.explicitCastArguments(MethodHandles.insertArguments(OBJECT_ELEMENT, 1, slot),
+                        MethodType.methodType(parameter, Object[].class));
+            }
+
+            MethodHandle getter = MethodHandles.insertArguments(LONG_ELEMENT, 1, slot);
+            if (parameter == double.class) {
+                getter = MethodHandles.filterReturnValue(getter, LONG_BITS_TO_DOUBLE);
+            } else if (parameter == float.class) {
+                getter = MethodHandles.explicitCastArguments(getter, MethodType.methodType(int.class, long[].class));
+                getter = MethodHandles.filterReturnValue(getter, INT_BITS_TO_FLOAT);
+            }
+            return MethodHandles.explicitCastArguments(getter, MethodType.methodType(parameter, long[].class));
+        }
+
+        private static Class<?> widened(final Kind kind) {
+            switch (kind) {
+                case DOUBLE:
+                case FLOAT:
+                    return double.class;
+                case BOOLEAN:
+                    return boolean.class;
+                default:
+                    return long.class;
+            }
+        }
+
+    }
+
+    private static final class Adapter<T> extends TypeAdapter<T> {
+
+        private final Binding binding;
+        private final TypeAdapter<Object>[] adapters;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Adapter(final Gson gson, final TypeToken<T> type, final Binding binding) {
+            this.binding = binding;
+            this.adapters = new TypeAdapter[binding.components.length];
+            for (int i = 0; i < this.adapters.length; i++) {
+                if (binding.kinds[i] != Kind.OTHER) continue;
+
+                // Resolve the type variables of generic records, as Gson's reflective adapter does
+                final Type component = resolve(binding.components[i].getGenericType(), binding.type, type.getType());
+                this.adapters[i] = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(component));
+            }
+        }
+
+        @Override
+        public void write(final JsonWriter out, final T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            final Binding binding = this.binding;
+            out.beginObject();
+            for (int i = 0; i < binding.keys.length; i++) {
+                out.name(binding.keys[i]);
+                try {
+                    if (binding.unboxed[i]) {
+                        this.writeUnboxed(out, i, value);
+                    } else {
+                        this.write(out, i, binding.accessors[i].invokeExact((Object) value));
+                    }
+                } catch (final IOException | RuntimeException | Error ex) {
+                    throw ex;
+                } catch (final Throwable ex) {
+                    throw new JsonIOException("Unable to get component '" + binding.keys[i] + "'!", ex);
+                }
+            }
+            out.endObject();
+        }
+
+        private void writeUnboxed(final JsonWriter out, final int component, final Object value) throws Throwable {
+            final MethodHandle accessor = this.binding.accessors[component];
+            switch (this.binding.kinds[component]) {
+                case DOUBLE:
+                    out.value((double) accessor.invokeExact(value));
+                    break;
+                case FLOAT:
+                    // Written as Gson would - by Float#toString, rather than widened
+                    out.value(Float.valueOf((float) (double) accessor.invokeExact(value)));
+                    break;
+                case BOOLEAN:
+                    out.value((boolean) accessor.invokeExact(value));
+                    break;
+                default:
+                    out.value((long) accessor.invokeExact(value));
+                    break;
+            }
+        }
+
+        private void write(final JsonWriter out, final int component, final Object value) throws IOException {
+            switch (this.binding.kinds[component]) {
+                case INT:
+                case LONG:
+                case DOUBLE:
+                case FLOAT:
+                    out.value((Number) value);
+                    break;
+                case BOOLEAN:
+                    out.value((Boolean) value);
+                    break;
+                case STRING:
+                    out.value((String) value);
+                    break;
+                default:
+                    this.adapters[component].write(out, value);
+                    break;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T read(final JsonReader in) throws IOException {
+            final JsonToken token = in.peek();
+            if (token == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            if (token != JsonToken.BEGIN_OBJECT) {
+                throw JsonValidationException.unexpectedType(in.getPath(), FieldType.OBJECT);
+            }
+
+            final Binding binding = this.binding;
+            final int size = binding.keys.length;
+            final long[] primitives = new long[binding.primitives];
+            final Object[] references = new Object[binding.references];
+
+            // Components beyond the first 64 are tracked separately
+            long read = 0;
+            final boolean[] readBeyond = size > Long.SIZE ? new boolean[size] : null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                final int component = binding.names.match(in.nextName());
+                if (component == -1) {
+                    in.skipValue();
+                    continue;
+                }
+                this.read(in, component, primitives, references);
+                if (component < Long.SIZE) {
+                    read |= 1L << component;
+                } else {
+                    readBeyond[component] = true;
+                }
+            }
+            in.endObject();
+
+            if ((read & binding.required) != binding.required || readBeyond != null) {
+                for (int i = 0; i < size; i++) {
+                    final boolean found = i < Long.SIZE ? (read & 1L << i) != 0 : readBeyond[i];
+                    if (!found && !binding.optional[i]) throw JsonValidationException.missingEntry(binding.keys[i]);
+                }
+            }
+
+            try {
+                return (T) binding.constructor.invokeExact(primitives, references);
+            } catch (final RuntimeException | Error ex) {
+                throw ex;
+            } catch (final Throwable ex) {
+                throw new JsonIOException("Unable to create record " + binding.type.getName() + "!", ex);
+            }
+        }
+
+        private void read(final JsonReader in, final int component, final long[] primitives, final Object[] references)
+                throws IOException {
+            final Binding binding = this.binding;
+            final Kind kind = binding.kinds[component];
+            final String key = binding.keys[component];
+            final int slot = binding.slots[component];
+            if (kind == Kind.OTHER) {
+                references[slot] = this.adapters[component].read(in);
+                return;
+            }
+
+            if (binding.unboxed[component]) {
+                switch (kind) {
+                    case INT:
+                        primitives[slot] = GsonReaders.requireInt(in, key);
+                        break;
+                    case LONG:
+                        primitives[slot] = GsonReaders.requireLong(in, key);
+                        break;
+                    case DOUBLE:
+                        primitives[slot] = Double.doubleToRawLongBits(GsonReaders.requireDouble(in, key));
+                        break;
+                    case FLOAT:
+                        primitives[slot] = Float.floatToRawIntBits(GsonReaders.requireFloat(in, key));
+                        break;
+                    default:
+                        primitives[slot] = GsonReaders.requireBoolean(in, key) ? 1 : 0;
+                        break;
+                }
+                return;
+            }
+
+            // Boxed components, and strings, may be null
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                references[slot] = null;
+                return;
+            }
+            switch (kind) {
+                case INT:
+                    references[slot] = GsonReaders.requireInt(in, key);
+                    break;
+                case LONG:
+                    references[slot] = GsonReaders.requireLong(in, key);
+                    break;
+                case DOUBLE:
+                    references[slot] = GsonReaders.requireDouble(in, key);
+                    break;
+                case FLOAT:
+                    references[slot] = GsonReaders.requireFloat(in, key);
+                    break;
+                case BOOLEAN:
+                    references[slot] = GsonReaders.requireBoolean(in, key);
+                    break;
+                default:
+                    references[slot] = GsonReaders.requireString(in, key);
+                    break;
+            }
+        }
+
+    }
+
+}